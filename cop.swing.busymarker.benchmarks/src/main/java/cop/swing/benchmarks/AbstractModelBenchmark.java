@@ -0,0 +1,77 @@
+package cop.swing.benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class for benchmarks of the models package. Forks run headless, so the EDT is the one of a headless
+ * {@link java.awt.EventQueue}: events are dispatched as usual, but nothing is painted.
+ * <p>
+ * Benchmarks usually do {@link #BATCH} updates per invocation, either on the EDT ({@link #invokeAndWait(Runnable)}) or
+ * on the benchmark thread followed by {@link #drainEventQueue()}, so the time of an <code>*OffEdt</code> operation
+ * includes the delivery of its events on the EDT.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public abstract class AbstractModelBenchmark {
+	/** number of updates in one benchmark invocation */
+	protected static final int BATCH = 1000;
+
+	/**
+	 * Run given task on the EDT and wait for its completion.
+	 *
+	 * @param task task to run
+	 */
+	protected static void invokeAndWait(Runnable task) {
+		try {
+			SwingUtilities.invokeAndWait(task);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * Wait until all events posted to the EDT before this call are dispatched.
+	 */
+	protected static void drainEventQueue() {
+		invokeAndWait(new Runnable() {
+			public void run() {}
+		});
+	}
+
+	// ========== CountingListener ==========
+
+	/**
+	 * Cheapest possible {@link ChangeListener}, that only counts received events.
+	 */
+	public static final class CountingListener implements ChangeListener {
+		private volatile long count;
+
+		public long getCount() {
+			return count;
+		}
+
+		public void stateChanged(ChangeEvent event) {
+			count++;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package cop.swing.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cop.swing.utils.GraphicsUtils;
+
+/**
+ * Base state for rendering benchmarks: one headless translucent buffer of <code>size x size</code> pixels, created with
+ * {@link GraphicsUtils#createCompatibleTranslucentImage(int, int)}, with a graphics kept open for the whole trial. One
+ * benchmark operation renders one frame, so <code>ns/op</code> is <code>ns/frame</code>.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public abstract class AbstractRenderBenchmark {
+	@Param({ "26", "64", "256" })
+	protected int size;
+
+	protected BufferedImage image;
+	protected Graphics2D g2d;
+	protected int frame;
+
+	@Setup
+	public void setUpImage() {
+		image = GraphicsUtils.createCompatibleTranslucentImage(size, size);
+		g2d = image.createGraphics();
+		frame = 0;
+	}
+
+	@TearDown
+	public void tearDownImage() {
+		g2d.dispose();
+		image.flush();
+	}
+
+	/**
+	 * Returns the next frame number in range [0 ~ total - 1].
+	 *
+	 * @param total total number of frames
+	 * @return next frame number
+	 */
+	protected final int nextFrame(int total) {
+		frame = frame + 1 >= total ? 0 : frame + 1;
+		return frame;
+	}
+}
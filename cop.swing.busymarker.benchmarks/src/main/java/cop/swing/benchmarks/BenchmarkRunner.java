@@ -0,0 +1,30 @@
+package cop.swing.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of <code>benchmarks.jar</code>. Accepts the usual JMH command line (e.g. a benchmark regexp, <code>-p</code>,
+ * <code>-rf json</code>) and always adds the GC profiler, so every result has both the time per operation and the
+ * <code>gc.alloc.rate.norm</code> (bytes allocated per operation).
+ *
+ * <pre>
+ * mvn package
+ * java -jar target/benchmarks.jar Painter -p size=64
+ * </pre>
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class BenchmarkRunner {
+	private BenchmarkRunner() {}
+
+	public static void main(String... args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions cmd = new CommandLineOptions(args);
+		new Runner(new OptionsBuilder().parent(cmd).addProfiler(GCProfiler.class).build()).run();
+	}
+}
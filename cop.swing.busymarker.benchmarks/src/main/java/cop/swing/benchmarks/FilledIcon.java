@@ -0,0 +1,34 @@
+package cop.swing.benchmarks;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+
+import javax.swing.Icon;
+
+/**
+ * Simple icon to decorate by busy icons: a gray filled square.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class FilledIcon implements Icon {
+	private final int size;
+
+	public FilledIcon(int size) {
+		this.size = size;
+	}
+
+	public void paintIcon(Component c, Graphics g, int x, int y) {
+		g.setColor(Color.GRAY);
+		g.fillRect(x, y, size, size);
+	}
+
+	public int getIconWidth() {
+		return size;
+	}
+
+	public int getIconHeight() {
+		return size;
+	}
+}
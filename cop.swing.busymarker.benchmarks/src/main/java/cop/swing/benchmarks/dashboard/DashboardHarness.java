@@ -0,0 +1,415 @@
+package cop.swing.benchmarks.dashboard;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import cop.swing.benchmarks.FilledIcon;
+import cop.swing.busymarker.JBusyPane;
+import cop.swing.busymarker.icons.BusyIcon;
+import cop.swing.busymarker.icons.DefaultBusyIcon;
+import cop.swing.busymarker.icons.InfiniteBusyIcon;
+import cop.swing.busymarker.icons.RadialBusyIcon;
+import cop.swing.busymarker.models.ConcurrentBusyModel;
+import cop.swing.busymarker.ui.DefaultBusyLockableUI;
+import cop.swing.utils.GraphicsUtils;
+
+/**
+ * Scripted load harness: builds a synthetic dashboard of N busy {@link JBusyPane}s with mixed
+ * {@link InfiniteBusyIcon}/{@link DefaultBusyIcon}/{@link RadialBusyIcon}, updates their models from producer threads
+ * and renders the whole dashboard offscreen at the target frame rate, like the repaint of one screen. It doesn't need a
+ * display, so it runs with <code>-Djava.awt.headless=true</code> as well.
+ * <p>
+ * After the warmup, it runs for a fixed time and prints a JSON report:
+ * <ul>
+ * <li><code>fps</code> - achieved frames per second and paint time per frame</li>
+ * <li><code>edt</code> - EDT utilization (share of the time spent in dispatching events) and dispatched events</li>
+ * <li><code>latency</code> - percentiles of the time from posting an event on a producer thread to its dispatching</li>
+ * <li><code>heap</code> - allocated bytes of all threads (heap churn) and GC count/time</li>
+ * <li><code>threads</code> - live and peak thread count</li>
+ * </ul>
+ *
+ * <pre>
+ * java -Djava.awt.headless=true -cp target/benchmarks.jar cop.swing.benchmarks.dashboard.DashboardHarness \
+ *      --panes=200 --duration=30 --out=report.json
+ * </pre>
+ *
+ * Options (all optional): <code>--panes</code> (100), <code>--duration</code> seconds (10), <code>--warmup</code> seconds
+ * (3), <code>--fps</code> target frames per second (60), <code>--producers</code> threads (4), <code>--updates</code> per
+ * pane per second (20), <code>--width</code>/<code>--height</code> of one pane (160 x 120), <code>--out</code> file
+ * (stdout).
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class DashboardHarness {
+	private static final int ICON_SIZE = 26;
+	private static final int MAX_LATENCY_SAMPLES = 1 << 20;
+
+	private final Map<String, String> options;
+	private final int panes;
+	private final int fps;
+	private final int producers;
+	private final int updates;
+	private final int paneWidth;
+	private final int paneHeight;
+
+	private final EdtMonitor monitor = new EdtMonitor(MAX_LATENCY_SAMPLES);
+	private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+	private ConcurrentBusyModel[] models;
+	private JPanel dashboard;
+	private BufferedImage screen;
+	private Timer frameTimer;
+	private ScheduledExecutorService producerService;
+
+	// frame counters, EDT only
+	private long frames;
+	private long paintTime; // nanoseconds
+	private long maxPaintTime; // nanoseconds
+
+	private DashboardHarness(Map<String, String> options) {
+		this.options = options;
+		panes = getInt("panes", 100);
+		fps = getInt("fps", 60);
+		producers = getInt("producers", 4);
+		updates = getInt("updates", 20);
+		paneWidth = getInt("width", 160);
+		paneHeight = getInt("height", 120);
+	}
+
+	private String run() throws InterruptedException {
+		monitor.install();
+
+		invokeAndWait(new Runnable() {
+			public void run() {
+				createDashboard();
+				startFrameTimer();
+			}
+		});
+
+		startProducers();
+		Thread.sleep(TimeUnit.SECONDS.toMillis(getInt("warmup", 3)));
+
+		invokeAndWait(new Runnable() {
+			public void run() {
+				monitor.reset();
+				frames = 0;
+				paintTime = 0;
+				maxPaintTime = 0;
+			}
+		});
+
+		threadBean.resetPeakThreadCount();
+		Map<Long, Long> allocated = getAllocatedBytes();
+		long[] gc = getGarbageCollection();
+		long start = System.nanoTime();
+
+		Thread.sleep(TimeUnit.SECONDS.toMillis(getInt("duration", 10)));
+
+		final StringBuilder buf = new StringBuilder();
+		final long time = System.nanoTime() - start;
+		final long allocatedBytes = getAllocatedBytes(allocated);
+		final long[] gcDelta = getGarbageCollection();
+		gcDelta[0] -= gc[0];
+		gcDelta[1] -= gc[1];
+
+		invokeAndWait(new Runnable() {
+			public void run() {
+				frameTimer.stop();
+				writeReport(buf, time, allocatedBytes, gcDelta);
+			}
+		});
+
+		producerService.shutdownNow();
+		return buf.toString();
+	}
+
+	// ========== dashboard ==========
+
+	private void createDashboard() {
+		int columns = (int)Math.ceil(Math.sqrt(panes));
+		int rows = (panes + columns - 1) / columns;
+
+		models = new ConcurrentBusyModel[panes];
+		dashboard = new JPanel(new GridLayout(rows, columns));
+
+		for (int i = 0; i < panes; i++)
+			dashboard.add(createPane(i));
+
+		dashboard.setSize(columns * paneWidth, rows * paneHeight);
+		layout(dashboard);
+		screen = GraphicsUtils.createCompatibleTranslucentImage(dashboard.getWidth(), dashboard.getHeight());
+	}
+
+	private JBusyPane createPane(int i) {
+		ConcurrentBusyModel model = new ConcurrentBusyModel();
+		model.setAutoCompletionEnabled(false);
+		model.setDeterminate(i % 3 != 0);
+		model.setBusy(true);
+		models[i] = model;
+
+		DefaultBusyLockableUI ui = new DefaultBusyLockableUI();
+		ui.setMillisToDecideToPopup(0);
+		ui.setIcon(createIcon(i));
+
+		JBusyPane pane = new JBusyPane(new JLabel("Pane " + i), ui);
+		pane.setBusyModel(model);
+		return pane;
+	}
+
+	private static BusyIcon createIcon(int i) {
+		if (i % 3 == 0)
+			return new InfiniteBusyIcon();
+		if (i % 3 == 1)
+			return new DefaultBusyIcon(new FilledIcon(ICON_SIZE));
+		return new RadialBusyIcon(new FilledIcon(ICON_SIZE));
+	}
+
+	private void startFrameTimer() {
+		frameTimer = new Timer(1000 / fps, new ActionListener() {
+			public void actionPerformed(ActionEvent event) {
+				paintFrame();
+			}
+		});
+		frameTimer.start();
+	}
+
+	private void paintFrame() {
+		long start = System.nanoTime();
+		Graphics2D g2d = screen.createGraphics();
+
+		try {
+			dashboard.paint(g2d);
+		} finally {
+			g2d.dispose();
+		}
+
+		long time = System.nanoTime() - start;
+
+		frames++;
+		paintTime += time;
+		maxPaintTime = Math.max(maxPaintTime, time);
+	}
+
+	/**
+	 * Lay out the component tree without a peer, since the dashboard is never shown.
+	 */
+	private static void layout(Component comp) {
+		if (!(comp instanceof Container))
+			return;
+
+		((Container)comp).doLayout();
+
+		for (Component child : ((Container)comp).getComponents())
+			layout(child);
+	}
+
+	// ========== producers ==========
+
+	private void startProducers() {
+		producerService = Executors.newScheduledThreadPool(producers, new ProducerThreadFactory());
+		long period = TimeUnit.SECONDS.toNanos(1) / Math.max(1, updates);
+
+		for (int i = 0; i < producers; i++) {
+			final int first = i;
+
+			producerService.scheduleAtFixedRate(new Runnable() {
+				public void run() {
+					for (int j = first; j < models.length; j += producers) {
+						ConcurrentBusyModel model = models[j];
+						int value = model.getValue() + 1;
+						model.setValue(value >= model.getMaximum() ? model.getMinimum() : value);
+					}
+
+					monitor.postProbe();
+				}
+			}, period, period, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	// ========== measurements ==========
+
+	/**
+	 * Returns allocated bytes of all live threads by thread id.
+	 */
+	private Map<Long, Long> getAllocatedBytes() {
+		Map<Long, Long> map = new HashMap<Long, Long>();
+
+		if (!(threadBean instanceof com.sun.management.ThreadMXBean))
+			return map;
+
+		long[] ids = threadBean.getAllThreadIds();
+		long[] bytes = ((com.sun.management.ThreadMXBean)threadBean).getThreadAllocatedBytes(ids);
+
+		for (int i = 0; i < ids.length; i++)
+			if (bytes[i] >= 0)
+				map.put(ids[i], bytes[i]);
+
+		return map;
+	}
+
+	/**
+	 * Returns bytes allocated since the given snapshot by all live threads. Threads died in between are not counted.
+	 */
+	private long getAllocatedBytes(Map<Long, Long> prv) {
+		long total = 0;
+
+		for (Map.Entry<Long, Long> entry : getAllocatedBytes().entrySet()) {
+			Long bytes = prv.get(entry.getKey());
+			total += entry.getValue() - (bytes != null ? bytes : 0);
+		}
+
+		return total;
+	}
+
+	/**
+	 * Returns total count and time in milliseconds of garbage collections.
+	 */
+	private static long[] getGarbageCollection() {
+		long[] res = new long[2];
+
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			res[0] += Math.max(0, bean.getCollectionCount());
+			res[1] += Math.max(0, bean.getCollectionTime());
+		}
+
+		return res;
+	}
+
+	private void writeReport(StringBuilder buf, long time, long allocated, long[] gc) {
+		double seconds = time / 1e9;
+
+		buf.append("{\n");
+		buf.append("  \"config\": {");
+		append(buf, "panes", panes).append(", ");
+		append(buf, "producers", producers).append(", ");
+		append(buf, "updatesPerPane", updates).append(", ");
+		append(buf, "paneWidth", paneWidth).append(", ");
+		append(buf, "paneHeight", paneHeight).append(", ");
+		append(buf, "headless", GraphicsEnvironment.isHeadless()).append(", ");
+		append(buf, "java", System.getProperty("java.version")).append("},\n");
+		buf.append("  \"durationMs\": ").append(TimeUnit.NANOSECONDS.toMillis(time)).append(",\n");
+		buf.append("  \"fps\": {");
+		append(buf, "target", fps).append(", ");
+		append(buf, "achieved", frames / seconds).append(", ");
+		append(buf, "frames", frames).append(", ");
+		append(buf, "paintAvgMs", frames > 0 ? paintTime / 1e6 / frames : 0).append(", ");
+		append(buf, "paintMaxMs", maxPaintTime / 1e6).append("},\n");
+		buf.append("  \"edt\": {");
+		append(buf, "utilization", (double)monitor.getBusyTime() / time).append(", ");
+		append(buf, "events", monitor.getDispatchedCount()).append(", ");
+		append(buf, "eventsPerSecond", monitor.getDispatchedCount() / seconds).append("},\n");
+		buf.append("  \"latency\": {");
+		append(buf, "samples", monitor.getLatencyCount()).append(", ");
+		append(buf, "p50Ms", monitor.getLatency(50) / 1e6).append(", ");
+		append(buf, "p99Ms", monitor.getLatency(99) / 1e6).append(", ");
+		append(buf, "maxMs", monitor.getLatency(100) / 1e6).append("},\n");
+		buf.append("  \"heap\": {");
+		append(buf, "allocatedBytes", allocated).append(", ");
+		append(buf, "allocatedBytesPerSecond", allocated / seconds).append(", ");
+		append(buf, "gcCount", gc[0]).append(", ");
+		append(buf, "gcTimeMs", gc[1]).append("},\n");
+		buf.append("  \"threads\": {");
+		append(buf, "live", threadBean.getThreadCount()).append(", ");
+		append(buf, "peak", threadBean.getPeakThreadCount()).append("}\n");
+		buf.append("}\n");
+	}
+
+	private int getInt(String name, int def) {
+		String value = options.get(name);
+		return value != null ? Integer.parseInt(value) : def;
+	}
+
+	// ========== static ==========
+
+	private static StringBuilder append(StringBuilder buf, String name, Object value) {
+		buf.append('"').append(name).append("\": ");
+
+		if (value instanceof String)
+			return buf.append('"').append(value).append('"');
+		if (value instanceof Double)
+			return buf.append(String.format(Locale.US, "%.3f", value));
+		return buf.append(value);
+	}
+
+	private static void invokeAndWait(Runnable task) throws InterruptedException {
+		try {
+			SwingUtilities.invokeAndWait(task);
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	private static Map<String, String> parseOptions(String... args) {
+		Map<String, String> options = new HashMap<String, String>();
+
+		for (String arg : args) {
+			if (!arg.startsWith("--") || arg.indexOf('=') < 0)
+				throw new IllegalArgumentException("Unknown argument: " + arg + ", expected --name=value");
+
+			int pos = arg.indexOf('=');
+			options.put(arg.substring(2, pos), arg.substring(pos + 1));
+		}
+
+		return options;
+	}
+
+	public static void main(String... args) throws InterruptedException, IOException {
+		Map<String, String> options = parseOptions(args);
+		String report = new DashboardHarness(options).run();
+		String out = options.get("out");
+
+		if (out == null)
+			System.out.print(report);
+		else {
+			PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(out), "UTF-8"));
+
+			try {
+				writer.print(report);
+			} finally {
+				writer.close();
+			}
+		}
+
+		System.exit(0);
+	}
+
+	// ========== ProducerThreadFactory ==========
+
+	private static final class ProducerThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "DashboardHarness-producer-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package cop.swing.benchmarks.dashboard;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.Arrays;
+
+/**
+ * {@link EventQueue} that measures the EDT: the time spent in dispatching events (EDT utilization) and the latency of
+ * probe events, i.e. the time between posting an event from a producer thread and starting its dispatching on the EDT.
+ * <p>
+ * All counters are updated on the EDT only; read them on the EDT as well (e.g. with
+ * <code>SwingUtilities.invokeAndWait()</code>).
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+final class EdtMonitor extends EventQueue {
+	private final long[] latencies;
+	private int latencyCount;
+	private long busyTime; // nanoseconds
+	private long dispatched;
+	private int depth;
+	private long dispatchStart;
+
+	/**
+	 * @param maxSamples maximum number of latency samples to keep, further samples are ignored
+	 */
+	EdtMonitor(int maxSamples) {
+		latencies = new long[maxSamples];
+	}
+
+	/**
+	 * Replace the system event queue with this monitor.
+	 */
+	void install() {
+		Toolkit.getDefaultToolkit().getSystemEventQueue().push(this);
+	}
+
+	/**
+	 * Post a probe event: its latency is recorded when the EDT starts to dispatch it. Can be called on any thread.
+	 */
+	void postProbe() {
+		final long posted = System.nanoTime();
+
+		invokeLater(new Runnable() {
+			public void run() {
+				if (latencyCount < latencies.length)
+					latencies[latencyCount++] = System.nanoTime() - posted;
+			}
+		});
+	}
+
+	/**
+	 * Reset all counters.
+	 */
+	void reset() {
+		latencyCount = 0;
+		busyTime = 0;
+		dispatched = 0;
+	}
+
+	long getBusyTime() {
+		return busyTime;
+	}
+
+	long getDispatchedCount() {
+		return dispatched;
+	}
+
+	int getLatencyCount() {
+		return latencyCount;
+	}
+
+	/**
+	 * Returns given percentile of recorded latencies.
+	 *
+	 * @param percentile percentile in range [0 ~ 100]
+	 * @return latency in nanoseconds or <code>0</code> if nothing was recorded
+	 */
+	long getLatency(double percentile) {
+		if (latencyCount == 0)
+			return 0;
+
+		long[] sorted = Arrays.copyOf(latencies, latencyCount);
+		Arrays.sort(sorted);
+		int index = (int)Math.ceil(percentile / 100 * latencyCount) - 1;
+		return sorted[Math.max(0, Math.min(latencyCount - 1, index))];
+	}
+
+	// ========== EventQueue ==========
+
+	@Override
+	protected void dispatchEvent(AWTEvent event) {
+		// nested dispatching (e.g. modal dialogs) is counted by the outermost event
+		if (depth++ == 0)
+			dispatchStart = System.nanoTime();
+
+		try {
+			super.dispatchEvent(event);
+		} finally {
+			if (--depth == 0) {
+				busyTime += System.nanoTime() - dispatchStart;
+				dispatched++;
+			}
+		}
+	}
+}
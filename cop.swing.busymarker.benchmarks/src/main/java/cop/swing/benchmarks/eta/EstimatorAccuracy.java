@@ -0,0 +1,151 @@
+package cop.swing.benchmarks.eta;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import cop.swing.busymarker.RemainingTimeMonitor;
+import cop.swing.busymarker.estimators.RemainingTimeEstimator;
+
+/**
+ * Offline benchmark of the remaining time estimators: replays progress traces through each built-in
+ * {@link RemainingTimeEstimator} (see {@link RemainingTimeMonitor.Mode}) and prints a table with their accuracy and
+ * CPU cost.
+ * <p>
+ * Estimations are requested at fixed intervals of the trace time and compared with the real remaining time:
+ * <ul>
+ * <li><code>MAE</code> - mean absolute error of the estimation, seconds</li>
+ * <li><code>p90</code> - 90th percentile of the absolute error, seconds</li>
+ * <li><code>known</code> - share of requests that got an estimation (not <code>-1</code> or infinite)</li>
+ * <li><code>ns/update</code> - CPU time of one observation, measured after a warmup</li>
+ * </ul>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar cop.swing.benchmarks.eta.EstimatorAccuracy --trace=import.csv
+ * </pre>
+ *
+ * Options (all optional): <code>--trace</code> comma separated CSV files with lines <code>milliseconds,ratio</code> or
+ * binary <code>*.trace</code> files of {@link cop.swing.busymarker.trace.BusyTraceRecorder} (synthetic traces), <code>--interval</code> between estimation requests in milliseconds (250),
+ * <code>--rounds</code> of the CPU cost measurement (200).
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class EstimatorAccuracy {
+	/** keeps results of measured updates, so the JIT can't remove them */
+	static volatile boolean sink;
+
+	private EstimatorAccuracy() {}
+
+	private static String evaluate(ProgressTrace trace, RemainingTimeMonitor.Mode mode, long interval, int rounds) {
+		RemainingTimeEstimator estimator = mode.createEstimator();
+		double[] errors = new double[(int)(trace.getEndTime() / interval) + 1];
+		int requests = 0;
+		int known = 0;
+		long next = 0;
+
+		for (int i = 0; i < trace.size(); i++) {
+			long time = trace.getTime(i);
+
+			for (; next < time; next += interval) {
+				long remaining = estimator.getRemainingTime(next);
+
+				requests++;
+
+				if (remaining != -1 && remaining != Long.MAX_VALUE)
+					errors[known++] = Math.abs(remaining - (trace.getEndTime() - next)) / 1e9;
+			}
+
+			estimator.update(time, trace.getRatio(i));
+		}
+
+		errors = Arrays.copyOf(errors, known);
+		Arrays.sort(errors);
+
+		double sum = 0;
+
+		for (double error : errors)
+			sum += error;
+
+		return String.format(Locale.US, "%-12s %-10s %10.2f %10.2f %8.1f%% %10.1f", trace.getName(), mode,
+				known > 0 ? sum / known : Double.NaN, known > 0 ? errors[(int)Math.ceil(0.9 * known) - 1] : Double.NaN,
+				requests > 0 ? 100.0 * known / requests : 0, getUpdateCost(trace, mode, rounds));
+	}
+
+	/**
+	 * Returns the average CPU time of one {@link RemainingTimeEstimator#update(long, double)} in nanoseconds; the first
+	 * half of rounds is the warmup.
+	 */
+	private static double getUpdateCost(ProgressTrace trace, RemainingTimeMonitor.Mode mode, int rounds) {
+		RemainingTimeEstimator estimator = mode.createEstimator();
+		long time = 0;
+		long updates = 0;
+		boolean changed = false;
+
+		for (int round = 0; round < rounds; round++) {
+			estimator.reset();
+			long start = System.nanoTime();
+
+			for (int i = 0; i < trace.size(); i++)
+				changed ^= estimator.update(trace.getTime(i), trace.getRatio(i));
+
+			if (round >= rounds / 2) {
+				time += System.nanoTime() - start;
+				updates += trace.size();
+			}
+		}
+
+		// prevent dead code elimination
+		sink = changed;
+
+		return updates > 0 ? (double)time / updates : Double.NaN;
+	}
+
+	private static List<ProgressTrace> getTraces(String files) throws IOException {
+		if (files == null)
+			return Arrays.asList(ProgressTrace.generate());
+
+		List<ProgressTrace> traces = new ArrayList<ProgressTrace>();
+
+		for (String file : files.split(","))
+			traces.add(ProgressTrace.read(new File(file.trim())));
+
+		return traces;
+	}
+
+	public static void main(String... args) throws IOException {
+		String files = null;
+		long interval = TimeUnit.MILLISECONDS.toNanos(250);
+		int rounds = 200;
+
+		for (String arg : args) {
+			int pos = arg.indexOf('=');
+
+			if (!arg.startsWith("--") || pos < 0)
+				throw new IllegalArgumentException("Unknown argument: " + arg + ", expected --name=value");
+
+			String name = arg.substring(2, pos);
+			String value = arg.substring(pos + 1);
+
+			if ("trace".equals(name))
+				files = value;
+			else if ("interval".equals(name))
+				interval = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(value));
+			else if ("rounds".equals(name))
+				rounds = Integer.parseInt(value);
+			else
+				throw new IllegalArgumentException("Unknown option: " + name);
+		}
+
+		System.out.println(String.format(Locale.US, "%-12s %-10s %10s %10s %9s %10s", "trace", "estimator", "MAE, s",
+				"p90, s", "known", "ns/update"));
+
+		for (ProgressTrace trace : getTraces(files))
+			for (RemainingTimeMonitor.Mode mode : RemainingTimeMonitor.Mode.values())
+				System.out.println(evaluate(trace, mode, interval, rounds));
+	}
+}
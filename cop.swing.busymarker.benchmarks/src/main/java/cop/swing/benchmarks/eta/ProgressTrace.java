@@ -0,0 +1,197 @@
+package cop.swing.benchmarks.eta;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import cop.swing.busymarker.trace.BusyTraceReader;
+import cop.swing.busymarker.trace.BusyTraceRecorder;
+
+/**
+ * Recorded progress of a task: a sequence of observations (time in nanoseconds since the start, advance ratio in range
+ * [0 ~ 1]) ordered by time. The task completes at the time of the last observation.
+ * <p>
+ * A trace is either read from a file or generated: {@link #generate()} returns synthetic traces with a steady, a bursty,
+ * a slowing down and a stalling throughput. Files are CSV with lines <code>milliseconds,ratio</code> or binary traces
+ * (<code>*.trace</code>) written by {@link BusyTraceRecorder}; only busy determinate records of binary traces are used.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+final class ProgressTrace {
+	private static final long SEED = 18102026;
+	/** interval between observations of synthetic traces */
+	private static final long STEP = TimeUnit.MILLISECONDS.toNanos(50);
+	/** duration of synthetic traces at the average speed */
+	private static final double DURATION = TimeUnit.SECONDS.toNanos(120);
+
+	private final String name;
+	private final long[] times;
+	private final double[] ratios;
+
+	ProgressTrace(String name, long[] times, double[] ratios) {
+		if (times.length != ratios.length || times.length < 2)
+			throw new IllegalArgumentException("trace '" + name + "' should have at least 2 observations");
+
+		this.name = name;
+		this.times = times;
+		this.ratios = ratios;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	int size() {
+		return times.length;
+	}
+
+	long getTime(int i) {
+		return times[i];
+	}
+
+	double getRatio(int i) {
+		return ratios[i];
+	}
+
+	long getEndTime() {
+		return times[times.length - 1];
+	}
+
+	// ========== static ==========
+
+	/**
+	 * Read a trace from a binary trace file (<code>*.trace</code>) or from a CSV file with lines
+	 * <code>milliseconds,ratio</code>; empty lines and lines starting with <code>#</code> are ignored.
+	 */
+	static ProgressTrace read(File file) throws IOException {
+		if (file.getName().endsWith(".trace"))
+			return readBinary(file);
+
+		BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+		long[] times = new long[1024];
+		double[] ratios = new double[1024];
+		int total = 0;
+
+		try {
+			String line;
+
+			while ((line = in.readLine()) != null) {
+				line = line.trim();
+
+				if (line.isEmpty() || line.startsWith("#"))
+					continue;
+
+				int pos = line.indexOf(',');
+
+				if (pos < 0)
+					throw new IOException(file + ": expected 'milliseconds,ratio', but was '" + line + '\'');
+
+				if (total == times.length) {
+					times = Arrays.copyOf(times, total * 2);
+					ratios = Arrays.copyOf(ratios, total * 2);
+				}
+
+				times[total] = (long)(Double.parseDouble(line.substring(0, pos).trim()) * 1000000);
+				ratios[total++] = Double.parseDouble(line.substring(pos + 1).trim());
+			}
+		} finally {
+			in.close();
+		}
+
+		return new ProgressTrace(file.getName(), Arrays.copyOf(times, total), Arrays.copyOf(ratios, total));
+	}
+
+	private static ProgressTrace readBinary(File file) throws IOException {
+		BusyTraceReader reader = new BusyTraceReader(file);
+		long[] times = new long[1024];
+		double[] ratios = new double[1024];
+		int total = 0;
+
+		try {
+			while (reader.next()) {
+				if (!reader.isBusy() || !reader.isDeterminate())
+					continue;
+
+				if (total == times.length) {
+					times = Arrays.copyOf(times, total * 2);
+					ratios = Arrays.copyOf(ratios, total * 2);
+				}
+
+				times[total] = reader.getTime();
+				ratios[total++] = reader.getRatio();
+			}
+		} finally {
+			reader.close();
+		}
+
+		return new ProgressTrace(file.getName(), Arrays.copyOf(times, total), Arrays.copyOf(ratios, total));
+	}
+
+	static ProgressTrace[] generate() {
+		return new ProgressTrace[] { generate("steady", new Speed() {
+			public double get(double ratio, Random rnd) {
+				return 1;
+			}
+		}), generate("bursty", new Speed() {
+			public double get(double ratio, Random rnd) {
+				// fast and slow batches of ~5% of the task
+				return (int)(ratio * 20) % 2 == 0 ? 1.8 : 0.4;
+			}
+		}), generate("slowdown", new Speed() {
+			public double get(double ratio, Random rnd) {
+				return 2 - 1.8 * ratio;
+			}
+		}), generate("stalls", new Speed() {
+			private int stall;
+
+			public double get(double ratio, Random rnd) {
+				if (stall > 0) {
+					stall--;
+					return 0;
+				}
+				if (rnd.nextInt(400) == 0)
+					stall = 40 + rnd.nextInt(100);
+				return 1.3;
+			}
+		}) };
+	}
+
+	private static ProgressTrace generate(String name, Speed speed) {
+		Random rnd = new Random(SEED);
+		long[] times = new long[1024];
+		double[] ratios = new double[1024];
+		int total = 1;
+
+		while (ratios[total - 1] < 1) {
+			if (total == times.length) {
+				times = Arrays.copyOf(times, total * 2);
+				ratios = Arrays.copyOf(ratios, total * 2);
+			}
+
+			// +/-50% jitter of the interval and of the advance
+			long step = (long)(STEP * (0.5 + rnd.nextDouble()));
+			double advance = speed.get(ratios[total - 1], rnd) * step / DURATION * (0.5 + rnd.nextDouble());
+
+			times[total] = times[total - 1] + step;
+			ratios[total] = Math.min(1, ratios[total - 1] + advance);
+			total++;
+		}
+
+		return new ProgressTrace(name, Arrays.copyOf(times, total), Arrays.copyOf(ratios, total));
+	}
+
+	// ========== Speed ==========
+
+	/**
+	 * Relative speed of a synthetic task, <code>1</code> is the average speed.
+	 */
+	private interface Speed {
+		double get(double ratio, Random rnd);
+	}
+}
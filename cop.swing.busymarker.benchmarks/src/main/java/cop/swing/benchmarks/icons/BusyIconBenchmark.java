@@ -0,0 +1,112 @@
+package cop.swing.benchmarks.icons;
+
+import java.awt.Graphics;
+
+import javax.swing.Icon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import cop.swing.benchmarks.AbstractRenderBenchmark;
+import cop.swing.benchmarks.FilledIcon;
+import cop.swing.busymarker.icons.DefaultBusyIcon;
+import cop.swing.busymarker.icons.InfiniteBusyIcon;
+import cop.swing.busymarker.icons.RadialBusyIcon;
+
+/**
+ * Renders one frame of the busy icons per operation, calling their paint methods directly (i.e. without the buffer
+ * image of {@link cop.swing.busymarker.icons.AbstractBusyIcon}).
+ * <p>
+ * Decorated icons are <code>size x size</code>; {@link RadialBusyIcon} adds its own insets around it.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class BusyIconBenchmark extends AbstractRenderBenchmark {
+	private static final int DEFAULT_FRAMES = 26;
+	private static final int RADIAL_FRAMES = 36;
+	private static final int RATIO_FRAMES = 100;
+
+	private BenchmarkDefaultBusyIcon defaultIcon;
+	private BenchmarkRadialBusyIcon radialIcon;
+	private BenchmarkInfiniteBusyIcon infiniteIcon;
+
+	@Setup
+	public void setUp() {
+		Icon icon = new FilledIcon(size);
+
+		defaultIcon = new BenchmarkDefaultBusyIcon(icon);
+		radialIcon = new BenchmarkRadialBusyIcon(icon);
+		infiniteIcon = new BenchmarkInfiniteBusyIcon(size);
+	}
+
+	@Benchmark
+	public Object defaultUndeterminate() {
+		defaultIcon.paintUndeterminate(g2d, nextFrame(DEFAULT_FRAMES));
+		return defaultIcon;
+	}
+
+	@Benchmark
+	public Object defaultDeterminate() {
+		defaultIcon.paintDeterminate(g2d, (double)nextFrame(RATIO_FRAMES) / RATIO_FRAMES);
+		return defaultIcon;
+	}
+
+	@Benchmark
+	public Object radialUndeterminate() {
+		radialIcon.paintUndeterminate(g2d, nextFrame(RADIAL_FRAMES));
+		return radialIcon;
+	}
+
+	@Benchmark
+	public Object radialDeterminate() {
+		radialIcon.paintDeterminate(g2d, (double)nextFrame(RATIO_FRAMES) / RATIO_FRAMES);
+		return radialIcon;
+	}
+
+	@Benchmark
+	public Object infinite() {
+		infiniteIcon.paintUndeterminate(g2d, nextFrame(infiniteIcon.getBusyPainter().getPoints()));
+		return infiniteIcon;
+	}
+
+	// ========== icons ==========
+
+	private static final class BenchmarkDefaultBusyIcon extends DefaultBusyIcon {
+		BenchmarkDefaultBusyIcon(Icon icon) {
+			super(icon);
+		}
+
+		void paintUndeterminate(Graphics g, int frame) {
+			paintUndeterminate(null, g, 0, 0, frame);
+		}
+
+		void paintDeterminate(Graphics g, double ratio) {
+			paintDeterminate(null, g, 0, 0, ratio);
+		}
+	}
+
+	private static final class BenchmarkRadialBusyIcon extends RadialBusyIcon {
+		BenchmarkRadialBusyIcon(Icon icon) {
+			super(icon);
+		}
+
+		void paintUndeterminate(Graphics g, int frame) {
+			paintUndeterminate(null, g, 0, 0, frame);
+		}
+
+		void paintDeterminate(Graphics g, double ratio) {
+			paintDeterminate(null, g, 0, 0, ratio);
+		}
+	}
+
+	private static final class BenchmarkInfiniteBusyIcon extends InfiniteBusyIcon {
+		BenchmarkInfiniteBusyIcon(int size) {
+			super(size, size, null);
+		}
+
+		void paintUndeterminate(Graphics g, int frame) {
+			paintUndeterminate(null, g, 0, 0, frame);
+		}
+	}
+}
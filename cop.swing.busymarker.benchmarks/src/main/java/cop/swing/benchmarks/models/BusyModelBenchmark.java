@@ -0,0 +1,87 @@
+package cop.swing.benchmarks.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cop.swing.benchmarks.AbstractModelBenchmark;
+import cop.swing.busymarker.models.BusyModel;
+import cop.swing.busymarker.models.ConcurrentBusyModel;
+import cop.swing.busymarker.models.DefaultBusyModel;
+
+/**
+ * Event throughput of a single model: one operation is one <code>setValue()</code> with <code>listeners</code> change
+ * listeners.
+ * <ul>
+ * <li><code>onEdt</code> - updates made on the EDT, listeners are notified synchronously</li>
+ * <li><code>offEdt</code> - updates made on the benchmark thread, listeners are notified on the EDT</li>
+ * </ul>
+ * <code>model</code> is one of: <code>default</code> ({@link DefaultBusyModel}), <code>coalescing</code>
+ * ({@link DefaultBusyModel} with coalescing enabled) and <code>concurrent</code> ({@link ConcurrentBusyModel}).
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@State(Scope.Thread)
+public class BusyModelBenchmark extends AbstractModelBenchmark {
+	@Param({ "default", "coalescing", "concurrent" })
+	private String model;
+
+	@Param({ "0", "1", "10", "100" })
+	private int listeners;
+
+	private BusyModel busyModel;
+	private CountingListener[] counters;
+	private int value;
+
+	private final Runnable update = new Runnable() {
+		public void run() {
+			update();
+		}
+	};
+
+	@Setup
+	public void setUp() {
+		busyModel = createModel(model);
+		counters = new CountingListener[listeners];
+
+		for (int i = 0; i < listeners; i++)
+			busyModel.addChangeListener(counters[i] = new CountingListener());
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public BusyModel onEdt() {
+		invokeAndWait(update);
+		return busyModel;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public BusyModel offEdt() {
+		update();
+		drainEventQueue();
+		return busyModel;
+	}
+
+	private void update() {
+		for (int i = 0; i < BATCH; i++) {
+			value = value == busyModel.getMaximum() - 1 ? busyModel.getMinimum() : value + 1;
+			busyModel.setValue(value);
+		}
+	}
+
+	// ========== static ==========
+
+	static BusyModel createModel(String type) {
+		if ("concurrent".equals(type))
+			return new ConcurrentBusyModel();
+
+		DefaultBusyModel model = new DefaultBusyModel();
+		model.setCoalescingEnabled("coalescing".equals(type));
+		return model;
+	}
+}
@@ -0,0 +1,90 @@
+package cop.swing.benchmarks.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import cop.swing.benchmarks.AbstractModelBenchmark;
+import cop.swing.busymarker.models.BusyModel;
+import cop.swing.busymarker.models.BusyModelHub;
+import cop.swing.busymarker.models.DefaultBusyModel;
+
+/**
+ * Aggregation cost of {@link BusyModelHub}: one operation is one <code>setValue()</code> of a sub-model (round robin
+ * over <code>models</code> sub-models), including the update of the master model and its listener.
+ * <ul>
+ * <li><code>onEdt</code> - sub-models are updated on the EDT</li>
+ * <li><code>offEdt</code> - sub-models are updated on the benchmark thread, the hub receives the changes on the EDT</li>
+ * </ul>
+ * <code>subModel</code> is the type of the sub-models, see {@link BusyModelBenchmark}.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@State(Scope.Thread)
+public class BusyModelHubBenchmark extends AbstractModelBenchmark {
+	@Param({ "10", "1000", "100000" })
+	private int models;
+
+	@Param({ "default", "coalescing", "concurrent" })
+	private String subModel;
+
+	private BusyModelHub hub;
+	private BusyModel[] subModels;
+	private int index;
+
+	private final Runnable update = new Runnable() {
+		public void run() {
+			update();
+		}
+	};
+
+	@Setup
+	public void setUp() {
+		DefaultBusyModel master = new DefaultBusyModel();
+		master.setMaximum(1000000);
+		master.addChangeListener(new CountingListener());
+
+		hub = new BusyModelHub(master);
+		subModels = new BusyModel[models];
+
+		for (int i = 0; i < models; i++)
+			subModels[i] = hub.addModel(BusyModelBenchmark.createModel(subModel), 1);
+
+		drainEventQueue();
+	}
+
+	@TearDown
+	public void tearDown() {
+		hub.dispose();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public BusyModelHub onEdt() {
+		invokeAndWait(update);
+		return hub;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public BusyModelHub offEdt() {
+		update();
+		drainEventQueue();
+		return hub;
+	}
+
+	private void update() {
+		for (int i = 0; i < BATCH; i++) {
+			BusyModel model = subModels[index];
+			int value = model.getValue() + 1;
+
+			model.setValue(value >= model.getMaximum() ? model.getMinimum() : value);
+			index = index == subModels.length - 1 ? 0 : index + 1;
+		}
+	}
+}
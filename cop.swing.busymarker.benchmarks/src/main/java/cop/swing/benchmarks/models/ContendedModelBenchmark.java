@@ -0,0 +1,50 @@
+package cop.swing.benchmarks.models;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import cop.swing.benchmarks.AbstractModelBenchmark;
+import cop.swing.busymarker.models.ConcurrentBusyModel;
+
+/**
+ * Many threads updating one {@link ConcurrentBusyModel} (the only model safe for concurrent writers). One operation is
+ * one <code>setValue()</code>; the changes are coalesced and delivered to <code>listeners</code> change listeners on the
+ * EDT concurrently with the updates. The number of threads is 4 by default and can be changed with <code>-t</code>.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class ContendedModelBenchmark extends AbstractModelBenchmark {
+	@Param({ "0", "10" })
+	private int listeners;
+
+	private ConcurrentBusyModel model;
+
+	@Setup
+	public void setUp() {
+		model = new ConcurrentBusyModel();
+
+		for (int i = 0; i < listeners; i++)
+			model.addChangeListener(new CountingListener());
+	}
+
+	@TearDown
+	public void tearDown() {
+		drainEventQueue();
+	}
+
+	@Benchmark
+	public ConcurrentBusyModel setValue() {
+		model.setValue(ThreadLocalRandom.current().nextInt(model.getMaximum()));
+		return model;
+	}
+}
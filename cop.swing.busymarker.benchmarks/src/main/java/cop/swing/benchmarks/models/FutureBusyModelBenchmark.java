@@ -0,0 +1,102 @@
+package cop.swing.benchmarks.models;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import cop.swing.benchmarks.AbstractModelBenchmark;
+import cop.swing.busymarker.models.FutureBusyModel;
+
+/**
+ * Tracking overhead of {@link FutureBusyModel} per future. <code>future</code> is <code>futureTask</code> (tracked by
+ * the shared poller or by a virtual thread, depending on the runtime) or <code>completableFuture</code> (tracked by a
+ * completion callback).
+ * <ul>
+ * <li><code>track</code> - start and stop tracking of a new future, that is never done</li>
+ * <li><code>complete</code> - start tracking of {@link #BATCH} futures, complete them and wait until all models are
+ * not busy; for polled futures this includes up to one poll delay per invocation</li>
+ * </ul>
+ * Both include creation of the future and delivery of the model's events on the EDT.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@State(Scope.Thread)
+public class FutureBusyModelBenchmark extends AbstractModelBenchmark {
+	private static final Callable<Object> TASK = new Callable<Object>() {
+		public Object call() {
+			return null;
+		}
+	};
+
+	@Param({ "futureTask", "completableFuture" })
+	private String future;
+
+	private FutureBusyModel[] models;
+	private Future<?>[] futures;
+
+	@Setup
+	public void setUp() {
+		models = new FutureBusyModel[BATCH];
+		futures = new Future<?>[BATCH];
+
+		for (int i = 0; i < BATCH; i++)
+			models[i] = new FutureBusyModel();
+	}
+
+	@TearDown
+	public void tearDown() {
+		for (FutureBusyModel model : models)
+			model.dispose();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public FutureBusyModel[] track() {
+		for (FutureBusyModel model : models) {
+			model.setFuture(createFuture());
+			model.setFuture(null);
+		}
+
+		drainEventQueue();
+		return models;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public FutureBusyModel[] complete() {
+		for (int i = 0; i < BATCH; i++)
+			models[i].setFuture(futures[i] = createFuture());
+
+		for (Future<?> future : futures)
+			complete(future);
+
+		for (FutureBusyModel model : models)
+			while (model.isBusy())
+				Thread.yield();
+
+		drainEventQueue();
+		return models;
+	}
+
+	private Future<?> createFuture() {
+		return "completableFuture".equals(future) ? new CompletableFuture<Object>() : new FutureTask<Object>(TASK);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void complete(Future<?> future) {
+		if (future instanceof CompletableFuture)
+			((CompletableFuture<Object>)future).complete(null);
+		else
+			((FutureTask<Object>)future).run();
+	}
+}
@@ -0,0 +1,56 @@
+package cop.swing.benchmarks.painters;
+
+import java.awt.Color;
+import java.awt.Component;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import cop.swing.benchmarks.AbstractRenderBenchmark;
+import cop.swing.painters.MattePainter;
+import cop.swing.painters.RectanglePainter;
+
+/**
+ * Renders {@link RectanglePainter} and {@link MattePainter} (the veil of
+ * {@link cop.swing.busymarker.ui.DefaultBusyLockableUI}) over the whole buffer.
+ * <p>
+ * <code>cacheable</code> switches the {@link cop.swing.painters.AbstractPainter} image cache. {@link RectanglePainter}
+ * merges its shape into the clip of the given graphics, so the clip is reset after each frame, as a fresh graphics of
+ * the next paint cycle would have it.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class AreaPainterBenchmark extends AbstractRenderBenchmark {
+	@Param({ "false", "true" })
+	private boolean cacheable;
+
+	private RectanglePainter<Component> rectanglePainter;
+	private MattePainter<Component> mattePainter;
+
+	@Setup
+	public void setUp() {
+		rectanglePainter = new RectanglePainter<Component>(size, size);
+		rectanglePainter.setRounded(true);
+		rectanglePainter.setFillPaint(Color.DARK_GRAY);
+		rectanglePainter.setBorderPaint(Color.BLACK);
+		rectanglePainter.setCacheable(cacheable);
+
+		mattePainter = new MattePainter<Component>(new Color(0x80FFFFFF, true));
+		mattePainter.setCacheable(cacheable);
+	}
+
+	@Benchmark
+	public RectanglePainter<Component> rectangle() {
+		rectanglePainter.paint(g2d, null, size, size);
+		g2d.setClip(null);
+		return rectanglePainter;
+	}
+
+	@Benchmark
+	public MattePainter<Component> matte() {
+		mattePainter.paint(g2d, null, size, size);
+		return mattePainter;
+	}
+}
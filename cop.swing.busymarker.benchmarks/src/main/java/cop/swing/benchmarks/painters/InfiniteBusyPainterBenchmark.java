@@ -0,0 +1,43 @@
+package cop.swing.benchmarks.painters;
+
+import java.awt.Component;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import cop.swing.benchmarks.AbstractRenderBenchmark;
+import cop.swing.painters.InfiniteBusyPainter;
+
+/**
+ * Renders one frame of {@link InfiniteBusyPainter} per operation, moving to the next frame each time.
+ * <p>
+ * <code>cacheable</code> switches the {@link cop.swing.painters.AbstractPainter} image cache, <code>spriteCache</code>
+ * switches the shared sprite sheet of all frames.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class InfiniteBusyPainterBenchmark extends AbstractRenderBenchmark {
+	@Param({ "false", "true" })
+	private boolean cacheable;
+
+	@Param({ "false", "true" })
+	private boolean spriteCache;
+
+	private InfiniteBusyPainter<Component> painter;
+
+	@Setup
+	public void setUp() {
+		painter = new InfiniteBusyPainter<Component>(size);
+		painter.setCacheable(cacheable);
+		painter.setSpriteCacheEnabled(spriteCache);
+	}
+
+	@Benchmark
+	public InfiniteBusyPainter<Component> paint() {
+		painter.setFrame(nextFrame(painter.getPoints()));
+		painter.paint(g2d, null, size, size);
+		return painter;
+	}
+}
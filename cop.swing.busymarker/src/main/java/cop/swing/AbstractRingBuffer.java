@@ -0,0 +1,195 @@
+package cop.swing;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Index bookkeeping shared by the primitive ring buffers: {@link LongRingBuffer}, {@link DoubleRingBuffer} and
+ * {@link SampleRingBuffer}.
+ * <p>
+ * Backed arrays have a power of two length (not less than the capacity), so a logical index is converted to the
+ * physical one with a mask instead of a division. When the buffer is full, a new element overrides the oldest one, like
+ * in {@link CyclicBuffer}.
+ * <p>
+ * Ring buffers are <strong>not</strong> thread safe.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+abstract class AbstractRingBuffer {
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private final int capacity;
+	private final int mask;
+	private int head; // physical index of the oldest element
+	private int count;
+	private int removals; // removals since the last exact sum
+
+	protected AbstractRingBuffer(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("capacity can't be less than 1");
+		if (capacity > MAX_CAPACITY)
+			throw new IllegalArgumentException("capacity can't be greater than " + MAX_CAPACITY);
+
+		this.capacity = capacity;
+		mask = getArrayLength(capacity) - 1;
+	}
+
+	/**
+	 * Returns the number of elements in this buffer.
+	 */
+	public final int size() {
+		return count;
+	}
+
+	public final boolean isEmpty() {
+		return count == 0;
+	}
+
+	public final boolean isFull() {
+		return count == capacity;
+	}
+
+	/**
+	 * Returns the maximum number of elements of this buffer.
+	 */
+	public final int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Removes all elements from this buffer.
+	 */
+	public void clear() {
+		head = 0;
+		count = 0;
+		removals = 0;
+	}
+
+	/**
+	 * Returns the length of backed arrays.
+	 */
+	protected final int getArrayLength() {
+		return mask + 1;
+	}
+
+	/**
+	 * Convert a logical index (<code>0</code> is the oldest element) into a physical index of backed arrays.
+	 */
+	protected final int getPhysicalIndex(int index) {
+		if (index < 0 || index >= count)
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + count);
+		return (head + index) & mask;
+	}
+
+	protected final int getFirstIndex() {
+		if (count == 0)
+			throw new NoSuchElementException();
+		return head;
+	}
+
+	protected final int getLastIndex() {
+		if (count == 0)
+			throw new NoSuchElementException();
+		return (head + count - 1) & mask;
+	}
+
+	/**
+	 * Removes the oldest element.
+	 *
+	 * @return physical index of the removed element
+	 */
+	protected final int removeFirstIndex() {
+		int index = getFirstIndex();
+
+		head = (head + 1) & mask;
+		count--;
+
+		return index;
+	}
+
+	/**
+	 * Reserves a place for a new element; the buffer must not be full.
+	 *
+	 * @return physical index of the new element
+	 */
+	protected final int addLastIndex() {
+		return addLastIndex(1);
+	}
+
+	/**
+	 * Reserves places for given number of new elements; there must be enough free places in the buffer.
+	 *
+	 * @param total number of new elements
+	 * @return physical index of the first new element, next ones can wrap to the beginning of backed arrays
+	 */
+	protected final int addLastIndex(int total) {
+		int index = (head + count) & mask;
+		count += total;
+		return index;
+	}
+
+	/**
+	 * Counts a removal of an element from a running sum. Returns <code>true</code> once per <code>capacity</code>
+	 * removals, then the sum should be computed again from the elements: subtracting removed values from a floating
+	 * point sum accumulates rounding errors, and a full buffer never gets empty to reset it.
+	 */
+	protected final boolean isSumRecomputeRequired() {
+		if (++removals < capacity)
+			return false;
+
+		removals = 0;
+		return true;
+	}
+
+	/**
+	 * Returns the number of oldest elements to be removed for adding given number of new elements.
+	 */
+	protected final int getOverflow(int total) {
+		return Math.max(0, count + total - capacity);
+	}
+
+	/**
+	 * Copy all elements of the given backed array in order, from oldest to newest, into the given array.
+	 *
+	 * @param src backed array
+	 * @param dest destination array
+	 * @param offs start position in the destination array
+	 */
+	protected final void copyTo(Object src, Object dest, int offs) {
+		int first = Math.min(count, getArrayLength() - head);
+
+		System.arraycopy(src, head, dest, offs, first);
+		System.arraycopy(src, 0, dest, offs + first, count - first);
+	}
+
+	/**
+	 * Copy elements into given backed array, starting from given physical index and wrapping to the beginning of the
+	 * array.
+	 *
+	 * @param src source array
+	 * @param offs start position in the source array
+	 * @param dest backed array
+	 * @param index physical index of the first element
+	 * @param total number of elements to copy
+	 */
+	protected final void copyFrom(Object src, int offs, Object dest, int index, int total) {
+		int first = Math.min(total, getArrayLength() - index);
+
+		System.arraycopy(src, offs, dest, index, first);
+		System.arraycopy(src, offs + first, dest, 0, total - first);
+	}
+
+	/**
+	 * Checks given range of an array with <code>length</code> elements.
+	 */
+	protected static void checkRange(int length, int offs, int total) {
+		if (offs < 0 || total < 0 || offs > length - total)
+			throw new IndexOutOfBoundsException("offs: " + offs + ", total: " + total + ", length: " + length);
+	}
+
+	// ========== static ==========
+
+	private static int getArrayLength(int capacity) {
+		return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+	}
+}
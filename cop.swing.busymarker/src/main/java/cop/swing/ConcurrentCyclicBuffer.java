@@ -0,0 +1,224 @@
+package cop.swing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Concurrent variant of {@link CyclicBuffer} for handing off objects from many threads to one thread (e.g. from worker
+ * threads to the EDT) without locks.
+ * <p>
+ * The buffer has a fixed capacity; when it's full, a new object overrides the oldest one that is not consumed yet.
+ * <ul>
+ * <li>{@link #offer(Object)} - lock-free, can be called by any number of threads</li>
+ * <li>{@link #poll()}, {@link #drainTo(Collection)} - must be called by one consumer thread at a time</li>
+ * <li>{@link #snapshot()} - wait-free, can be called by any thread, doesn't consume objects</li>
+ * </ul>
+ * Objects offered by one thread are consumed in the same order; objects offered by different threads are consumed in
+ * the order they reserved their places in the buffer.
+ * <p>
+ * Each object is stored with its sequence number in an immutable cell, so the consumer and readers can detect places
+ * that are not written yet or are already overridden by a newer object.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class ConcurrentCyclicBuffer<E> {
+	private final int capacity;
+	private final int mask;
+	private final AtomicReferenceArray<Cell<E>> cells;
+	/** sequence number of the next offered object */
+	private final AtomicLong tail = new AtomicLong();
+	/** sequence number of the next consumed object, written by the consumer only */
+	private volatile long head;
+	private volatile long overwritten;
+
+	public ConcurrentCyclicBuffer(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("capacity can't be less than 1");
+		if (capacity > 1 << 30)
+			throw new IllegalArgumentException("capacity can't be greater than " + (1 << 30));
+
+		this.capacity = capacity;
+		mask = (capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1) - 1;
+		cells = new AtomicReferenceArray<Cell<E>>(mask + 1);
+	}
+
+	/**
+	 * Inserts the specified object into this buffer. If the buffer is full, the oldest object is overridden.
+	 * <p>
+	 * This method is lock-free and can be called by any thread.
+	 *
+	 * @param obj the object to insert
+	 * @return <tt>true</tt>
+	 * @throws NullPointerException if the object is <code>null</code>
+	 */
+	public boolean offer(E obj) {
+		if (obj == null)
+			throw new NullPointerException();
+
+		long seq = tail.getAndIncrement();
+		int index = (int)seq & mask;
+		Cell<E> cell = new Cell<E>(seq, obj);
+
+		while (true) {
+			Cell<E> curr = cells.get(index);
+
+			// a newer object is already written here, i.e. this one is overridden before being written
+			if (curr != null && curr.seq > seq)
+				return true;
+			if (cells.compareAndSet(index, curr, cell))
+				return true;
+		}
+	}
+
+	/**
+	 * Retrieves and removes the oldest object of this buffer, or <code>null</code> if this buffer is empty.
+	 * <p>
+	 * This method must be called by one consumer thread at a time.
+	 *
+	 * @return the oldest object or <code>null</code>
+	 */
+	public E poll() {
+		long seq = getFirstSeq(head);
+		long end = tail.get();
+
+		for (; seq < end; seq++) {
+			int index = (int)seq & mask;
+			Cell<E> cell = cells.get(index);
+
+			if (cell == null || cell.seq < seq)
+				break; // not written yet
+			if (cell.seq > seq) {
+				overwritten++;
+				continue;
+			}
+
+			cells.compareAndSet(index, cell, null);
+			head = seq + 1;
+			return cell.obj;
+		}
+
+		head = seq;
+		return null;
+	}
+
+	/**
+	 * Removes all available objects from this buffer and adds them to the given collection, from oldest to newest.
+	 * <p>
+	 * This method must be called by one consumer thread at a time.
+	 *
+	 * @param c the collection to transfer objects into
+	 * @return the number of transferred objects
+	 */
+	public int drainTo(Collection<? super E> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Removes at most the given number of available objects from this buffer and adds them to the given collection,
+	 * from oldest to newest.
+	 * <p>
+	 * This method must be called by one consumer thread at a time.
+	 *
+	 * @param c the collection to transfer objects into
+	 * @param max the maximum number of objects to transfer
+	 * @return the number of transferred objects
+	 */
+	public int drainTo(Collection<? super E> c, int max) {
+		long seq = getFirstSeq(head);
+		long end = tail.get();
+		int total = 0;
+
+		for (; seq < end && total < max; seq++) {
+			int index = (int)seq & mask;
+			Cell<E> cell = cells.get(index);
+
+			if (cell == null || cell.seq < seq)
+				break; // not written yet
+			if (cell.seq > seq) {
+				overwritten++;
+				continue;
+			}
+
+			cells.compareAndSet(index, cell, null);
+			c.add(cell.obj);
+			total++;
+		}
+
+		head = seq;
+		return total;
+	}
+
+	/**
+	 * Returns the objects of this buffer that are not consumed yet, from oldest to newest, without removing them. Objects
+	 * that are being written by other threads at the moment are skipped.
+	 * <p>
+	 * This method is wait-free and can be called by any thread.
+	 *
+	 * @return new list of objects
+	 */
+	public List<E> snapshot() {
+		long end = tail.get();
+		long seq = Math.max(head, end - capacity);
+		List<E> res = new ArrayList<E>((int)Math.max(0, end - seq));
+
+		for (; seq < end; seq++) {
+			Cell<E> cell = cells.get((int)seq & mask);
+
+			if (cell != null && cell.seq == seq)
+				res.add(cell.obj);
+		}
+
+		return res;
+	}
+
+	/**
+	 * Returns the approximate number of objects that are not consumed yet.
+	 */
+	public int size() {
+		return (int)Math.min(capacity, Math.max(0, tail.get() - head));
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of objects that were overridden before the consumer took them.
+	 */
+	public long getOverwrittenCount() {
+		return overwritten + Math.max(0, tail.get() - capacity - head);
+	}
+
+	/**
+	 * Skips objects that are out of the capacity, i.e. are overridden or being overridden.
+	 */
+	private long getFirstSeq(long seq) {
+		long first = tail.get() - capacity;
+
+		if (seq >= first)
+			return seq;
+
+		overwritten += first - seq;
+		return first;
+	}
+
+	// ========== static ==========
+
+	private static final class Cell<E> {
+		private final long seq;
+		private final E obj;
+
+		Cell(long seq, E obj) {
+			this.seq = seq;
+			this.obj = obj;
+		}
+	}
+}
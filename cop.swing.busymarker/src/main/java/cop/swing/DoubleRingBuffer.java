@@ -0,0 +1,160 @@
+package cop.swing;
+
+/**
+ * Cyclic buffer of <code>double</code> values: like {@link CyclicBuffer}, but values are stored in a primitive array,
+ * so adding a value doesn't allocate anything.
+ * <p>
+ * The buffer has a fixed capacity; when it's full, a new value overrides the oldest one. The sum of all values in the
+ * buffer is maintained on each change and is available in <code>O(1)</code> with {@link #getSum()}. The running sum is
+ * computed again from the values once per <code>capacity</code> removed values, so its rounding error is bounded by
+ * the last <code>capacity</code> changes even if a full buffer overrides values forever.
+ * <p>
+ * This buffer is <strong>not</strong> thread safe.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class DoubleRingBuffer extends AbstractRingBuffer {
+	private final double[] values;
+	private double sum;
+
+	public DoubleRingBuffer(int capacity) {
+		super(capacity);
+		values = new double[getArrayLength()];
+	}
+
+	/**
+	 * Adds a new value; if the buffer is full, the oldest value is removed.
+	 *
+	 * @param value new value
+	 */
+	public void add(double value) {
+		if (isFull())
+			removeFirst();
+
+		values[addLastIndex()] = value;
+		sum += value;
+	}
+
+	/**
+	 * Adds all values of given range of the array; if the buffer doesn't have enough free places, the oldest values are
+	 * removed.
+	 *
+	 * @param src source array
+	 * @param offs start position in the source array
+	 * @param total number of values to add
+	 */
+	public void addAll(double[] src, int offs, int total) {
+		checkRange(src.length, offs, total);
+
+		if (total >= getCapacity()) {
+			offs += total - getCapacity();
+			total = getCapacity();
+		}
+
+		int overflow = getOverflow(total);
+
+		if (overflow == size())
+			clear();
+		else
+			for (int i = 0; i < overflow; i++)
+				onRemoved(values[removeFirstIndex()]);
+
+		copyFrom(src, offs, values, addLastIndex(total), total);
+
+		for (int i = offs, end = offs + total; i < end; i++)
+			sum += src[i];
+	}
+
+	/**
+	 * Removes and returns the oldest value.
+	 *
+	 * @return the oldest value
+	 * @throws java.util.NoSuchElementException if the buffer is empty
+	 */
+	public double removeFirst() {
+		double value = values[removeFirstIndex()];
+		onRemoved(value);
+		return value;
+	}
+
+	private void onRemoved(double value) {
+		if (isEmpty())
+			sum = 0;
+		else if (isSumRecomputeRequired())
+			sum = computeSum();
+		else
+			sum -= value;
+	}
+
+	private double computeSum() {
+		double res = 0;
+
+		for (int i = 0, size = size(); i < size; i++)
+			res += values[getPhysicalIndex(i)];
+
+		return res;
+	}
+
+	/**
+	 * Moves all values from this buffer into the given array, from oldest to newest. The buffer is empty afterward.
+	 *
+	 * @param dest destination array
+	 * @param offs start position in the destination array
+	 * @return number of moved values
+	 */
+	public int drainTo(double[] dest, int offs) {
+		int total = size();
+
+		checkRange(dest.length, offs, total);
+		copyTo(values, dest, offs);
+		clear();
+
+		return total;
+	}
+
+	/**
+	 * Returns a value by index: <code>0</code> is the oldest value, <code>size() - 1</code> is the newest one.
+	 */
+	public double get(int index) {
+		return values[getPhysicalIndex(index)];
+	}
+
+	/**
+	 * @throws java.util.NoSuchElementException if the buffer is empty
+	 */
+	public double getFirst() {
+		return values[getFirstIndex()];
+	}
+
+	/**
+	 * @throws java.util.NoSuchElementException if the buffer is empty
+	 */
+	public double getLast() {
+		return values[getLastIndex()];
+	}
+
+	/**
+	 * Returns the sum of all values in this buffer.
+	 */
+	public double getSum() {
+		return sum;
+	}
+
+	/**
+	 * Returns all values from oldest to newest.
+	 */
+	public double[] toArray() {
+		double[] res = new double[size()];
+		copyTo(values, res, 0);
+		return res;
+	}
+
+	// ========== AbstractRingBuffer ==========
+
+	@Override
+	public void clear() {
+		super.clear();
+		sum = 0;
+	}
+}
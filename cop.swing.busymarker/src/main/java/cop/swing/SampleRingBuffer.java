@@ -0,0 +1,169 @@
+package cop.swing;
+
+/**
+ * Cyclic buffer of samples of a time series; each sample is a pair of a <code>long</code> time (e.g. a duration) and a
+ * <code>double</code> value. Samples are stored as a structure of arrays (one primitive array per field) instead of one
+ * object per sample, so adding a sample doesn't allocate anything.
+ * <p>
+ * The buffer has a fixed capacity; when it's full, a new sample overrides the oldest one. Sums of times and values of
+ * all samples in the buffer are maintained on each change and are available in <code>O(1)</code> with
+ * {@link #getTimeSum()} and {@link #getValueSum()}. The sum of values is computed again from the values once per
+ * <code>capacity</code> removed samples, so its rounding error is bounded by the last <code>capacity</code> changes.
+ * <p>
+ * This buffer is <strong>not</strong> thread safe.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class SampleRingBuffer extends AbstractRingBuffer {
+	private final long[] times;
+	private final double[] values;
+	private long timeSum;
+	private double valueSum;
+
+	public SampleRingBuffer(int capacity) {
+		super(capacity);
+		times = new long[getArrayLength()];
+		values = new double[getArrayLength()];
+	}
+
+	/**
+	 * Adds a new sample; if the buffer is full, the oldest sample is removed.
+	 *
+	 * @param time time of the sample
+	 * @param value value of the sample
+	 */
+	public void add(long time, double value) {
+		if (isFull())
+			removeFirst();
+
+		int index = addLastIndex();
+
+		times[index] = time;
+		values[index] = value;
+		timeSum += time;
+		valueSum += value;
+	}
+
+	/**
+	 * Adds all samples of given range of arrays; if the buffer doesn't have enough free places, the oldest samples are
+	 * removed.
+	 *
+	 * @param srcTimes source array of times
+	 * @param srcValues source array of values
+	 * @param offs start position in source arrays
+	 * @param total number of samples to add
+	 */
+	public void addAll(long[] srcTimes, double[] srcValues, int offs, int total) {
+		checkRange(srcTimes.length, offs, total);
+		checkRange(srcValues.length, offs, total);
+
+		if (total >= getCapacity()) {
+			offs += total - getCapacity();
+			total = getCapacity();
+		}
+
+		int overflow = getOverflow(total);
+
+		if (overflow == size())
+			clear();
+		else
+			for (int i = 0; i < overflow; i++)
+				removeFirst();
+
+		int index = addLastIndex(total);
+
+		copyFrom(srcTimes, offs, times, index, total);
+		copyFrom(srcValues, offs, values, index, total);
+
+		for (int i = offs, end = offs + total; i < end; i++) {
+			timeSum += srcTimes[i];
+			valueSum += srcValues[i];
+		}
+	}
+
+	/**
+	 * Removes the oldest sample.
+	 *
+	 * @throws java.util.NoSuchElementException if the buffer is empty
+	 */
+	public void removeFirst() {
+		int index = removeFirstIndex();
+
+		if (isEmpty()) {
+			timeSum = 0;
+			valueSum = 0;
+		} else {
+			timeSum -= times[index];
+			valueSum = isSumRecomputeRequired() ? computeValueSum() : valueSum - values[index];
+		}
+	}
+
+	private double computeValueSum() {
+		double res = 0;
+
+		for (int i = 0, size = size(); i < size; i++)
+			res += values[getPhysicalIndex(i)];
+
+		return res;
+	}
+
+	/**
+	 * Moves all samples from this buffer into given arrays, from oldest to newest. The buffer is empty afterward.
+	 *
+	 * @param destTimes destination array of times
+	 * @param destValues destination array of values
+	 * @param offs start position in destination arrays
+	 * @return number of moved samples
+	 */
+	public int drainTo(long[] destTimes, double[] destValues, int offs) {
+		int total = size();
+
+		checkRange(destTimes.length, offs, total);
+		checkRange(destValues.length, offs, total);
+		copyTo(times, destTimes, offs);
+		copyTo(values, destValues, offs);
+		clear();
+
+		return total;
+	}
+
+	/**
+	 * Returns a time of the sample by index: <code>0</code> is the oldest sample, <code>size() - 1</code> is the newest
+	 * one.
+	 */
+	public long getTime(int index) {
+		return times[getPhysicalIndex(index)];
+	}
+
+	/**
+	 * Returns a value of the sample by index: <code>0</code> is the oldest sample, <code>size() - 1</code> is the newest
+	 * one.
+	 */
+	public double getValue(int index) {
+		return values[getPhysicalIndex(index)];
+	}
+
+	/**
+	 * Returns the sum of times of all samples in this buffer.
+	 */
+	public long getTimeSum() {
+		return timeSum;
+	}
+
+	/**
+	 * Returns the sum of values of all samples in this buffer.
+	 */
+	public double getValueSum() {
+		return valueSum;
+	}
+
+	// ========== AbstractRingBuffer ==========
+
+	@Override
+	public void clear() {
+		super.clear();
+		timeSum = 0;
+		valueSum = 0;
+	}
+}
@@ -0,0 +1,216 @@
+package cop.swing.busymarker;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.swing.Timer;
+
+/**
+ * Shared animation clock for all {@link AnimationTimer}s.
+ * <p>
+ * Instead of running one {@link Timer} per animated icon or ui, all animation timers are registered in a <strong>hashed
+ * timing wheel</strong> driven by a single {@link Timer} ticking every {@link #FRAME_DELAY} milliseconds. Each tick
+ * visits only one slot of the wheel, collects all timers that are due and fires them in one EDT pass. The delay of each
+ * timer is rounded to the nearest number of frames (at least one).
+ * <p>
+ * The number of timers fired per frame can be limited with {@link #setFrameBudget(int)}. Due timers over the budget
+ * are not lost, they are fired first on the next frames.
+ * <p>
+ * The underlying {@link Timer} runs only while at least one animation timer is running.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ * @see AnimationTimer
+ */
+public final class AnimationClock implements ActionListener {
+	/** delay in milliseconds between two frames (~60 fps) */
+	public static final int FRAME_DELAY = 16;
+
+	private static final int WHEEL_SIZE = 64; // must be a power of 2
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+	private static final AnimationClock INSTANCE = new AnimationClock();
+
+	private final List<List<AnimationTimer>> wheel = createWheel();
+	private final List<AnimationTimer> due = new ArrayList<AnimationTimer>();
+	private final List<AnimationTimer> expired = new ArrayList<AnimationTimer>();
+	/** timer driving this clock, or <code>null</code> if the clock is advanced manually */
+	private final Timer timer;
+	/** timers to fire in the current frame, reused between frames */
+	private AnimationTimer[] fired = new AnimationTimer[16];
+
+	private int cursor;
+	private int size;
+	private int frameBudget; // 0 - unlimited
+
+	public static AnimationClock getInstance() {
+		return INSTANCE;
+	}
+
+	private AnimationClock() {
+		this(true);
+	}
+
+	/**
+	 * @param driven <code>false</code> for a clock without the underlying {@link Timer}, that is advanced only by
+	 *            {@link #advance()}
+	 */
+	AnimationClock(boolean driven) {
+		timer = driven ? new Timer(FRAME_DELAY, this) : null;
+	}
+
+	/**
+	 * Define the maximum number of timers fired per frame. Due timers over this budget are fired on the next frames.
+	 *
+	 * @param budget maximum number of timers fired per frame, 0 or negative value means no limit
+	 */
+	public synchronized void setFrameBudget(int budget) {
+		this.frameBudget = Math.max(0, budget);
+	}
+
+	/**
+	 * Returns the maximum number of timers fired per frame.
+	 *
+	 * @return maximum number of timers fired per frame, 0 means no limit
+	 */
+	public synchronized int getFrameBudget() {
+		return frameBudget;
+	}
+
+	/**
+	 * Returns the number of currently running animation timers.
+	 *
+	 * @return number of currently running animation timers
+	 */
+	public synchronized int getTimerCount() {
+		return size;
+	}
+
+	synchronized void start(AnimationTimer animationTimer) {
+		if (animationTimer.running)
+			return;
+
+		animationTimer.running = true;
+		size++;
+		schedule(animationTimer);
+
+		if (timer != null && !timer.isRunning())
+			timer.start();
+	}
+
+	synchronized void stop(AnimationTimer animationTimer) {
+		if (!animationTimer.running)
+			return;
+
+		animationTimer.running = false;
+		size--;
+		wheel.get(animationTimer.slot).remove(animationTimer);
+
+		if (animationTimer.pending) {
+			animationTimer.pending = false;
+			due.remove(animationTimer);
+		}
+
+		if (size == 0 && timer != null)
+			timer.stop();
+	}
+
+	synchronized boolean isRunning(AnimationTimer animationTimer) {
+		return animationTimer.running;
+	}
+
+	/**
+	 * Put the timer in the slot where it will be due after its delay.
+	 */
+	private void schedule(AnimationTimer animationTimer) {
+		int ticks = Math.max(1, Math.round((float)animationTimer.getDelay() / FRAME_DELAY));
+
+		animationTimer.slot = (cursor + ticks) & WHEEL_MASK;
+		animationTimer.rounds = (ticks - 1) / WHEEL_SIZE;
+		wheel.get(animationTimer.slot).add(animationTimer);
+	}
+
+	/**
+	 * Move the wheel to the next slot and put timers to fire in this frame into {@link #fired}.
+	 *
+	 * @return number of timers to fire
+	 */
+	private synchronized int tick() {
+		cursor = (cursor + 1) & WHEEL_MASK;
+
+		Iterator<AnimationTimer> it = wheel.get(cursor).iterator();
+
+		while (it.hasNext()) {
+			AnimationTimer animationTimer = it.next();
+
+			if (animationTimer.rounds > 0)
+				animationTimer.rounds--;
+			else {
+				it.remove();
+				expired.add(animationTimer);
+			}
+		}
+
+		for (AnimationTimer animationTimer : expired) {
+			schedule(animationTimer);
+
+			if (!animationTimer.pending) {
+				animationTimer.pending = true;
+				due.add(animationTimer);
+			}
+		}
+
+		expired.clear();
+
+		int total = frameBudget > 0 ? Math.min(frameBudget, due.size()) : due.size();
+
+		if (fired.length < total)
+			fired = new AnimationTimer[Math.max(total, fired.length * 2)];
+
+		for (int i = 0; i < total; i++) {
+			fired[i] = due.get(i);
+			fired[i].pending = false;
+		}
+
+		due.subList(0, total).clear();
+		return total;
+	}
+
+	/**
+	 * Move the wheel to the next frame and fire all due timers. Must be called on the EDT (or by one thread for a
+	 * manually advanced clock).
+	 */
+	void advance() {
+		int total = tick();
+
+		for (int i = 0; i < total; i++) {
+			AnimationTimer animationTimer = fired[i];
+
+			fired[i] = null;
+
+			if (animationTimer.isRunning())
+				animationTimer.fire();
+		}
+	}
+
+	// ========== ActionListener ==========
+
+	public void actionPerformed(ActionEvent event) {
+		if (event.getSource() == timer)
+			advance();
+	}
+
+	// ========== static ==========
+
+	private static List<List<AnimationTimer>> createWheel() {
+		List<List<AnimationTimer>> wheel = new ArrayList<List<AnimationTimer>>(WHEEL_SIZE);
+
+		for (int i = 0; i < WHEEL_SIZE; i++)
+			wheel.add(new ArrayList<AnimationTimer>(2));
+
+		return wheel;
+	}
+}
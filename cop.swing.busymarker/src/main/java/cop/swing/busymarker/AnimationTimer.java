@@ -0,0 +1,73 @@
+package cop.swing.busymarker;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.swing.Timer;
+
+/**
+ * Periodic timer for animations, with the same basic contract than {@link Timer}: once started, it fires an
+ * {@link ActionEvent} (with this timer as source) to its listener every <code>delay</code> milliseconds on the EDT.
+ * <p>
+ * Unlike {@link Timer}, this timer doesn't own any thread or queue entry. All running animation timers are driven by the
+ * shared {@link AnimationClock}, so the delay is rounded to the clock's frame ({@link AnimationClock#FRAME_DELAY}).
+ * <p>
+ * The same {@link ActionEvent} instance is fired each time, so animating doesn't allocate anything; listeners must not
+ * keep or modify it.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class AnimationTimer {
+	private final AnimationClock clock;
+	private final ActionListener listener;
+	/** the same event is fired each time */
+	private final ActionEvent event = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, null);
+	private volatile int delay;
+
+	// state managed by AnimationClock under its lock
+	int slot;
+	int rounds;
+	boolean running;
+	boolean pending;
+
+	public AnimationTimer(int delay, ActionListener listener) {
+		this(delay, listener, AnimationClock.getInstance());
+	}
+
+	AnimationTimer(int delay, ActionListener listener, AnimationClock clock) {
+		this.delay = Math.max(0, delay);
+		this.listener = listener;
+		this.clock = clock;
+	}
+
+	/**
+	 * Define the delay in milliseconds between two events. A new delay is applied after the next event.
+	 *
+	 * @param delay delay in milliseconds
+	 */
+	public void setDelay(int delay) {
+		this.delay = Math.max(0, delay);
+	}
+
+	public int getDelay() {
+		return delay;
+	}
+
+	public void start() {
+		clock.start(this);
+	}
+
+	public void stop() {
+		clock.stop(this);
+	}
+
+	public boolean isRunning() {
+		return clock.isRunning(this);
+	}
+
+	void fire() {
+		if (listener != null)
+			listener.actionPerformed(event);
+	}
+}
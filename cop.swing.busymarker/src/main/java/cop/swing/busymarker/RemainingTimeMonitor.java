@@ -6,7 +6,11 @@ import javax.swing.BoundedRangeModel;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
-import cop.swing.CyclicBuffer;
+import cop.swing.busymarker.estimators.EwmaEstimator;
+import cop.swing.busymarker.estimators.HoltEstimator;
+import cop.swing.busymarker.estimators.RegressionEstimator;
+import cop.swing.busymarker.estimators.RemainingTimeEstimator;
+import cop.swing.busymarker.estimators.SlidingWindowEstimator;
 import cop.swing.busymarker.models.BusyModel;
 import cop.swing.busymarker.models.EmptyBusyModel;
 
@@ -32,21 +36,24 @@ import cop.swing.busymarker.models.EmptyBusyModel;
  * 	// you have a remaining time, you can re-invoke this method for update the remaining time
  * }
  * </pre>
+ * <p>
+ * The estimation itself is delegated to a {@link RemainingTimeEstimator}, that receives each change of the model with
+ * {@link System#nanoTime()}. By default the monitor averages the advance speed of its last samples
+ * ({@link Mode#SAMPLES}); other built-in strategies are available with {@link Mode} or a custom estimator can be given
+ * to the constructor. With {@link Mode#EWMA}, each estimation is computed in <code>O(1)</code> without any allocation
+ * and can be requested on every frame.
  * 
  * @author Oleg Cherednik
  * @since 28.03.2012
  */
 public class RemainingTimeMonitor implements ChangeListener {
-	private static final long MINIMUM_SAMPLE_DELAY = 1000;
-	private static final long MINIMUM_INITIAL_SAMPLE_DELAY = 100;
-
-	private final CyclicBuffer<Sample> samples = new CyclicBuffer<Sample>(10);
 	private final BusyModel model;
+	private final Mode mode;
+	private final RemainingTimeEstimator estimator;
 
-	private Sample currSample;
-	private Sample lastSampleUsed;
+	private long sampleCount;
+	private long lastSampleCountUsed;
 	private long lastRemainingTimeResult = -1;
-	private long whenLastRemainingTimeResult = 0L;
 
 	private long startTime = System.currentTimeMillis();
 	
@@ -59,7 +66,36 @@ public class RemainingTimeMonitor implements ChangeListener {
 	 * @param model BusyModel for which compute the remaining time
 	 */
 	public RemainingTimeMonitor(BusyModel model) {
+		this(model, Mode.SAMPLES);
+	}
+
+	/**
+	 * Create a <code>RemainingTimeMonitor</code> for the specified {@link BusyModel} with given estimation mode.
+	 * 
+	 * @param model BusyModel for which compute the remaining time
+	 * @param mode estimation mode
+	 */
+	public RemainingTimeMonitor(BusyModel model, Mode mode) {
+		this(model, mode != null ? mode : Mode.SAMPLES, null);
+	}
+
+	/**
+	 * Create a <code>RemainingTimeMonitor</code> for the specified {@link BusyModel} with given estimator.
+	 * 
+	 * @param model BusyModel for which compute the remaining time
+	 * @param estimator estimator of the remaining time, it must not be shared with other monitors
+	 */
+	public RemainingTimeMonitor(BusyModel model, RemainingTimeEstimator estimator) {
+		this(model, null, estimator);
+	}
+
+	private RemainingTimeMonitor(BusyModel model, Mode mode, RemainingTimeEstimator estimator) {
+		if (mode == null && estimator == null)
+			throw new NullPointerException("estimator");
+
 		this.model = model != null ? model : EmptyBusyModel.getInstance();
+		this.mode = mode;
+		this.estimator = mode != null ? mode.createEstimator() : estimator;
 		setActive(true);
 	}
 
@@ -71,6 +107,19 @@ public class RemainingTimeMonitor implements ChangeListener {
 	public BusyModel getModel() {
 		return model;
 	}
+
+	/**
+	 * Return the estimation mode of this monitor.
+	 * 
+	 * @return estimation mode or <code>null</code> if this monitor uses a custom estimator
+	 */
+	public Mode getMode() {
+		return mode;
+	}
+
+	public RemainingTimeEstimator getEstimator() {
+		return estimator;
+	}
 	
 	public void setActive(boolean active) {
 		if(this.active == active)
@@ -78,9 +127,9 @@ public class RemainingTimeMonitor implements ChangeListener {
 		
 		this.active = active && model != EmptyBusyModel.getInstance();
 		
-		samples.clear();
-		currSample = null;
-		lastSampleUsed = null;
+		estimator.reset();
+		sampleCount = 0;
+		lastSampleCountUsed = 0;
 		
 		if(active) {
 			model.addChangeListener(this);
@@ -93,30 +142,12 @@ public class RemainingTimeMonitor implements ChangeListener {
 	}
 
 	/**
-	 * Internal method that manages sample snapshot
+	 * Internal method that passes a change of the model to the estimator
 	 */
 	private synchronized void tick() {
-		if (currSample == null)
-			currSample = new Sample(getRatio());
-		else {
-			long currTime = System.currentTimeMillis();
-			long delay = currTime - currSample.getStartTime();
-			if ((samples.size() < 5 && delay >= MINIMUM_INITIAL_SAMPLE_DELAY) || (delay >= MINIMUM_SAMPLE_DELAY)) {
-				double ratio = getRatio();
-
-				/**
-				 * Close the current bulk
-				 */
-				currSample.end(ratio);
-				samples.add(currSample);
-
-				/**
-				 * Start a new one
-				 */
-				currSample = new Sample(ratio);
-			}
-			disposeIfCompleted();
-		}
+		if (estimator.update(System.nanoTime(), getRatio()))
+			sampleCount++;
+		disposeIfCompleted();
 	}
 
 	public long getActiveTime() {
@@ -132,7 +163,7 @@ public class RemainingTimeMonitor implements ChangeListener {
 	 * @since 1.2.2
 	 */
 	public synchronized boolean hasNewerEstimation() {
-		return lastSampleUsed != samples.getLast();
+		return lastSampleCountUsed != sampleCount;
 	}
 
 	/**
@@ -156,36 +187,19 @@ public class RemainingTimeMonitor implements ChangeListener {
 	 * @return Remaining time in milliseconds of the task underlying the {@link BoundedRangeModel}
 	 */
 	public synchronized long getRemainingTime() {
-		if (!hasNewerEstimation()) {
-			if (lastRemainingTimeResult == -1 || lastRemainingTimeResult == Long.MAX_VALUE)
-				return lastRemainingTimeResult;
-			return Math.max(0L, lastRemainingTimeResult - (System.currentTimeMillis() - whenLastRemainingTimeResult));
-		}
-
-		if (samples.isEmpty()) {
-			lastRemainingTimeResult = -1;
-			whenLastRemainingTimeResult = System.currentTimeMillis();
-			lastSampleUsed = null;
-			return -1L;
-		}
+		lastSampleCountUsed = sampleCount;
 
+		if (!active)
+			return lastRemainingTimeResult;
 		if (disposeIfCompleted())
 			return 0;
 
-		double currRatio = getRatio();
-		float advance = 0f;
-		long time = 0L;
+		long remaining = estimator.getRemainingTime(System.nanoTime());
 
-		for (int i = 0; i < samples.size(); i++) {
-			lastSampleUsed = samples.get(i);
+		if (remaining == -1 || remaining == Long.MAX_VALUE)
+			return remaining;
 
-			advance += lastSampleUsed.getAdvance();
-			time += lastSampleUsed.getDuration();
-		}
-
-		double remRatio = 1.0 - currRatio;
-		whenLastRemainingTimeResult = System.currentTimeMillis();
-		return lastRemainingTimeResult = advance < 0.0001f ? Long.MAX_VALUE : (long)((1f / advance) * time * remRatio);
+		return TimeUnit.NANOSECONDS.toMillis(remaining);
 	}
 
 	/**
@@ -230,38 +244,48 @@ public class RemainingTimeMonitor implements ChangeListener {
 	}
 
 	/**
-	 * Store the advance progression of the underlying task for a given duration. Some most recents samples are holded
-	 * for estimate the remaining time by extrapolation of the total amount of advance by the duration it took.
+	 * Built-in remaining time estimators.
 	 */
-	private static class Sample {
-		private final long startTime;
-		private final double startRatio;
-
-		private long duration;
-		private double advance;
-		private long endTime;
-
-		public Sample(double ratio) {
-			startTime = System.currentTimeMillis();
-			startRatio = ratio;
-		}
-
-		public void end(double ratio) {
-			endTime = System.currentTimeMillis();
-			duration = endTime - startTime;
-			advance = ratio - startRatio;
-		}
-
-		public long getDuration() {
-			return this.duration;
-		}
-
-		public double getAdvance() {
-			return advance;
-		}
-
-		public long getStartTime() {
-			return startTime;
+	public enum Mode {
+		/**
+		 * Average advance speed of last 10 samples, each sample takes at least 1s (100ms for first samples)
+		 * 
+		 * @see SlidingWindowEstimator
+		 */
+		SAMPLES,
+		/**
+		 * Exponentially weighted moving average of the advance speed with time constant 10s
+		 * 
+		 * @see EwmaEstimator
+		 */
+		EWMA,
+		/**
+		 * Least-squares regression of last 20 observations
+		 * 
+		 * @see RegressionEstimator
+		 */
+		REGRESSION,
+		/**
+		 * Holt double exponential smoothing of the advance
+		 * 
+		 * @see HoltEstimator
+		 */
+		HOLT;
+
+		/**
+		 * Creates a new estimator of this mode with default parameters.
+		 */
+		public RemainingTimeEstimator createEstimator() {
+			switch (this) {
+			case EWMA:
+				return new EwmaEstimator();
+			case REGRESSION:
+				return new RegressionEstimator();
+			case HOLT:
+				return new HoltEstimator();
+			default:
+				return new SlidingWindowEstimator();
+			}
 		}
 	}
 }
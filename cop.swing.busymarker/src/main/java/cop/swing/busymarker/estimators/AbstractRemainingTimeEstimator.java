@@ -0,0 +1,62 @@
+package cop.swing.busymarker.estimators;
+
+/**
+ * Base estimator that extrapolates the remaining time from the estimated advance speed: the time to complete the rest
+ * of the task since the last observation minus the time elapsed since the last observation.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public abstract class AbstractRemainingTimeEstimator implements RemainingTimeEstimator {
+	private boolean observed;
+	private long lastTime;
+	private double lastRatio;
+
+	/**
+	 * Add a new observation of the task advance.
+	 *
+	 * @param time time of the observation in nanoseconds
+	 * @param ratio advance of the task in range [0 ~ 1]
+	 * @param first <code>true</code> if this is the first observation after creation or reset
+	 * @return <code>true</code> if the estimated speed was changed by this observation
+	 */
+	protected abstract boolean update(long time, double ratio, boolean first);
+
+	/**
+	 * Returns the estimated advance speed.
+	 *
+	 * @return ratio per nanosecond or <code>NaN</code> if it's not known yet
+	 */
+	protected abstract double getSpeed();
+
+	protected abstract void onReset();
+
+	// ========== RemainingTimeEstimator ==========
+
+	public final boolean update(long time, double ratio) {
+		boolean first = !observed;
+
+		observed = true;
+		lastTime = time;
+		lastRatio = ratio;
+
+		return update(time, ratio, first);
+	}
+
+	public final long getRemainingTime(long time) {
+		double speed = observed ? getSpeed() : Double.NaN;
+
+		if (Double.isNaN(speed))
+			return -1;
+		if (speed <= 0)
+			return Long.MAX_VALUE;
+
+		double remaining = (1 - lastRatio) / speed - (time - lastTime);
+		return remaining >= Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(0, (long)remaining);
+	}
+
+	public final void reset() {
+		observed = false;
+		onReset();
+	}
+}
@@ -0,0 +1,77 @@
+package cop.swing.busymarker.estimators;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimator that keeps an exponentially weighted moving average of the advance speed, updated on each observation in
+ * <code>O(1)</code>.
+ * <p>
+ * The weight of a new speed is <code>1 - exp(-dt / timeConstant)</code>, where <code>dt</code> is the time since the
+ * previous observation, so the average doesn't depend on how frequently observations come.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class EwmaEstimator extends AbstractRemainingTimeEstimator {
+	private final double timeConstant;
+	private final long initialDelay;
+
+	private long prvTime;
+	private double prvRatio;
+	/** ratio per nanosecond or <code>NaN</code> if it's not known yet */
+	private double speed = Double.NaN;
+
+	/**
+	 * Creates an estimator with time constant <strong>10s</strong>; the first speed is measured for at least
+	 * <strong>100ms</strong>.
+	 */
+	public EwmaEstimator() {
+		this(10000, 100);
+	}
+
+	/**
+	 * @param timeConstant time constant of the average in milliseconds
+	 * @param initialDelay minimum duration of the first speed measure in milliseconds
+	 */
+	public EwmaEstimator(long timeConstant, long initialDelay) {
+		if (timeConstant <= 0)
+			throw new IllegalArgumentException("timeConstant should be positive");
+
+		this.timeConstant = TimeUnit.MILLISECONDS.toNanos(timeConstant);
+		this.initialDelay = TimeUnit.MILLISECONDS.toNanos(initialDelay);
+	}
+
+	// ========== AbstractRemainingTimeEstimator ==========
+
+	@Override
+	protected boolean update(long time, double ratio, boolean first) {
+		long delay = time - prvTime;
+
+		if (!first) {
+			if (delay <= 0 || Double.isNaN(speed) && delay < initialDelay)
+				return false;
+
+			double curr = (ratio - prvRatio) / delay;
+
+			if (Double.isNaN(speed))
+				speed = curr;
+			else
+				speed += (1 - Math.exp(-delay / timeConstant)) * (curr - speed);
+		}
+
+		prvTime = time;
+		prvRatio = ratio;
+
+		return !first;
+	}
+
+	@Override
+	protected double getSpeed() {
+		return speed;
+	}
+
+	@Override
+	protected void onReset() {
+		speed = Double.NaN;
+	}
+}
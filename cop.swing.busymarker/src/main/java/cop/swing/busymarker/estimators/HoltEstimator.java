@@ -0,0 +1,83 @@
+package cop.swing.busymarker.estimators;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimator with Holt double exponential smoothing of the advance: it smoothes both the level of the advance and its
+ * trend, i.e. the advance speed. Unlike a plain moving average of the speed, it follows a steady acceleration or
+ * slowdown of the task without lag.
+ * <p>
+ * Observations come at irregular intervals, so smoothing factors depend on the time since the previous observation:
+ * <code>1 - exp(-dt / timeConstant)</code>.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class HoltEstimator extends AbstractRemainingTimeEstimator {
+	private final double levelTimeConstant;
+	private final double trendTimeConstant;
+	private final long delay;
+
+	private long prvTime;
+	private double level;
+	/** ratio per nanosecond or <code>NaN</code> if it's not known yet */
+	private double trend = Double.NaN;
+
+	/**
+	 * Creates an estimator with time constants <strong>2s</strong> for the level and <strong>10s</strong> for the
+	 * trend; observations are taken at least each <strong>250ms</strong>.
+	 */
+	public HoltEstimator() {
+		this(2000, 10000, 250);
+	}
+
+	/**
+	 * @param levelTimeConstant time constant of the level smoothing in milliseconds
+	 * @param trendTimeConstant time constant of the trend smoothing in milliseconds
+	 * @param delay minimum delay between observations in milliseconds
+	 */
+	public HoltEstimator(long levelTimeConstant, long trendTimeConstant, long delay) {
+		if (levelTimeConstant <= 0 || trendTimeConstant <= 0)
+			throw new IllegalArgumentException("time constants should be positive");
+
+		this.levelTimeConstant = TimeUnit.MILLISECONDS.toNanos(levelTimeConstant);
+		this.trendTimeConstant = TimeUnit.MILLISECONDS.toNanos(trendTimeConstant);
+		this.delay = Math.max(1, TimeUnit.MILLISECONDS.toNanos(delay));
+	}
+
+	// ========== AbstractRemainingTimeEstimator ==========
+
+	@Override
+	protected boolean update(long time, double ratio, boolean first) {
+		long dt = time - prvTime;
+
+		if (first)
+			level = ratio;
+		else if (dt < delay)
+			return false;
+		else if (Double.isNaN(trend)) {
+			trend = (ratio - level) / dt;
+			level = ratio;
+		} else {
+			double alpha = 1 - Math.exp(-dt / levelTimeConstant);
+			double beta = 1 - Math.exp(-dt / trendTimeConstant);
+			double prvLevel = level;
+
+			level = alpha * ratio + (1 - alpha) * (level + trend * dt);
+			trend = beta * (level - prvLevel) / dt + (1 - beta) * trend;
+		}
+
+		prvTime = time;
+		return !first;
+	}
+
+	@Override
+	protected double getSpeed() {
+		return trend;
+	}
+
+	@Override
+	protected void onReset() {
+		trend = Double.NaN;
+	}
+}
@@ -0,0 +1,100 @@
+package cop.swing.busymarker.estimators;
+
+import java.util.concurrent.TimeUnit;
+
+import cop.swing.SampleRingBuffer;
+
+/**
+ * Estimator that fits a line to the last observations of the advance (least-squares regression); the slope of the line
+ * is the advance speed.
+ * <p>
+ * Observations are taken not more often than the given minimum delay, so the window covers at least
+ * <code>size * delay</code> of the task.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class RegressionEstimator extends AbstractRemainingTimeEstimator {
+	/** observations: time and ratio */
+	private final SampleRingBuffer points;
+	private final long delay;
+
+	private long prvTime;
+	/** ratio per nanosecond or <code>NaN</code> if it's not known yet */
+	private double speed = Double.NaN;
+
+	/**
+	 * Creates an estimator with 20 observations taken at least each <strong>500ms</strong>.
+	 */
+	public RegressionEstimator() {
+		this(20, 500);
+	}
+
+	/**
+	 * @param size number of observations
+	 * @param delay minimum delay between observations in milliseconds
+	 */
+	public RegressionEstimator(int size, long delay) {
+		if (size < 2)
+			throw new IllegalArgumentException("size can't be less than 2");
+
+		points = new SampleRingBuffer(size);
+		this.delay = TimeUnit.MILLISECONDS.toNanos(delay);
+	}
+
+	// ========== AbstractRemainingTimeEstimator ==========
+
+	@Override
+	protected boolean update(long time, double ratio, boolean first) {
+		if (!first && time - prvTime < delay)
+			return false;
+
+		prvTime = time;
+		points.add(time, ratio);
+
+		if (points.size() < 2)
+			return false;
+
+		speed = getSlope();
+		return true;
+	}
+
+	@Override
+	protected double getSpeed() {
+		return speed;
+	}
+
+	@Override
+	protected void onReset() {
+		points.clear();
+		speed = Double.NaN;
+	}
+
+	/**
+	 * Times are taken relatively to the oldest observation, so they fit into <code>double</code> without losing
+	 * precision.
+	 */
+	private double getSlope() {
+		int total = points.size();
+		long first = points.getTime(0);
+		double meanTime = 0;
+		double meanRatio = points.getValueSum() / total;
+
+		for (int i = 0; i < total; i++)
+			meanTime += points.getTime(i) - first;
+
+		meanTime /= total;
+
+		double sxy = 0;
+		double sxx = 0;
+
+		for (int i = 0; i < total; i++) {
+			double dt = points.getTime(i) - first - meanTime;
+
+			sxy += dt * (points.getValue(i) - meanRatio);
+			sxx += dt * dt;
+		}
+
+		return sxx > 0 ? sxy / sxx : Double.NaN;
+	}
+}
@@ -0,0 +1,45 @@
+package cop.swing.busymarker.estimators;
+
+/**
+ * Strategy of remaining time estimation used by {@link cop.swing.busymarker.RemainingTimeMonitor}.
+ * <p>
+ * An estimator receives observations of the task advance (time and ratio) and extrapolates the time left to complete
+ * the task. All times are in nanoseconds of a monotonic clock (e.g. {@link System#nanoTime()}), so an estimator can be
+ * driven by a real model as well as by a recorded trace.
+ * <p>
+ * Built-in estimators:
+ * <ul>
+ * <li>{@link SlidingWindowEstimator} - average speed of the last samples</li>
+ * <li>{@link EwmaEstimator} - exponentially weighted moving average of the speed</li>
+ * <li>{@link RegressionEstimator} - least-squares regression of the last observations</li>
+ * <li>{@link HoltEstimator} - Holt double exponential smoothing of the advance</li>
+ * </ul>
+ * Estimators are not thread safe.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public interface RemainingTimeEstimator {
+	/**
+	 * Add a new observation of the task advance.
+	 *
+	 * @param time time of the observation in nanoseconds, not less than the time of the previous observation
+	 * @param ratio advance of the task in range [0 ~ 1]
+	 * @return <code>true</code> if the estimation was changed by this observation
+	 */
+	boolean update(long time, double ratio);
+
+	/**
+	 * Returns the estimated remaining time of the task.
+	 *
+	 * @param time current time in nanoseconds
+	 * @return remaining time in nanoseconds, <code>-1</code> if there are not enough observations or
+	 *         <code>Long.MAX_VALUE</code> if the task doesn't advance
+	 */
+	long getRemainingTime(long time);
+
+	/**
+	 * Forget all observations.
+	 */
+	void reset();
+}
@@ -0,0 +1,77 @@
+package cop.swing.busymarker.estimators;
+
+import java.util.concurrent.TimeUnit;
+
+import cop.swing.SampleRingBuffer;
+
+/**
+ * Estimator that splits observations into samples of a minimum duration and uses the average advance speed of the last
+ * samples. First samples are shorter, so the first estimation is available quickly.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class SlidingWindowEstimator extends AbstractRemainingTimeEstimator {
+	private static final int INITIAL_SAMPLES = 5;
+	/** total advance of all samples below that the task is considered as not advancing */
+	private static final double MINIMUM_ADVANCE = 0.0001;
+
+	/** closed samples: duration and advance of the ratio */
+	private final SampleRingBuffer samples;
+	private final long sampleDelay;
+	private final long initialSampleDelay;
+
+	private long sampleStartTime;
+	private double sampleStartRatio;
+
+	/**
+	 * Creates an estimator with 10 samples of <strong>1s</strong> (<strong>100ms</strong> for first samples).
+	 */
+	public SlidingWindowEstimator() {
+		this(10, 1000, 100);
+	}
+
+	/**
+	 * @param size number of samples
+	 * @param sampleDelay minimum duration of a sample in milliseconds
+	 * @param initialSampleDelay minimum duration of first samples in milliseconds
+	 */
+	public SlidingWindowEstimator(int size, long sampleDelay, long initialSampleDelay) {
+		samples = new SampleRingBuffer(size);
+		this.sampleDelay = TimeUnit.MILLISECONDS.toNanos(sampleDelay);
+		this.initialSampleDelay = TimeUnit.MILLISECONDS.toNanos(initialSampleDelay);
+	}
+
+	// ========== AbstractRemainingTimeEstimator ==========
+
+	@Override
+	protected boolean update(long time, double ratio, boolean first) {
+		long delay = time - sampleStartTime;
+
+		if (!first) {
+			if (delay < sampleDelay && (samples.size() >= INITIAL_SAMPLES || delay < initialSampleDelay))
+				return false;
+
+			samples.add(delay, ratio - sampleStartRatio);
+		}
+
+		sampleStartTime = time;
+		sampleStartRatio = ratio;
+
+		return !first;
+	}
+
+	@Override
+	protected double getSpeed() {
+		if (samples.isEmpty())
+			return Double.NaN;
+
+		double advance = samples.getValueSum();
+		return advance < MINIMUM_ADVANCE ? 0 : advance / samples.getTimeSum();
+	}
+
+	@Override
+	protected void onReset() {
+		samples.clear();
+	}
+}
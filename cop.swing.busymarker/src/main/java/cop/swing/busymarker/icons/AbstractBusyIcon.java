@@ -1,14 +1,18 @@
 package cop.swing.busymarker.icons;
 
 import java.awt.AlphaComposite;
+import java.awt.Color;
 import java.awt.Component;
+import java.awt.Composite;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.GraphicsConfiguration;
-import java.awt.GraphicsEnvironment;
-import java.awt.Transparency;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.lang.ref.WeakReference;
 import java.util.Iterator;
@@ -16,16 +20,21 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.BoundedRangeModel;
-import javax.swing.Timer;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import javax.swing.event.EventListenerList;
 
+import cop.swing.busymarker.AnimationTimer;
+import cop.swing.busymarker.metrics.BusyMetrics;
+import cop.swing.busymarker.metrics.FrameProfiler;
 import cop.swing.busymarker.models.BusyModel;
 import cop.swing.busymarker.models.BusyState;
 import cop.swing.busymarker.models.EmptyBusyModel;
+import cop.swing.painters.SpriteSheet;
+import cop.swing.utils.GraphicsUtils;
 
 /**
  * An implementation of the {@link BusyIcon} interface to serve as a basis for implementing various kinds of Busy Icons.
@@ -36,6 +45,10 @@ import cop.swing.busymarker.models.EmptyBusyModel;
  * <li>Common implementation for storing either a simple {@link BoundedRangeModel} or a more featured {@link BusyModel}</li>
  * <li>Buffer Image cache for optimize repaint's event from {@link BoundedRangeModel} changes :
  * {@link #setUseCache(boolean)}, {@link #getSignificantRatioOffset()}</li>
+ * <li>Process-wide sharing of rendered frames between icons with the same configuration: {@link #getFrameCacheKey()},
+ * {@link IconFrameCache}</li>
+ * <li>Allocation free repaint of the buffer image: its graphics is kept open between frames, and
+ * {@link #isSpriteSupported(Graphics)} tells subclasses when a pre-rendered {@link SpriteSheet} frame can be used</li>
  * <li>Automatic frame rate mecanism for render undeterminate state animation :
  * {@link #setUndeterminateFrameRate(int, int)}</li>
  * <li>Provide a {@link #repaint(boolean)} for subclasses uses when they needs to send a repaint event</li>
@@ -93,16 +106,24 @@ public abstract class AbstractBusyIcon implements BusyIcon, ActionListener, Chan
 
 	private BusyModel model = EmptyBusyModel.getInstance();
 	private BufferedImage image;
+	/** graphics of the buffer image, kept open between frames */
+	private Graphics2D imageGraphics;
+	private GraphicsState imageState;
+	/** key of the last frame taken from the {@link IconFrameCache} */
+	private IconFrameCache.FrameKey frameKey;
+	private ChangeEvent changeEvent;
 	private double lastRatio = -1;
 	private BusyState lastStateFlag;
 	private boolean discarded;
 
 	private int undeterminateFrameRate;
-	private final Timer undeterminateTimer = new Timer(0, this);
+	private final AnimationTimer undeterminateTimer = new AnimationTimer(0, this);
 
 	private int frameCount;
 	private int frame;
 
+	private volatile FrameProfiler profiler = FrameProfiler.isEnabledByDefault() ? createProfiler() : null;
+
 	protected final EventListenerList listenerList = new EventListenerList();
 
 	/**
@@ -205,6 +226,36 @@ public abstract class AbstractBusyIcon implements BusyIcon, ActionListener, Chan
 		this.undeterminateFrameRate = delay;
 		this.frameCount = frameCount;
 		refreshUndeterminateTimer();
+
+		if (profiler != null)
+			profiler.setTargetPeriod(TimeUnit.MILLISECONDS.toNanos(delay));
+	}
+
+	/**
+	 * Define if paints of this icon are profiled with a {@link FrameProfiler}. Profiling is enabled by default if the
+	 * system property {@value FrameProfiler#PROPERTY} is set.
+	 * 
+	 * @param enabled <code>true</code> to profile paints
+	 */
+	public void setProfilingEnabled(boolean enabled) {
+		if (!enabled)
+			profiler = null;
+		else if (profiler == null)
+			profiler = createProfiler();
+	}
+
+	private FrameProfiler createProfiler() {
+		return new FrameProfiler(getClass().getSimpleName() + '@' + Integer.toHexString(System.identityHashCode(this)),
+				TimeUnit.MILLISECONDS.toNanos(undeterminateFrameRate));
+	}
+
+	/**
+	 * Returns the profiler of this icon.
+	 * 
+	 * @return profiler or <code>null</code> if profiling is disabled
+	 */
+	public final FrameProfiler getProfiler() {
+		return profiler;
 	}
 
 	/**
@@ -225,37 +276,165 @@ public abstract class AbstractBusyIcon implements BusyIcon, ActionListener, Chan
 	 * @param y Upper left corner (vertical value)
 	 */
 	public final void paintIcon(Component comp, Graphics g, int x, int y) {
+		FrameProfiler profiler = this.profiler;
+		long start = profiler != null ? System.nanoTime() : 0;
+
 		if (listenerList.getListenerCount(ChangeListener.class) == 0)
 			register(comp);
 
-		updateImage();
-
 		boolean busy = model.isBusy();
 		boolean determinate = busy && isDeterminate();
 		double ratio = determinate ? getRatio() : 0;
 		int frame = Math.max(0, this.frame);
 
-		if (!isCacheUpToDate(busy, determinate, ratio)) {
-			Graphics2D g2d = image.createGraphics();
+		if (!paintSharedFrame(comp, g, x, y, busy, determinate, ratio, frame)) {
+			updateImage();
 
-			g2d.setComposite(AlphaComposite.Clear);
-			g2d.fillRect(0, 0, getIconWidth(), getIconHeight());
-			g2d.setPaintMode();
+			if (!isCacheUpToDate(busy, determinate, ratio)) {
+				paintImage(comp, getImageGraphics(), image.getWidth(), image.getHeight(), busy, determinate, ratio,
+						frame);
 
-			if (busy) {
-				if (determinate)
-					paintDeterminate(comp, g2d, 0, 0, ratio);
-				else
-					paintUndeterminate(comp, g2d, 0, 0, frame);
+				lastRatio = ratio;
+				lastStateFlag = BusyState.parseBusyState(busy, determinate);
+				discarded = false;
+				countFrame(false);
 			} else
-				paintIdle(comp, g2d, 0, 0);
+				countFrame(true);
 
-			lastRatio = ratio;
-			lastStateFlag = BusyState.parseBusyState(busy, determinate);
-			discarded = false;
+			g.drawImage(image, x, y, comp);
 		}
 
-		g.drawImage(image, x, y, comp);
+		if (profiler != null)
+			profiler.paintFinished(start, busy && !determinate);
+	}
+
+	/**
+	 * Paint this icon using a frame from {@link IconFrameCache} shared with all icons with the same configuration.
+	 * 
+	 * @return <code>false</code> if this icon doesn't support shared frames
+	 */
+	private boolean paintSharedFrame(Component comp, Graphics g, int x, int y, boolean busy, boolean determinate,
+			double ratio, int frame) {
+		Object config = getFrameCacheKey();
+		float offset = getSignificantRatioOffset();
+
+		if (config == null || determinate && offset <= 0)
+			return false;
+
+		int index = !busy ? 0 : determinate ? (int)(ratio / offset) : frame;
+		BusyState state = BusyState.parseBusyState(busy, determinate);
+		IconFrameCache cache = IconFrameCache.getInstance();
+		IconFrameCache.FrameKey key = frameKey;
+
+		if (key == null || !key.matches(getClass(), config, state, index, getIconWidth(), getIconHeight()))
+			frameKey = key = new IconFrameCache.FrameKey(getClass(), config, state, index, getIconWidth(),
+					getIconHeight());
+
+		BufferedImage img = cache.get(key);
+
+		if (img == null) {
+			img = createImage(getIconWidth(), getIconHeight());
+			paintImage(comp, img, busy, determinate, Math.min(1, index * offset), frame);
+			cache.put(key, img);
+			countFrame(false);
+		} else
+			countFrame(true);
+
+		lastRatio = ratio;
+		lastStateFlag = state;
+		discarded = false;
+
+		g.drawImage(img, x, y, comp);
+		return true;
+	}
+
+	private void paintImage(Component comp, BufferedImage img, boolean busy, boolean determinate, double ratio,
+			int frame) {
+		Graphics2D g2d = img.createGraphics();
+
+		try {
+			paintImage(comp, g2d, img.getWidth(), img.getHeight(), busy, determinate, ratio, frame);
+		} finally {
+			g2d.dispose();
+		}
+	}
+
+	private void paintImage(Component comp, Graphics2D g2d, int width, int height, boolean busy, boolean determinate,
+			double ratio, int frame) {
+		g2d.setComposite(AlphaComposite.Clear);
+		g2d.fillRect(0, 0, width, height);
+		g2d.setPaintMode();
+
+		if (!busy) {
+			paintIdle(comp, g2d, 0, 0);
+			return;
+		}
+
+		FrameProfiler profiler = this.profiler;
+		long start = profiler != null ? System.nanoTime() : 0;
+
+		if (determinate)
+			paintDeterminate(comp, g2d, 0, 0, ratio);
+		else
+			paintUndeterminate(comp, g2d, 0, 0, frame);
+
+		if (profiler != null)
+			profiler.renderFinished(start, determinate);
+	}
+
+	private void countFrame(boolean cacheHit) {
+		if (cacheHit)
+			BusyMetrics.ICON_CACHE_HITS.increment();
+		else
+			BusyMetrics.ICON_FRAMES.increment();
+
+		if (profiler == null)
+			return;
+		if (cacheHit)
+			profiler.cacheHit();
+		else
+			profiler.cacheMiss();
+	}
+
+	/**
+	 * Returns the graphics of the buffer image in the state it was created with. The graphics is kept open until the
+	 * buffer image is replaced, so painting a frame doesn't create a new one; everything a frame could change (transform,
+	 * clip, paint, composite, stroke, font and rendering hints) is restored before the next frame.
+	 */
+	private Graphics2D getImageGraphics() {
+		if (imageGraphics == null) {
+			imageGraphics = image.createGraphics();
+			imageState = new GraphicsState(imageGraphics);
+		} else
+			imageState.restore(imageGraphics);
+
+		return imageGraphics;
+	}
+
+	/**
+	 * Indicate if a {@link SpriteSheet} frame can be painted on the given graphics instead of painting it directly, i.e.
+	 * the graphics is not scaled or rotated. This check is free for the graphics of the buffer image of this icon.
+	 * 
+	 * @param g graphics to paint on
+	 * @return <code>true</code> if a sprite can be used
+	 */
+	protected final boolean isSpriteSupported(Graphics g) {
+		return g == imageGraphics || g instanceof Graphics2D && SpriteSheet.isSupported((Graphics2D)g);
+	}
+
+	/**
+	 * Returns a key describing the whole configuration of this icon that has an influence on the painted pixels (size
+	 * excepted). Icons of the same class with equal keys share their rendered frames through the {@link IconFrameCache}
+	 * instead of rendering them into their own buffer image.
+	 * <p>
+	 * The key must implement <code>equals()</code> and <code>hashCode()</code> by value and must change whenever the
+	 * configuration changes. This method is called on each paint, so the same key object should be returned as long as
+	 * the configuration doesn't change. By default this method returns <code>null</code>, i.e. frames are not shared.
+	 * 
+	 * @return configuration key or <code>null</code> if frames of this icon cannot be shared
+	 */
+	protected Object getFrameCacheKey() {
+		return null;
 	}
 
 	/**
@@ -289,10 +468,16 @@ public abstract class AbstractBusyIcon implements BusyIcon, ActionListener, Chan
 	}
 
 	protected void notifyListeners() {
-		ChangeEvent event = new ChangeEvent(this);
+		Object[] listeners = listenerList.getListenerList();
 
-		for (ChangeListener listener : listenerList.getListeners(ChangeListener.class))
-			listener.stateChanged(event);
+		for (int i = 0; i < listeners.length; i += 2) {
+			if (listeners[i] != ChangeListener.class)
+				continue;
+			if (changeEvent == null)
+				changeEvent = new ChangeEvent(this);
+
+			((ChangeListener)listeners[i + 1]).stateChanged(changeEvent);
+		}
 	}
 
 	public final BusyModel getModel() {
@@ -318,8 +503,15 @@ public abstract class AbstractBusyIcon implements BusyIcon, ActionListener, Chan
 	}
 
 	private void updateImage() {
-		if (image == null || image.getWidth() != getIconWidth() || image.getHeight() != getIconHeight())
-			image = createImage(getIconWidth(), getIconHeight());
+		if (image != null && image.getWidth() == getIconWidth() && image.getHeight() == getIconHeight())
+			return;
+
+		if (imageGraphics != null)
+			imageGraphics.dispose();
+
+		image = createImage(getIconWidth(), getIconHeight());
+		imageGraphics = null;
+		imageState = null;
 	}
 
 	/**
@@ -421,12 +613,66 @@ public abstract class AbstractBusyIcon implements BusyIcon, ActionListener, Chan
 			onModelChanged();
 	}
 
+	// ========== GraphicsState ==========
+
+	/**
+	 * Initial state of the graphics of the buffer image.
+	 */
+	private static final class GraphicsState {
+		private final AffineTransform transform;
+		private final Paint paint;
+		private final Color background;
+		private final Composite composite;
+		private final Stroke stroke;
+		private final Font font;
+		private final RenderingHints hints;
+
+		GraphicsState(Graphics2D g2d) {
+			transform = g2d.getTransform();
+			paint = g2d.getPaint();
+			background = g2d.getBackground();
+			composite = g2d.getComposite();
+			stroke = g2d.getStroke();
+			font = g2d.getFont();
+			hints = (RenderingHints)g2d.getRenderingHints().clone();
+		}
+
+		void restore(Graphics2D g2d) {
+			g2d.setTransform(transform);
+			g2d.setClip(null);
+			g2d.setPaint(paint);
+			g2d.setBackground(background);
+			g2d.setComposite(composite);
+			g2d.setStroke(stroke);
+			g2d.setFont(font);
+			g2d.setRenderingHints(hints);
+		}
+	}
+
 	// ========== static ==========
 
 	protected static BufferedImage createImage(int width, int height) {
-		GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-		GraphicsConfiguration gc = ge.getDefaultScreenDevice().getDefaultConfiguration();
+		return GraphicsUtils.createCompatibleTranslucentImage(width, height);
+	}
+
+	/**
+	 * Check if the given method of the base class is overridden by the class or one of its superclasses below the base
+	 * class.
+	 * 
+	 * @param cls class to check
+	 * @param base class declaring the method
+	 * @param name method name
+	 * @param types method parameter types
+	 * @return <code>true</code> if the method is overridden
+	 */
+	static boolean isOverridden(Class<?> cls, Class<?> base, String name, Class<?>... types) {
+		for (; cls != null && cls != base; cls = cls.getSuperclass()) {
+			try {
+				cls.getDeclaredMethod(name, types);
+				return true;
+			} catch(NoSuchMethodException ignored) {}
+		}
 
-		return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+		return false;
 	}
 }
@@ -2,12 +2,15 @@ package cop.swing.busymarker.icons;
 
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Composite;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.LinearGradientPaint;
 import java.awt.Paint;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.util.Arrays;
 
 import javax.swing.Icon;
 import javax.swing.UIManager;
@@ -15,7 +18,9 @@ import javax.swing.UIManager;
 import cop.swing.busymarker.models.BusyModel;
 import cop.swing.painters.Painter;
 import cop.swing.painters.RectanglePainter;
+import cop.swing.painters.SpriteSheet;
 import cop.swing.utils.ColorUtils;
+import cop.swing.utils.GraphicsUtils;
 
 /**
  * Default {@link BusyIcon} implementation that paint an icon and draw on overlay a <b>small progress bar</b>.
@@ -42,6 +47,11 @@ import cop.swing.utils.ColorUtils;
  * <li>{@link #installDefaultProgressBarColors()} : Install default colors of the progress bar</li>
  * </ul>
  * <p>
+ * All frames of the undeterminate progress bar are rendered once into a {@link SpriteSheet}, shared by icons with the
+ * same progress bar bounds and colors; painting an undeterminate frame copies the frame from it and doesn't allocate
+ * anything. The default background painter is cached as an image as well. Subclasses overriding the progress bar paint
+ * methods don't use sprites: each frame is painted by these methods.
+ * <p>
  * If you need to change in a more depth the painting process, you can as the last step, to override our delegates
  * paint's methods:
  * <ul>
@@ -73,12 +83,27 @@ public class DefaultBusyIcon extends BusyIconDecorator {
 	 */
 	private static final int FRAME_EXTENDS = Math.round((0.33f / FRAME_STEP_RATIO));
 
+	/**
+	 * The number of frames of the undeterminate animation (forward and backward moves)
+	 */
+	private static final int FRAMES_COUNT = (FRAMES - FRAME_EXTENDS) * 2;
+
 	private boolean backgroundPainted = true;
 	private Painter<?> backgroundPainter;
 
 	private Paint barBackground;
 	private Paint barForeground;
 	private Rectangle barBounds = new Rectangle(0, 0, 10, 10);
+	private SpriteSheet barSprite;
+	private boolean barSpriteValid;
+	/** sprites are rendered without a component, so they are used only if the progress bar hooks are not overridden */
+	private final boolean barSpriteSupported = !isOverridden(getClass(), DefaultBusyIcon.class, "paintProgressBar",
+			Component.class, Graphics.class, Rectangle.class, boolean.class)
+			&& !isOverridden(getClass(), DefaultBusyIcon.class, "paintProgressBarAdvance", Component.class,
+					Graphics.class, Rectangle.class, boolean.class, double.class, double.class);
+	/** an overridden background hook gets its own copy of the graphics */
+	private final boolean backgroundOverridden = isOverridden(getClass(), DefaultBusyIcon.class, "paintBackground",
+			Component.class, Graphics.class);
 
 	private int delay = 1000;
 
@@ -125,25 +150,15 @@ public class DefaultBusyIcon extends BusyIconDecorator {
 	 */
 	@Override
 	protected final void paintUndeterminate(Component c, Graphics g, int x, int y, int frame) {
-		/**
-		 * Exemple: - FRAMES = 5 , FRAME_EXTENDS = 2 - FramesCount = (FRAMES - FRAME_EXTENDS) * 2 == (5-2) * 2 == 6 -
-		 * FramesRange = [0 ~ 5 ] For Frames [ 0 , 1 , 2 ] : Foreward way >> frame #0 : [ X X - - - ] >> start = 0 ==
-		 * #frame >> frame #1 : [ - X X - - ] >> start = 1 == #frame >> frame #2 : [ - - X X - ] >> start = 2 == #frame
-		 * For Frames [ 3 , 4 , 5 ] : Backward way >> frame #3 : [ - - - X X ] >> start = 3 == Abs( #frame - FramesCount
-		 * ) == 3 >> frame #4 : [ - - X X - ] >> start = 2 == Abs( #frame - FramesCount ) == 2 >> frame #5 : [ - X X - -
-		 * ] >> start = 1 == Abs( #frame - FramesCount ) == 1
-		 */
-
-		int forewardFramesCount = FRAMES - FRAME_EXTENDS;
-		int framesCount = forewardFramesCount * 2;
-		if (frame >= forewardFramesCount) {
-			frame = Math.abs(frame - framesCount);
-		}
+		paintIdle(c, g, x, y);
 
-		float start = frame * FRAME_STEP_RATIO;
-		float end = start + (FRAME_EXTENDS * FRAME_STEP_RATIO);
+		SpriteSheet sheet = isSpriteSupported(g) ? getBarSprite() : null;
 
-		paintImpl(c, g, x, y, false, start, end);
+		if (sheet != null) {
+			Rectangle bounds = getProgressBarBounds();
+			sheet.paintFrame((Graphics2D)g, frame, x + bounds.x, y + bounds.y);
+		} else
+			paintUndeterminateBar(c, g, x, y, frame);
 	}
 
 	/**
@@ -167,7 +182,8 @@ public class DefaultBusyIcon extends BusyIconDecorator {
 	 */
 	@Override
 	protected final void paintDeterminate(Component c, Graphics g, int x, int y, double ratio) {
-		paintImpl(c, g, x, y, true, 0, ratio);
+		paintIdle(c, g, x, y);
+		paintBar(c, g, x, y, true, 0, ratio);
 	}
 
 	/**
@@ -187,26 +203,71 @@ public class DefaultBusyIcon extends BusyIconDecorator {
 	@Override
 	protected final void paintIdle(Component c, Graphics g, int x, int y) {
 		if (isBackgroundPainted()) {
-			Graphics2D g2d = (Graphics2D)g.create();
-			try {
-				g2d.translate(x, y);
-				paintBackground(c, g2d);
-			} finally {
-				g2d.dispose();
-			}
+			if (backgroundOverridden)
+				paintBackgroundCopy(c, g, x, y);
+			else
+				paintDefaultBackground(c, (Graphics2D)g, x, y);
 		}
 
 		/**
 		 * Paint the decorated icon
 		 */
+		paintDecoratedIcon(g, x, y);
+	}
+
+	/**
+	 * Paint the background overridden by a subclass on a copy of the graphics, so whatever it changes (clip, transform,
+	 * composite, ...) doesn't leak into {@link #paintDecoratedIcon(Graphics, int, int)}.
+	 */
+	private void paintBackgroundCopy(Component c, Graphics g, int x, int y) {
 		Graphics2D g2d = (Graphics2D)g.create();
+
 		try {
-			paintDecoratedIcon(g2d, x, y);
+			g2d.translate(x, y);
+			paintBackground(c, g2d);
 		} finally {
 			g2d.dispose();
 		}
 	}
 
+	/**
+	 * Paint the default background without a copy of the graphics. It changes only rendering hints, paint, composite and
+	 * stroke; they are restored from references taken before, so nothing is allocated.
+	 */
+	private void paintDefaultBackground(Component c, Graphics2D g2d, int x, int y) {
+		Paint paint = g2d.getPaint();
+		Composite composite = g2d.getComposite();
+		Stroke stroke = g2d.getStroke();
+		Object antialiasing = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+		Object interpolation = g2d.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+
+		g2d.translate(x, y);
+
+		try {
+			paintBackground(c, g2d);
+		} finally {
+			g2d.translate(-x, -y);
+			g2d.setPaint(paint);
+			g2d.setComposite(composite);
+			g2d.setStroke(stroke);
+
+			if (antialiasing != null)
+				g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+			g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation != null ? interpolation
+					: getDefaultInterpolation(g2d));
+		}
+	}
+
+	/**
+	 * Returns the interpolation used when no interpolation hint is set: bilinear for quality rendering, nearest neighbor
+	 * otherwise.
+	 */
+	static Object getDefaultInterpolation(Graphics2D g2d) {
+		if (RenderingHints.VALUE_RENDER_QUALITY.equals(g2d.getRenderingHint(RenderingHints.KEY_RENDERING)))
+			return RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+		return RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+	}
+
 	/**
 	 * Define the delay (in milliseconds) for the <strong>undeterminate capsule</strong> to move completly inside the
 	 * progress bar.
@@ -219,7 +280,7 @@ public class DefaultBusyIcon extends BusyIconDecorator {
 		 * Fix the frame rate for the undeterminate rate
 		 */
 		final float framesCount = (FRAMES - FRAME_EXTENDS) + 1;
-		setUndeterminateFrameRate(Math.round(delay / framesCount), (FRAMES - FRAME_EXTENDS) * 2);
+		setUndeterminateFrameRate(Math.round(delay / framesCount), FRAMES_COUNT);
 		this.delay = delay;
 	}
 
@@ -316,6 +377,7 @@ public class DefaultBusyIcon extends BusyIconDecorator {
 	 */
 	protected void setProgressBarBounds(Rectangle bounds) {
 		this.barBounds = bounds;
+		barSpriteValid = false;
 	}
 
 	/**
@@ -325,8 +387,10 @@ public class DefaultBusyIcon extends BusyIconDecorator {
 	public void setProgressBarBackground(Paint background) {
 		Paint old = this.barBackground;
 		this.barBackground = background;
-		if (old != this.barBackground)
+		if (old != this.barBackground) {
+			barSpriteValid = false;
 			repaint(true);
+		}
 	}
 
 	/**
@@ -345,8 +409,10 @@ public class DefaultBusyIcon extends BusyIconDecorator {
 	public void setProgressBarForeground(Paint foreground) {
 		Paint old = this.barForeground;
 		this.barForeground = foreground;
-		if (old != this.barForeground)
+		if (old != this.barForeground) {
+			barSpriteValid = false;
 			repaint(true);
+		}
 	}
 
 	/**
@@ -380,6 +446,7 @@ public class DefaultBusyIcon extends BusyIconDecorator {
 		painter.setFillPaint(gradient);
 		painter.setBorderWidth(1);
 		painter.setBorderPaint(color);
+		painter.setCacheable(true);
 
 		return painter;
 	}
@@ -483,50 +550,76 @@ public class DefaultBusyIcon extends BusyIconDecorator {
 	}
 
 	/**
-	 * Private paint implementation that deleguate all paint business to:
+	 * Paint the undeterminate progress bar for the given frame.
+	 */
+	private void paintUndeterminateBar(Component c, Graphics g, int x, int y, int frame) {
+		/**
+		 * Exemple: - FRAMES = 5 , FRAME_EXTENDS = 2 - FramesCount = (FRAMES - FRAME_EXTENDS) * 2 == (5-2) * 2 == 6 -
+		 * FramesRange = [0 ~ 5 ] For Frames [ 0 , 1 , 2 ] : Foreward way >> frame #0 : [ X X - - - ] >> start = 0 ==
+		 * #frame >> frame #1 : [ - X X - - ] >> start = 1 == #frame >> frame #2 : [ - - X X - ] >> start = 2 == #frame
+		 * For Frames [ 3 , 4 , 5 ] : Backward way >> frame #3 : [ - - - X X ] >> start = 3 == Abs( #frame - FramesCount
+		 * ) == 3 >> frame #4 : [ - - X X - ] >> start = 2 == Abs( #frame - FramesCount ) == 2 >> frame #5 : [ - X X - -
+		 * ] >> start = 1 == Abs( #frame - FramesCount ) == 1
+		 */
+
+		int forewardFramesCount = FRAMES - FRAME_EXTENDS;
+		if (frame >= forewardFramesCount) {
+			frame = Math.abs(frame - FRAMES_COUNT);
+		}
+
+		float start = frame * FRAME_STEP_RATIO;
+		float end = start + (FRAME_EXTENDS * FRAME_STEP_RATIO);
+
+		paintBar(c, g, x, y, false, start, end);
+	}
+
+	/**
+	 * Private paint implementation of the progress bar that deleguate all paint business to:
 	 * <ul>
-	 * <li>{@link #paintBackground(Component,Graphics)}</li>
-	 * <li>{@link #paintDecoratedIcon(java.awt.Component, java.awt.Graphics, int, int)}</li>
 	 * <li>{@link #paintProgressBar(java.awt.Component, java.awt.Graphics, java.awt.Rectangle, boolean)}</li>
 	 * <li>
 	 * {@link #paintProgressBarAdvance(java.awt.Component, java.awt.Graphics, java.awt.Rectangle, boolean, float, float)}
 	 * </li>
 	 * </ul>
+	 * Both are clipped by the progress bar bounds.
 	 */
-	private void paintImpl(Component c, Graphics g, int x, int y, boolean determinate, double start, double end) {
-		/**
-		 * Paint the progress bar
-		 */
+	private void paintBar(Component c, Graphics g, int x, int y, boolean determinate, double start, double end) {
+		Rectangle bounds = getProgressBarBounds();
 		Graphics2D g2d = (Graphics2D)g.create();
-		try {
-			paintIdle(c, g, x, y);
-		} finally {
-			g2d.dispose();
-		}
 
-		/**
-		 * Paint the progress bar
-		 */
-		g2d = (Graphics2D)g.create();
 		try {
 			g2d.translate(x, y);
-			g2d.setClip(getProgressBarBounds());
-			paintProgressBar(c, g, getProgressBarBounds(), determinate);
+			g2d.clipRect(bounds.x, bounds.y, bounds.width, bounds.height);
+			paintProgressBar(c, g2d, bounds, determinate);
+			paintProgressBarAdvance(c, g2d, bounds, determinate, start, end);
 		} finally {
 			g2d.dispose();
 		}
+	}
 
-		/**
-		 * Paint the progress bar advance
-		 */
-		g2d = (Graphics2D)g.create();
-		try {
-			g2d.translate(x, y);
-			g2d.setClip(getProgressBarBounds());
-			paintProgressBarAdvance(c, g, getProgressBarBounds(), determinate, start, end);
-		} finally {
-			g2d.dispose();
-		}
+	/**
+	 * Returns the shared sprite sheet with all frames of the undeterminate progress bar, rendered with the
+	 * {@link #paintProgressBar(Component, Graphics, Rectangle, boolean)} and
+	 * {@link #paintProgressBarAdvance(Component, Graphics, Rectangle, boolean, double, double)}.
+	 * 
+	 * @return sprite sheet or <code>null</code> if the progress bar is too big to be cached or a subclass paints it
+	 */
+	private SpriteSheet getBarSprite() {
+		if (barSpriteValid || !barSpriteSupported)
+			return barSprite;
+
+		final Rectangle bounds = new Rectangle(getProgressBarBounds());
+		Object key = Arrays.asList(getClass(), bounds, GraphicsUtils.getPaintKey(barBackground),
+				GraphicsUtils.getPaintKey(barForeground));
+
+		barSprite = SpriteSheet.get(key, bounds.width, bounds.height, FRAMES_COUNT, new SpriteSheet.FrameRenderer() {
+			public void paintFrame(Graphics2D g2d, int frame) {
+				paintUndeterminateBar(null, g2d, -bounds.x, -bounds.y, frame);
+			}
+		});
+		barSpriteValid = true;
+
+		return barSprite;
 	}
 
 	/**
@@ -0,0 +1,231 @@
+package cop.swing.busymarker.icons;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import cop.swing.busymarker.models.BusyState;
+
+/**
+ * Process-wide cache of rendered frames of {@link AbstractBusyIcon}s.
+ * <p>
+ * Icons with equal configuration (see {@link AbstractBusyIcon#getFrameCacheKey()}) share the same rendered frames:
+ * each frame is rendered only once, whatever the number of icons showing it. A frame is identified by the icon class,
+ * the configuration key, the {@link BusyState}, the frame number (<code>undeterminate</code> state) or the quantized
+ * ratio (<code>determinate</code> state) and the icon size.
+ * <p>
+ * The cache is bounded by the total number of pixels of all cached frames and evicts the least recently used frames
+ * first. Frames are also held by soft references, so they can be reclaimed by the GC under memory pressure.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class IconFrameCache {
+	/** default maximum size: 256 frames of 64x64 pixels */
+	public static final int DEF_MAXIMUM_SIZE = 256 * 64 * 64;
+
+	private static final IconFrameCache INSTANCE = new IconFrameCache();
+
+	private final Map<FrameKey, Entry> frames = new LinkedHashMap<FrameKey, Entry>(64, 0.75f, true);
+
+	private long maximumSize = DEF_MAXIMUM_SIZE;
+	private long size;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public static IconFrameCache getInstance() {
+		return INSTANCE;
+	}
+
+	private IconFrameCache() {}
+
+	synchronized BufferedImage get(FrameKey key) {
+		Entry entry = frames.get(key);
+		BufferedImage image = entry != null ? entry.get() : null;
+
+		if (image != null) {
+			hits++;
+			return image;
+		}
+
+		if (entry != null) {
+			frames.remove(key);
+			size -= entry.pixels;
+			evictions++;
+		}
+
+		misses++;
+		return null;
+	}
+
+	synchronized void put(FrameKey key, BufferedImage image) {
+		Entry entry = new Entry(image);
+
+		if (entry.pixels > maximumSize)
+			return;
+
+		Entry prev = frames.put(key, entry);
+
+		if (prev != null)
+			size -= prev.pixels;
+
+		size += entry.pixels;
+		trimToSize();
+	}
+
+	private void trimToSize() {
+		Iterator<Entry> it = frames.values().iterator();
+
+		while (size > maximumSize && it.hasNext()) {
+			size -= it.next().pixels;
+			it.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Define the maximum total number of pixels of all cached frames.
+	 *
+	 * @param maximumSize maximum size in pixels, <code>0</code> disables the cache
+	 */
+	public synchronized void setMaximumSize(long maximumSize) {
+		this.maximumSize = Math.max(0, maximumSize);
+		trimToSize();
+	}
+
+	public synchronized long getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Returns current total number of pixels of all cached frames.
+	 *
+	 * @return current size in pixels
+	 */
+	public synchronized long getSize() {
+		return size;
+	}
+
+	public synchronized int getFrameCount() {
+		return frames.size();
+	}
+
+	public synchronized long getHitCount() {
+		return hits;
+	}
+
+	public synchronized long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Returns number of frames removed from the cache because of the size limit or reclaimed by the GC.
+	 *
+	 * @return number of evicted frames
+	 */
+	public synchronized long getEvictionCount() {
+		return evictions;
+	}
+
+	public synchronized void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	public synchronized void clear() {
+		frames.clear();
+		size = 0;
+	}
+
+	// ========== Object ==========
+
+	@Override
+	public synchronized String toString() {
+		return getClass().getSimpleName() + "[frames=" + frames.size() + ",size=" + size + ",hits=" + hits
+				+ ",misses=" + misses + ",evictions=" + evictions + "]";
+	}
+
+	// ========== Entry ==========
+
+	private static final class Entry extends SoftReference<BufferedImage> {
+		private final long pixels;
+
+		Entry(BufferedImage image) {
+			super(image);
+			pixels = (long)image.getWidth() * image.getHeight();
+		}
+	}
+
+	// ========== FrameKey ==========
+
+	static final class FrameKey {
+		private final Class<?> cls;
+		private final Object config;
+		private final BusyState state;
+		private final int index;
+		private final int width;
+		private final int height;
+		private final int hash;
+
+		/**
+		 * @param cls icon class
+		 * @param config icon configuration key
+		 * @param state icon state
+		 * @param index frame number or quantized ratio; <code>0</code> for <code>idle</code> state
+		 * @param width icon width
+		 * @param height icon height
+		 */
+		FrameKey(Class<?> cls, Object config, BusyState state, int index, int width, int height) {
+			this.cls = cls;
+			this.config = config;
+			this.state = state;
+			this.index = index;
+			this.width = width;
+			this.height = height;
+			hash = getHash();
+		}
+
+		/**
+		 * Check if this key describes the given frame. The configuration key is compared by identity, icons are
+		 * expected to return the same configuration key object as long as their configuration doesn't change.
+		 */
+		boolean matches(Class<?> cls, Object config, BusyState state, int index, int width, int height) {
+			return this.cls == cls && this.config == config && this.state == state && this.index == index
+					&& this.width == width && this.height == height;
+		}
+
+		private int getHash() {
+			int result = cls.hashCode();
+			result = 31 * result + config.hashCode();
+			result = 31 * result + state.hashCode();
+			result = 31 * result + index;
+			result = 31 * result + width;
+			return 31 * result + height;
+		}
+
+		// ========== Object ==========
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof FrameKey))
+				return false;
+
+			FrameKey other = (FrameKey)obj;
+
+			return hash == other.hash && cls == other.cls && state == other.state && index == other.index
+					&& width == other.width && height == other.height && config.equals(other.config);
+		}
+	}
+}
@@ -118,6 +118,8 @@ public class InfiniteBusyIcon extends AbstractBusyIcon {
 
 	/**
 	 * Define a new {@link InfiniteBusyPainter} to use by this icon.<br>
+	 * Frames of this icon are shared through the {@link IconFrameCache}, so the sprite cache of the painter is
+	 * disabled to not keep the same frames twice.
 	 * 
 	 * @param painter New BusyPainter to use by this icon.
 	 */
@@ -126,6 +128,10 @@ public class InfiniteBusyIcon extends AbstractBusyIcon {
 			return;
 
 		this.painter = painter;
+
+		if (painter != null)
+			painter.setSpriteCacheEnabled(false);
+
 		int delay = (this.painter != null) ? this.delay : 0;
 		int frameCount = (this.painter != null) ? this.painter.getPoints() : 0;
 
@@ -196,6 +202,14 @@ public class InfiniteBusyIcon extends AbstractBusyIcon {
 
 	// ========== AbstractBusyIcon ==========
 
+	/**
+	 * Icons with painters of the same configuration share their frames
+	 */
+	@Override
+	protected Object getFrameCacheKey() {
+		return painter != null ? painter.getConfigurationKey(width, height) : null;
+	}
+
 	/**
 	 * Since this icon render only undeterminate state, this method has no really interrest. we return arbitrary 0.01f
 	 * (1%) offset
@@ -8,13 +8,16 @@ import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.RadialGradientPaint;
 import java.awt.RenderingHints;
+import java.util.Arrays;
 
 import javax.swing.Icon;
 import javax.swing.UIManager;
 
 import cop.swing.busymarker.models.BusyModel;
 import cop.swing.busymarker.plaf.BusyPaneUI;
+import cop.swing.painters.SpriteSheet;
 import cop.swing.utils.ColorUtils;
+import cop.swing.utils.GraphicsUtils;
 
 /**
  * {@link BusyIcon} drawing a <strong>radial</strong> progress bar (circle) below the decorated icon<br>
@@ -38,6 +41,11 @@ import cop.swing.utils.ColorUtils;
  * <li>{@link #installDefaults()}: Install default settings</li>
  * </ul>
  * <p>
+ * All frames of the undeterminate progress bar and the empty determinate progress bar are rendered once into
+ * {@link SpriteSheet}s, shared by icons with the same size, diameter, thickness and colors; painting an undeterminate
+ * frame copies the frame from it and doesn't allocate anything. Subclasses overriding the progress bar paint methods
+ * don't use sprites: each frame is painted by these methods.
+ * <p>
  * If you need to change in a more depth the painting process, you can as the last step, to override our delegates
  * paint's methods:
  * <ul>
@@ -60,12 +68,29 @@ public class RadialBusyIcon extends BusyIconDecorator {
 	private static final int UNDETERMINATE_ARC_LENGTH = 360;
 	private static final int UNDETERMINATE_RADIAL_INSETS = 0;
 
+	/**
+	 * The number of frames of the undeterminate animation (one turn)
+	 */
+	private static final int FRAMES = 36;
+
 	private Paint backgroundPaint;
 	private Paint foregroundPaint;
 	private int diameter = 0;
 	private int thickness = 0;
 	private int delay = 200;
 
+	private SpriteSheet barSprite;
+	private SpriteSheet ringSprite;
+	private boolean barSpriteRendered;
+	private boolean ringSpriteRendered;
+	private int spriteWidth;
+	private int spriteHeight;
+	/** sprites are rendered without a component, so they are used only if the progress bar hooks are not overridden */
+	private final boolean spriteSupported = !isOverridden(getClass(), RadialBusyIcon.class, "paintProgressBar",
+			Component.class, Graphics.class, boolean.class)
+			&& !isOverridden(getClass(), RadialBusyIcon.class, "paintProgressBarAdvance", Component.class,
+					Graphics.class, boolean.class, double.class, double.class);
+
 	private int undeterminateAdvanceLength = UIManager.getInt(BusyPaneUI.BI_UNDETERMINATE_ADVANCE_LENGTH);
 
 	/**
@@ -88,6 +113,7 @@ public class RadialBusyIcon extends BusyIconDecorator {
 	
 	public final void setUndeterminateAdvanceLength(int length) {
 		undeterminateAdvanceLength = length;
+		invalidateSprites();
 	}
 
 	/**
@@ -109,9 +135,14 @@ public class RadialBusyIcon extends BusyIconDecorator {
 	 */
 	@Override
 	protected final void paintUndeterminate(Component c, Graphics g, int x, int y, int frame) {
-		double start = frame / 36d;
-		double end = start + undeterminateAdvanceLength / 360d;
-		paintImpl(c, g, x, y, false, start, end);
+		SpriteSheet sheet = isSpriteSupported(g) ? getBarSprite() : null;
+
+		if (sheet != null)
+			sheet.paintFrame((Graphics2D)g, frame, x + getUpperLeftX(), y + getUpperLeftY());
+		else
+			paintUndeterminateBar(c, g, x, y, frame);
+
+		paintDecoratedIcon(g, x, y);
 	}
 
 	/**
@@ -133,7 +164,8 @@ public class RadialBusyIcon extends BusyIconDecorator {
 	 */
 	@Override
 	protected final void paintDeterminate(Component c, Graphics g, int x, int y, double ratio) {
-		paintImpl(c, g, x, y, true, 0, ratio);
+		paintBar(c, g, x, y, true, 0, ratio);
+		paintDecoratedIcon(g, x, y);
 	}
 
 	/**
@@ -267,7 +299,7 @@ public class RadialBusyIcon extends BusyIconDecorator {
 	 *            inside the progress bar
 	 */
 	public void setDelay(int delay) {
-		this.setUndeterminateFrameRate(Math.round(delay / 36f), 36);
+		this.setUndeterminateFrameRate(Math.round(delay / (float)FRAMES), FRAMES);
 		this.delay = delay;
 	}
 
@@ -291,8 +323,10 @@ public class RadialBusyIcon extends BusyIconDecorator {
 	protected void setProgressBarDiameter(int diameter) {
 		int old = getProgressBarDiameter();
 		this.diameter = diameter;
-		if (old != getProgressBarDiameter())
+		if (old != getProgressBarDiameter()) {
+			invalidateSprites();
 			repaint(true);
+		}
 	}
 
 	/**
@@ -312,8 +346,10 @@ public class RadialBusyIcon extends BusyIconDecorator {
 	protected void setProgressBarThickness(int thickness) {
 		int old = getProgressBarThickness();
 		this.thickness = thickness;
-		if (old != getProgressBarThickness())
+		if (old != getProgressBarThickness()) {
+			invalidateSprites();
 			repaint(true);
+		}
 	}
 
 	/**
@@ -334,6 +370,7 @@ public class RadialBusyIcon extends BusyIconDecorator {
 			return;
 
 		this.backgroundPaint = backgroundPaint;
+		invalidateSprites();
 		repaint(true);
 	}
 
@@ -355,6 +392,7 @@ public class RadialBusyIcon extends BusyIconDecorator {
 			return;
 
 		this.foregroundPaint = foregroundPaint;
+		invalidateSprites();
 		repaint(true);
 	}
 
@@ -381,45 +419,131 @@ public class RadialBusyIcon extends BusyIconDecorator {
 	}
 
 	/**
-	 * Private paint implementation that deleguate all paint business to:
+	 * Paint the undeterminate progress bar for the given frame.
+	 */
+	private void paintUndeterminateBar(Component c, Graphics g, int x, int y, int frame) {
+		double start = frame / (double)FRAMES;
+		double end = start + undeterminateAdvanceLength / 360d;
+		paintBar(c, g, x, y, false, start, end);
+	}
+
+	/**
+	 * Private paint implementation of the progress bar that deleguate all paint business to:
 	 * <ul>
 	 * <li>{@link #paintProgressBar(java.awt.Component, java.awt.Graphics, boolean)}</li>
 	 * <li>{@link #paintProgressBarAdvance(java.awt.Component, java.awt.Graphics, boolean, float, float)}</li>
-	 * <li>{@link #paintDecoratedIcon(java.awt.Component, java.awt.Graphics, int, int)}</li>
 	 * </ul>
+	 * The empty determinate progress bar is copied from a sprite when possible.
 	 */
-	private void paintImpl(Component c, Graphics g, int x, int y, boolean determinate, double start, double end) {
-		/**
-		 * Paint the empty progress bar
-		 */
+	private void paintBar(Component c, Graphics g, int x, int y, boolean determinate, double start, double end) {
+		SpriteSheet ring = determinate && isSpriteSupported(g) ? getRingSprite() : null;
 		Graphics2D g2d = (Graphics2D)g.create();
+
 		try {
 			g2d.translate(x, y);
-			paintProgressBar(c, g, determinate);
+
+			if (ring != null)
+				ring.paintFrame(g2d, 0, getUpperLeftX(), getUpperLeftY());
+			else
+				paintProgressBar(c, g2d, determinate);
+
+			paintProgressBarAdvance(c, g2d, determinate, start, end);
 		} finally {
 			g2d.dispose();
 		}
+	}
 
-		/**
-		 * Paint the advance
-		 */
-		g2d = (Graphics2D)g.create();
-		try {
-			g2d.translate(x, y);
-			paintProgressBarAdvance(c, g, determinate, start, end);
-		} finally {
-			g2d.dispose();
+	/**
+	 * Returns the shared sprite sheet with all frames of the undeterminate progress bar, rendered with the
+	 * {@link #paintProgressBar(Component, Graphics, boolean)} and
+	 * {@link #paintProgressBarAdvance(Component, Graphics, boolean, double, double)}.
+	 * 
+	 * @return sprite sheet or <code>null</code> if the progress bar is too big to be cached or a subclass paints it
+	 */
+	private SpriteSheet getBarSprite() {
+		validateSprites();
+
+		if (barSprite == null && !barSpriteRendered && spriteSupported) {
+			final int x = getUpperLeftX();
+			final int y = getUpperLeftY();
+			Object key = Arrays.asList(getSpriteKey(), undeterminateAdvanceLength, GraphicsUtils
+					.getPaintKey(foregroundPaint));
+
+			int size = getProgressBarDiameter();
+
+			barSprite = SpriteSheet.get(key, size, size, FRAMES, new SpriteSheet.FrameRenderer() {
+				public void paintFrame(Graphics2D g2d, int frame) {
+					paintUndeterminateBar(null, g2d, -x, -y, frame);
+				}
+			});
+			barSpriteRendered = true;
 		}
 
-		/**
-		 * Paint the decorated icon
-		 */
-		g2d = (Graphics2D)g.create();
-		try {
-			paintDecoratedIcon(g, x, y);
-		} finally {
-			g2d.dispose();
+		return barSprite;
+	}
+
+	/**
+	 * Returns the shared sprite sheet with the empty determinate progress bar, rendered with the
+	 * {@link #paintProgressBar(Component, Graphics, boolean)}.
+	 * 
+	 * @return sprite sheet or <code>null</code> if the progress bar is too big to be cached or a subclass paints it
+	 */
+	private SpriteSheet getRingSprite() {
+		validateSprites();
+
+		if (ringSprite == null && !ringSpriteRendered && spriteSupported) {
+			final int x = getUpperLeftX();
+			final int y = getUpperLeftY();
+			int size = getProgressBarDiameter();
+
+			ringSprite = SpriteSheet.get(getSpriteKey(), size, size, 1, new SpriteSheet.FrameRenderer() {
+				public void paintFrame(Graphics2D g2d, int frame) {
+					g2d.translate(-x, -y);
+					paintProgressBar(null, g2d, true);
+				}
+			});
+			ringSpriteRendered = true;
 		}
+
+		return ringSprite;
+	}
+
+	/**
+	 * Returns a key with all parameters of the empty progress bar.
+	 */
+	private Object getSpriteKey() {
+		return Arrays.asList(getClass(), getIconWidth(), getIconHeight(), getProgressBarDiameter(),
+				getProgressBarThickness(), GraphicsUtils.getPaintKey(backgroundPaint));
+	}
+
+	/**
+	 * Sprites depend on the size of this icon, that is changed with the decorated icon or the insets.
+	 */
+	private void validateSprites() {
+		if (spriteWidth != getIconWidth() || spriteHeight != getIconHeight()) {
+			invalidateSprites();
+			spriteWidth = getIconWidth();
+			spriteHeight = getIconHeight();
+		}
+	}
+
+	private void invalidateSprites() {
+		barSprite = null;
+		ringSprite = null;
+		barSpriteRendered = false;
+		ringSpriteRendered = false;
+	}
+
+	/**
+	 * Compute the upper left corner where draw the progress bar We compute it in regards to center the progress bar
+	 * inside this icon
+	 */
+	private int getUpperLeftX() {
+		return (getIconWidth() - getProgressBarDiameter()) / 2;
+	}
+
+	private int getUpperLeftY() {
+		return (getIconHeight() - getProgressBarDiameter()) / 2;
 	}
 
 	/**
@@ -0,0 +1,212 @@
+package cop.swing.busymarker.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of metrics of the busymarker layer: counters of events and paints, total times and gauges.
+ * <p>
+ * Metrics are available with the pull API ({@link #getValues()}) and as attributes of the platform MBean
+ * <code>cop.swing.busymarker:type=BusyMetrics</code> ({@link #registerMBean()}). Counters are updated only while
+ * metrics are enabled with {@link #setEnabled(boolean)} or with the system property
+ * <code>-Dcop.swing.busymarker.metrics=true</code>, that registers the MBean as well.
+ * <p>
+ * Built-in metrics (times are in nanoseconds):
+ * <ul>
+ * <li><code>model.events</code> - state change events fired by all {@link cop.swing.busymarker.models.DefaultBusyModel}s;
+ * each model counts its own events as well:
+ * {@link cop.swing.busymarker.models.DefaultBusyModel#getStateChangedEventCount()}</li>
+ * <li><code>model.invokeLater</code> - events posted to the EDT because they were fired on another thread</li>
+ * <li><code>model.coalesced</code> - off-EDT state changes merged into a pending event</li>
+ * <li><code>model.dispatchTime</code> - time spent in change listeners</li>
+ * <li><code>icon.frames</code> - frames painted by {@link cop.swing.busymarker.icons.AbstractBusyIcon}</li>
+ * <li><code>icon.cacheHits</code> - icon paints served from a buffer or a shared frame</li>
+ * <li><code>ui.timerTicks</code> - animation timer ticks of {@link cop.swing.busymarker.ui.DefaultBusyLockableUI}</li>
+ * <li><code>ui.locks</code>, <code>ui.lockTime</code> - number and total duration of finished locks of
+ * {@link cop.swing.busymarker.ui.BusyLockableUI}</li>
+ * <li><code>ui.locked</code> - gauge with the number of currently locked UIs</li>
+ * <li><code>model.latency.*</code> - gauges of {@link #EDT_LATENCY}</li>
+ * </ul>
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class BusyMetrics {
+	public static final String PROPERTY = "cop.swing.busymarker.metrics";
+	public static final String OBJECT_NAME = "cop.swing.busymarker:type=BusyMetrics";
+
+	private static final Map<String, Gauge> METRICS = new LinkedHashMap<String, Gauge>();
+	private static final Map<String, String> DESCRIPTIONS = new LinkedHashMap<String, String>();
+
+	private static volatile boolean enabled;
+
+	public static final Counter MODEL_EVENTS = counter("model.events", "State change events fired by models");
+	public static final Counter MODEL_INVOKE_LATER = counter("model.invokeLater", "Events posted to the EDT");
+	public static final Counter MODEL_COALESCED = counter("model.coalesced", "State changes merged into pending events");
+	public static final Counter MODEL_DISPATCH_TIME = counter("model.dispatchTime", "Time in change listeners, ns");
+	public static final Counter ICON_FRAMES = counter("icon.frames", "Frames painted by busy icons");
+	public static final Counter ICON_CACHE_HITS = counter("icon.cacheHits", "Icon paints served from a buffer");
+	public static final Counter UI_TIMER_TICKS = counter("ui.timerTicks", "Animation timer ticks of busy UIs");
+	public static final Counter UI_LOCKS = counter("ui.locks", "Finished locks of busy UIs");
+	public static final Counter UI_LOCK_TIME = counter("ui.lockTime", "Total duration of finished locks, ns");
+
+	/**
+	 * Delays between off-EDT state changes of all {@link cop.swing.busymarker.models.DefaultBusyModel}s and their
+	 * delivery to listeners on the EDT, in nanoseconds. It's updated while metrics are enabled or for models with
+	 * {@link cop.swing.busymarker.models.DefaultBusyModel#setLatencyTrackingEnabled(boolean) latency tracking}.
+	 */
+	public static final LatencyHistogram EDT_LATENCY = new LatencyHistogram();
+
+	static {
+		register("model.latency.count", "Tracked off-EDT state changes", new Gauge() {
+			public long getValue() {
+				return EDT_LATENCY.getCount();
+			}
+		});
+		registerPercentile("model.latency.p50", 50);
+		registerPercentile("model.latency.p99", 99);
+		registerPercentile("model.latency.p999", 99.9);
+		register("model.latency.max", "Max delivery delay of off-EDT state changes, ns", new Gauge() {
+			public long getValue() {
+				return EDT_LATENCY.getMax();
+			}
+		});
+
+		if (Boolean.getBoolean(PROPERTY)) {
+			setEnabled(true);
+
+			try {
+				registerMBean();
+			} catch(JMException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private BusyMetrics() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enable or disable updating of counters. Gauges are always available.
+	 */
+	public static void setEnabled(boolean enabled) {
+		BusyMetrics.enabled = enabled;
+	}
+
+	/**
+	 * Register a gauge; a metric with the same name is replaced.
+	 *
+	 * @param name unique name of the metric, e.g. <code>ui.locked</code>
+	 * @param description human readable description
+	 * @param gauge gauge
+	 */
+	public static void register(String name, String description, Gauge gauge) {
+		if (name == null || gauge == null)
+			throw new NullPointerException();
+
+		synchronized (METRICS) {
+			METRICS.put(name, gauge);
+			DESCRIPTIONS.put(name, description);
+		}
+	}
+
+	/**
+	 * Returns current values of all metrics in the registration order.
+	 *
+	 * @return new map of metric names to values
+	 */
+	public static Map<String, Long> getValues() {
+		Map<String, Long> values = new LinkedHashMap<String, Long>();
+
+		for (Map.Entry<String, Gauge> entry : getMetrics().entrySet())
+			values.put(entry.getKey(), entry.getValue().getValue());
+
+		return values;
+	}
+
+	/**
+	 * Returns the current value of the metric.
+	 *
+	 * @param name name of the metric
+	 * @return value or <code>null</code> if there is no such metric
+	 */
+	public static Long getValue(String name) {
+		Gauge gauge;
+
+		synchronized (METRICS) {
+			gauge = METRICS.get(name);
+		}
+
+		return gauge != null ? gauge.getValue() : null;
+	}
+
+	/**
+	 * Reset all counters and {@link #EDT_LATENCY} to <code>0</code>.
+	 */
+	public static void reset() {
+		for (Gauge gauge : getMetrics().values())
+			if (gauge instanceof Counter)
+				((Counter)gauge).reset();
+
+		EDT_LATENCY.reset();
+	}
+
+	/**
+	 * Register the platform MBean <code>cop.swing.busymarker:type=BusyMetrics</code> with all metrics as attributes, if
+	 * it's not registered yet.
+	 */
+	public static void registerMBean() throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(OBJECT_NAME);
+
+		synchronized (BusyMetrics.class) {
+			if (!server.isRegistered(name))
+				server.registerMBean(new BusyMetricsMBean(), name);
+		}
+	}
+
+	public static void unregisterMBean() throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(OBJECT_NAME);
+
+		synchronized (BusyMetrics.class) {
+			if (server.isRegistered(name))
+				server.unregisterMBean(name);
+		}
+	}
+
+	static Map<String, Gauge> getMetrics() {
+		synchronized (METRICS) {
+			return Collections.unmodifiableMap(new LinkedHashMap<String, Gauge>(METRICS));
+		}
+	}
+
+	static String getDescription(String name) {
+		synchronized (METRICS) {
+			return DESCRIPTIONS.get(name);
+		}
+	}
+
+	private static void registerPercentile(String name, final double percentile) {
+		register(name, percentile + " percentile of delivery delay of off-EDT state changes, ns", new Gauge() {
+			public long getValue() {
+				return EDT_LATENCY.getPercentile(percentile);
+			}
+		});
+	}
+
+	private static Counter counter(String name, String description) {
+		Counter counter = new Counter();
+		register(name, description, counter);
+		return counter;
+	}
+}
@@ -0,0 +1,88 @@
+package cop.swing.busymarker.metrics;
+
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Dynamic MBean with all metrics of {@link BusyMetrics} as read-only <code>long</code> attributes, the
+ * <code>reset</code> operation and the <code>dumpFrames</code> operation that returns {@link FrameProfiler#dump()}.
+ * Metrics registered later appear in the next {@link #getMBeanInfo()}.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+final class BusyMetricsMBean implements DynamicMBean {
+	private static final String RESET = "reset";
+	private static final String DUMP_FRAMES = "dumpFrames";
+
+	// ========== DynamicMBean ==========
+
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		Long value = BusyMetrics.getValue(attribute);
+
+		if (value == null)
+			throw new AttributeNotFoundException(attribute);
+
+		return value;
+	}
+
+	public AttributeList getAttributes(String[] attributes) {
+		AttributeList res = new AttributeList();
+
+		for (String attribute : attributes) {
+			Long value = BusyMetrics.getValue(attribute);
+
+			if (value != null)
+				res.add(new Attribute(attribute, value));
+		}
+
+		return res;
+	}
+
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("Metric '" + attribute.getName() + "' is read-only");
+	}
+
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException,
+			ReflectionException {
+		if (DUMP_FRAMES.equals(actionName))
+			return FrameProfiler.dump();
+		if (!RESET.equals(actionName))
+			throw new ReflectionException(new NoSuchMethodException(actionName));
+
+		BusyMetrics.reset();
+		return null;
+	}
+
+	public MBeanInfo getMBeanInfo() {
+		Map<String, Gauge> metrics = BusyMetrics.getMetrics();
+		MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[metrics.size()];
+		int i = 0;
+
+		for (String name : metrics.keySet())
+			attributes[i++] = new MBeanAttributeInfo(name, long.class.getName(), BusyMetrics.getDescription(name), true,
+					false, false);
+
+		MBeanOperationInfo reset = new MBeanOperationInfo(RESET, "Reset all counters", new MBeanParameterInfo[0],
+				void.class.getName(), MBeanOperationInfo.ACTION);
+		MBeanOperationInfo dumpFrames = new MBeanOperationInfo(DUMP_FRAMES, "Dump frame profilers of icons and UIs",
+				new MBeanParameterInfo[0], String.class.getName(), MBeanOperationInfo.INFO);
+
+		return new MBeanInfo(BusyMetrics.class.getName(), "Metrics of the busymarker layer", attributes, null,
+				new MBeanOperationInfo[] { reset, dumpFrames }, null);
+	}
+}
@@ -0,0 +1,36 @@
+package cop.swing.busymarker.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic metric registered in {@link BusyMetrics}: a number of events or a total time. Updates are ignored while
+ * metrics are {@link BusyMetrics#isEnabled() disabled}, so an instrumented code costs one volatile read.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class Counter implements Gauge {
+	private final AtomicLong value = new AtomicLong();
+
+	Counter() {}
+
+	public void increment() {
+		if (BusyMetrics.isEnabled())
+			value.incrementAndGet();
+	}
+
+	public void add(long delta) {
+		if (BusyMetrics.isEnabled())
+			value.addAndGet(delta);
+	}
+
+	void reset() {
+		value.set(0);
+	}
+
+	// ========== Gauge ==========
+
+	public long getValue() {
+		return value.get();
+	}
+}
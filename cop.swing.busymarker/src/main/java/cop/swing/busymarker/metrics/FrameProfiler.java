@@ -0,0 +1,335 @@
+package cop.swing.busymarker.metrics;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame statistics of one busy icon or one busy UI: number and time of paints, time spent in determinate and
+ * undeterminate rendering and in overlays (the veil of a busy UI), cache hits and frames skipped relative to the target
+ * frame rate.
+ * <p>
+ * A profiler is created by its owner when profiling is enabled (e.g.
+ * {@link cop.swing.busymarker.icons.AbstractBusyIcon#setProfilingEnabled(boolean)}) or for all new owners with the
+ * system property <code>-Dcop.swing.busymarker.profiler=true</code>. All live profilers are available with
+ * {@link #getProfilers()} and can be dumped with {@link #dump(Appendable)} or the <code>dumpFrames</code> operation of
+ * {@link BusyMetrics} MBean.
+ * <p>
+ * A profiler is updated on the EDT only; other threads read approximate values.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class FrameProfiler {
+	public static final String PROPERTY = "cop.swing.busymarker.profiler";
+
+	private static final List<WeakReference<FrameProfiler>> PROFILERS = new LinkedList<WeakReference<FrameProfiler>>();
+	/** references of collected profilers to remove from {@link #PROFILERS} */
+	private static final ReferenceQueue<FrameProfiler> COLLECTED = new ReferenceQueue<FrameProfiler>();
+
+	private volatile String name;
+	private volatile long targetPeriod;
+
+	private volatile long paintCount;
+	private volatile long paintTime;
+	private volatile long maxPaintTime;
+	private volatile long determinateCount;
+	private volatile long determinateTime;
+	private volatile long undeterminateCount;
+	private volatile long undeterminateTime;
+	private volatile long overlayCount;
+	private volatile long overlayTime;
+	private volatile long cacheHits;
+	private volatile long cacheMisses;
+	private volatile long skippedFrames;
+	/** start time of the last animated paint or <code>0</code> */
+	private long lastFrameTime;
+
+	/**
+	 * @param name name of the owner to find it in the dump
+	 * @param targetPeriod target time between frames of animation in nanoseconds, <code>0</code> if unknown
+	 */
+	public FrameProfiler(String name, long targetPeriod) {
+		this.name = name;
+		setTargetPeriod(targetPeriod);
+
+		synchronized (PROFILERS) {
+			Reference<? extends FrameProfiler> ref;
+
+			while ((ref = COLLECTED.poll()) != null)
+				PROFILERS.remove(ref);
+
+			PROFILERS.add(new WeakReference<FrameProfiler>(this, COLLECTED));
+		}
+	}
+
+	/**
+	 * Records one paint of a frame. Paints of animation (e.g. a busy undeterminate icon) are used to count skipped
+	 * frames: an interval between two paints longer than the target period means frames that were not painted.
+	 *
+	 * @param start {@link System#nanoTime()} at the beginning of the paint
+	 * @param animated <code>true</code> if the frame belongs to the running animation
+	 */
+	public void paintFinished(long start, boolean animated) {
+		long time = System.nanoTime() - start;
+
+		paintCount++;
+		paintTime += time;
+
+		if (time > maxPaintTime)
+			maxPaintTime = time;
+
+		long period = targetPeriod;
+
+		if (animated && period > 0 && lastFrameTime != 0) {
+			long interval = start - lastFrameTime;
+
+			if (interval > period + period / 2)
+				skippedFrames += (interval + period / 2) / period - 1;
+		}
+
+		lastFrameTime = animated ? start : 0;
+	}
+
+	/**
+	 * Records rendering of a frame content, e.g. a call of <code>paintDeterminate()</code> or
+	 * <code>paintUndeterminate()</code>.
+	 *
+	 * @param start {@link System#nanoTime()} at the beginning of the rendering
+	 * @param determinate <code>true</code> for determinate rendering
+	 */
+	public void renderFinished(long start, boolean determinate) {
+		long time = System.nanoTime() - start;
+
+		if (determinate) {
+			determinateCount++;
+			determinateTime += time;
+		} else {
+			undeterminateCount++;
+			undeterminateTime += time;
+		}
+	}
+
+	/**
+	 * Records painting of an overlay over the content of the owner, e.g. the veil of a busy UI.
+	 *
+	 * @param start {@link System#nanoTime()} at the beginning of the painting
+	 */
+	public void overlayFinished(long start) {
+		overlayCount++;
+		overlayTime += System.nanoTime() - start;
+	}
+
+	public void cacheHit() {
+		cacheHits++;
+	}
+
+	public void cacheMiss() {
+		cacheMisses++;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Returns target time between frames of animation in nanoseconds.
+	 */
+	public long getTargetPeriod() {
+		return targetPeriod;
+	}
+
+	/**
+	 * @param targetPeriod target time between frames of animation in nanoseconds, <code>0</code> if unknown
+	 */
+	public void setTargetPeriod(long targetPeriod) {
+		this.targetPeriod = Math.max(0, targetPeriod);
+	}
+
+	public long getPaintCount() {
+		return paintCount;
+	}
+
+	/**
+	 * Returns the total time of all paints in nanoseconds.
+	 */
+	public long getPaintTime() {
+		return paintTime;
+	}
+
+	public long getMaxPaintTime() {
+		return maxPaintTime;
+	}
+
+	public long getMeanPaintTime() {
+		long count = paintCount;
+		return count == 0 ? 0 : paintTime / count;
+	}
+
+	public long getDeterminateCount() {
+		return determinateCount;
+	}
+
+	/**
+	 * Returns the total time of determinate rendering in nanoseconds.
+	 */
+	public long getDeterminateTime() {
+		return determinateTime;
+	}
+
+	public long getUndeterminateCount() {
+		return undeterminateCount;
+	}
+
+	/**
+	 * Returns the total time of undeterminate rendering in nanoseconds.
+	 */
+	public long getUndeterminateTime() {
+		return undeterminateTime;
+	}
+
+	public long getOverlayCount() {
+		return overlayCount;
+	}
+
+	/**
+	 * Returns the total time of overlay painting in nanoseconds.
+	 */
+	public long getOverlayTime() {
+		return overlayTime;
+	}
+
+	public long getCacheHits() {
+		return cacheHits;
+	}
+
+	public long getCacheMisses() {
+		return cacheMisses;
+	}
+
+	/**
+	 * Returns the ratio of frames taken from a cache, <code>[0;1]</code>, or <code>-1</code> if there is no cache
+	 * lookups.
+	 */
+	public double getCacheHitRatio() {
+		long hits = cacheHits;
+		long total = hits + cacheMisses;
+		return total == 0 ? -1 : (double)hits / total;
+	}
+
+	public long getSkippedFrames() {
+		return skippedFrames;
+	}
+
+	public void reset() {
+		paintCount = 0;
+		paintTime = 0;
+		maxPaintTime = 0;
+		determinateCount = 0;
+		determinateTime = 0;
+		undeterminateCount = 0;
+		undeterminateTime = 0;
+		overlayCount = 0;
+		overlayTime = 0;
+		cacheHits = 0;
+		cacheMisses = 0;
+		skippedFrames = 0;
+		lastFrameTime = 0;
+	}
+
+	// ========== Object ==========
+
+	@Override
+	public String toString() {
+		double ratio = getCacheHitRatio();
+
+		return String.format("%s: paints=%d, total=%dus, mean=%dus, max=%dus, determinate=%d/%dus, "
+				+ "undeterminate=%d/%dus, overlay=%d/%dus, cacheHits=%s, skipped=%d", name, paintCount,
+				toMicros(paintTime), toMicros(getMeanPaintTime()), toMicros(maxPaintTime), determinateCount,
+				toMicros(determinateTime), undeterminateCount, toMicros(undeterminateTime), overlayCount,
+				toMicros(overlayTime), ratio < 0 ? "n/a" : (int)(ratio * 100) + "%", skippedFrames);
+	}
+
+	// ========== static ==========
+
+	/**
+	 * Returns <code>true</code> if profiling is enabled for all new icons and UIs with the system property
+	 * {@value #PROPERTY}.
+	 */
+	public static boolean isEnabledByDefault() {
+		return Boolean.getBoolean(PROPERTY);
+	}
+
+	/**
+	 * Returns all live profilers, ordered by total paint time, the most expensive first.
+	 *
+	 * @return new list of profilers
+	 */
+	public static List<FrameProfiler> getProfilers() {
+		List<FrameProfiler> res = new ArrayList<FrameProfiler>();
+
+		synchronized (PROFILERS) {
+			for (Iterator<WeakReference<FrameProfiler>> it = PROFILERS.iterator(); it.hasNext(); ) {
+				FrameProfiler profiler = it.next().get();
+
+				if (profiler == null)
+					it.remove();
+				else
+					res.add(profiler);
+			}
+		}
+
+		Collections.sort(res, new Comparator<FrameProfiler>() {
+			public int compare(FrameProfiler one, FrameProfiler two) {
+				long time1 = one.getPaintTime();
+				long time2 = two.getPaintTime();
+				return time1 > time2 ? -1 : time1 < time2 ? 1 : 0;
+			}
+		});
+
+		return res;
+	}
+
+	/**
+	 * Writes all live profilers, one per line, the most expensive first.
+	 *
+	 * @param out destination
+	 */
+	public static void dump(Appendable out) throws IOException {
+		for (FrameProfiler profiler : getProfilers())
+			out.append(profiler.toString()).append('\n');
+	}
+
+	/**
+	 * Returns the dump of all live profilers as a string.
+	 *
+	 * @see #dump(Appendable)
+	 */
+	public static String dump() {
+		StringBuilder buf = new StringBuilder();
+
+		try {
+			dump(buf);
+		} catch(IOException ignored) {
+			// StringBuilder doesn't throw it
+		}
+
+		return buf.toString();
+	}
+
+	private static long toMicros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+}
@@ -0,0 +1,12 @@
+package cop.swing.busymarker.metrics;
+
+/**
+ * Metric with a current value, registered in {@link BusyMetrics}. The value is read on demand by the pull API and JMX,
+ * so it must be cheap to compute and thread safe.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public interface Gauge {
+	long getValue();
+}
@@ -0,0 +1,145 @@
+package cop.swing.busymarker.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies in nanoseconds with log-linear buckets: each power of two range is split into
+ * {@value #SUB_BUCKETS} equal buckets, so a percentile is returned with relative error less than <code>1/16</code>.
+ * Latencies from <code>0</code> to about 36 minutes (<code>2<sup>41</sup></code> ns) are tracked; greater ones are
+ * counted in the last bucket.
+ * <p>
+ * The histogram has a fixed size ({@value #BUCKETS} counters) and is lock-free: {@link #record(long)} can be called by
+ * any number of threads and doesn't allocate anything. Readers may see a histogram being updated, i.e. the total
+ * count can slightly disagree with buckets.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class LatencyHistogram {
+	private static final int SUB_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int MAX_EXP = 40;
+	/** the last bucket counts latencies not less than <code>2<sup>MAX_EXP + 1</sup></code> */
+	private static final int BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB_BUCKETS + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records one latency.
+	 *
+	 * @param nanos latency in nanoseconds, negative values are counted as <code>0</code>
+	 */
+	public void record(long nanos) {
+		nanos = Math.max(0, nanos);
+
+		counts.incrementAndGet(getIndex(nanos));
+		count.incrementAndGet();
+		sum.addAndGet(nanos);
+
+		long curr;
+
+		while (nanos > (curr = max.get()))
+			if (max.compareAndSet(curr, nanos))
+				break;
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Returns the exact maximum latency in nanoseconds.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the exact mean latency in nanoseconds, or <code>0</code> if nothing is recorded.
+	 */
+	public long getMean() {
+		long total = count.get();
+		return total == 0 ? 0 : sum.get() / total;
+	}
+
+	/**
+	 * Returns the latency in nanoseconds that is not exceeded by given percent of recorded latencies, i.e. the upper
+	 * bound of the bucket of this percentile (but not greater than {@link #getMax()}).
+	 *
+	 * @param percentile percentile in range <code>[0;100]</code>, e.g. <code>99.9</code>
+	 * @return latency in nanoseconds, or <code>0</code> if nothing is recorded
+	 */
+	public long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100)
+			throw new IllegalArgumentException("percentile should be in range [0;100]");
+
+		long total = 0;
+
+		for (int i = 0; i < BUCKETS; i++)
+			total += counts.get(i);
+
+		if (total == 0)
+			return 0;
+
+		long rank = Math.max(1, (long)Math.ceil(total * percentile / 100));
+
+		for (int i = 0; i < BUCKETS; i++)
+			if ((rank -= counts.get(i)) <= 0)
+				return Math.min(getUpperBound(i), max.get());
+
+		return max.get();
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++)
+			counts.set(i, 0);
+
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	// ========== Object ==========
+
+	@Override
+	public String toString() {
+		return String.format("count=%d, mean=%dus, p50=%dus, p99=%dus, p99.9=%dus, max=%dus", getCount(),
+				toMicros(getMean()), toMicros(getPercentile(50)), toMicros(getPercentile(99)),
+				toMicros(getPercentile(99.9)), toMicros(getMax()));
+	}
+
+	// ========== static ==========
+
+	static int getIndex(long nanos) {
+		if (nanos < SUB_BUCKETS)
+			return (int)nanos;
+
+		int exp = 63 - Long.numberOfLeadingZeros(nanos);
+
+		if (exp > MAX_EXP)
+			return BUCKETS - 1;
+
+		int sub = (int)(nanos >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	static long getUpperBound(int index) {
+		if (index < SUB_BUCKETS)
+			return index;
+		if (index == BUCKETS - 1)
+			return Long.MAX_VALUE;
+
+		int exp = index / SUB_BUCKETS + SUB_BITS - 1;
+		long sub = SUB_BUCKETS + index % SUB_BUCKETS;
+		return ((sub + 1) << (exp - SUB_BITS)) - 1;
+	}
+
+	private static long toMicros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+}
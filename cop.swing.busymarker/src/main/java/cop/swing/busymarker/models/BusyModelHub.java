@@ -1,10 +1,14 @@
 package cop.swing.busymarker.models;
 
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.BoundedRangeModel;
+import javax.swing.Timer;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
@@ -55,16 +59,49 @@ import javax.swing.event.ChangeListener;
  * <li>{@link #split(BoundedRangeModel, int)} an uniform split (each sub-models have the same weight)</li>
  * <li>{@link #split(BoundedRangeModel, float...)} a non uniform split (each weight are specified by this method)</li>
  * </ul>
+ * <p>
+ * The hub keeps a running sum of weighted sub-model's ratios. A change of one sub-model applies only the difference
+ * of this sub-model to the sum, so the cost of an update does not depend on the number of sub-models. The sum is
+ * recomputed from scratch every {@value #RECALCULATE_INTERVAL} updates, so a rounding error doesn't accumulate.<br>
+ * The rate of master model updates can be limited with {@link #setMaximumUpdateRate(int)}.
+ * <p>
+ * Hubs can be nested with {@link #createHub(int)}: a nested hub takes part on this hub like a sub-model with a weight,
+ * and has its own weighted sub-models (or nested hubs). A change of a leaf sub-model is propagated directly to the
+ * ancestor hubs only, so the cost of an update depends on the depth of the tree and not on the number of models:
+ * 
+ * <pre>
+ * BusyModelHub job = new BusyModelHub(model);
+ * BusyModelHub stage = job.createHub(3);
+ * BusyModelHub partition = stage.createHub(1);
+ * BusyModel file = partition.createModel(1);
+ * </pre>
  * 
  * @author Oleg Cherednik
  * @since 09.04.2012
  */
-public class BusyModelHub implements ChangeListener {
+public class BusyModelHub implements ChangeListener, ActionListener {
+	/** number of incremental updates after which the sum of weighted ratios is computed from scratch */
+	private static final int RECALCULATE_INTERVAL = 1024;
+
 	private final Map<BusyModel, WeightBusyModel> models = new LinkedHashMap<BusyModel, WeightBusyModel>();
 	private BusyModel masterModel;
 	private int totalWeight;
+	/** sum of all sub-model's ratios multiplied by theirs weights */
+	private double weightedRatio;
+	/** number of incremental updates of <code>weightedRatio</code> since the last {@link #recalculate()} */
+	private int updates;
 	private boolean changing;
 
+	/** parent hub when this hub is nested, see {@link #createHub(int)} */
+	private volatile BusyModelHub parent;
+	/** entry of this hub in the parent hub */
+	private volatile WeightBusyModel node;
+	private volatile double ratio;
+
+	private int maxUpdateRate; // updates per second, 0 - unlimited
+	private long lastUpdateTime; // nanoseconds
+	private final Timer updateTimer = createUpdateTimer(this);
+
 	/**
 	 * Create an empty <code>BoundedRangeModelHub</code> without master model.
 	 * <p>
@@ -124,11 +161,38 @@ public class BusyModelHub implements ChangeListener {
 
 			if (this.masterModel == null)
 				for (WeightBusyModel model : models.values())
-					model.getModel().addChangeListener(this);
+					if (model.getHub() == null)
+						model.getModel().addChangeListener(this);
 		}
 
 		this.masterModel = masterModel;
-		stateChanged(null);
+		recalculate();
+		onWeightedRatioChanged(true);
+	}
+
+	/**
+	 * Limit the number of master model's updates per second. Changes of sub-models made within the minimum interval
+	 * since the last update are merged and applied to the master model when this interval is elapsed.<br>
+	 * The final update (when the master model reaches its maximum) is never delayed.
+	 * 
+	 * @param updatesPerSecond maximum number of master model's updates per second, 0 or negative value means no limit
+	 */
+	public synchronized void setMaximumUpdateRate(int updatesPerSecond) {
+		this.maxUpdateRate = Math.max(0, updatesPerSecond);
+
+		if (maxUpdateRate == 0 && updateTimer.isRunning()) {
+			updateTimer.stop();
+			updateMasterModel(true);
+		}
+	}
+
+	/**
+	 * Returns the maximum number of master model's updates per second.
+	 * 
+	 * @return maximum number of master model's updates per second, 0 means no limit
+	 */
+	public synchronized int getMaximumUpdateRate() {
+		return maxUpdateRate;
 	}
 
 	/**
@@ -161,6 +225,53 @@ public class BusyModelHub implements ChangeListener {
 		return addModel(new DefaultBusyModel(), weight);
 	}
 
+	/**
+	 * Create a nested hub with a specified <strong>weight</strong>.<br>
+	 * The nested hub takes part on this hub like a sub-model with the same weight. Its master model is created by this
+	 * method and shouldn't be replaced. Progression of the nested hub is forwarded directly to this hub, without using
+	 * events of its master model.
+	 * 
+	 * @param weight Weight to bound to the newly created hub
+	 * @return The newly created nested hub.
+	 * @throws IllegalArgumentException if <code>weight</code> is negative.
+	 */
+	public synchronized BusyModelHub createHub(int weight) {
+		if (weight < 0)
+			throw new IllegalArgumentException("weight must be positive");
+
+		BusyModelHub hub = new BusyModelHub(new DefaultBusyModel());
+		WeightBusyModel subModel = new WeightBusyModel(hub, weight);
+
+		hub.parent = this;
+		hub.node = subModel;
+		models.put(subModel.getModel(), subModel);
+
+		this.totalWeight += weight;
+		this.weightedRatio += subModel.update();
+		onWeightedRatioChanged(true);
+
+		return hub;
+	}
+
+	/**
+	 * Returns the parent hub of this hub, if this hub was created by {@link #createHub(int)}.
+	 * 
+	 * @return the parent hub or <code>null</code>
+	 */
+	public final BusyModelHub getParent() {
+		return parent;
+	}
+
+	/**
+	 * Returns the current progression of this hub as a ratio [0 ~ 1]. This is the weighted average of all sub-models
+	 * ratios, independent of the master model range.
+	 * 
+	 * @return the current progression of this hub
+	 */
+	public final double getRatio() {
+		return ratio;
+	}
+
 	/**
 	 * Add a {@link BusyModel} as a sub-model with a specified <strong>weight</strong>.<br>
 	 * Any changes that applies from this added sub-model are forwarded to the master model for update it's value.
@@ -197,7 +308,8 @@ public class BusyModelHub implements ChangeListener {
 		models.put(model, subModel);
 
 		this.totalWeight += weight;
-		stateChanged(null);
+		this.weightedRatio += subModel.update();
+		onWeightedRatioChanged(true);
 
 		return model;
 	}
@@ -218,7 +330,14 @@ public class BusyModelHub implements ChangeListener {
 		if (subModel != null) {
 			model.removeChangeListener(this);
 			totalWeight -= subModel.getWeight();
-			stateChanged(null);
+			weightedRatio = models.isEmpty() ? 0 : weightedRatio - subModel.getWeightedRatio();
+
+			if (subModel.getHub() != null) {
+				subModel.getHub().parent = null;
+				subModel.getHub().node = null;
+			}
+
+			onWeightedRatioChanged(true);
 		}
 
 		return model;
@@ -293,7 +412,8 @@ public class BusyModelHub implements ChangeListener {
 		WeightBusyModel weightModel = models.get(model);
 		totalWeight += weight - weightModel.getWeight();
 		weightModel.setWeight(weight);
-		stateChanged(null);
+		weightedRatio += weightModel.update();
+		onWeightedRatioChanged(true);
 	}
 
 	/**
@@ -319,38 +439,147 @@ public class BusyModelHub implements ChangeListener {
 	 */
 	public void dispose() {
 		setMasterModel(null);
+		updateTimer.stop();
 	}
 
-	// ========== ChangeListener ==========
+	/**
+	 * Re-read all sub-models and compute the sum of weighted ratios from scratch. Used when the master model is
+	 * changed and periodically, for discard an accumulated rounding error.
+	 */
+	private void recalculate() {
+		weightedRatio = 0;
+		updates = 0;
+
+		for (WeightBusyModel model : models.values()) {
+			model.update();
+			weightedRatio += model.getWeightedRatio();
+		}
+	}
 
 	/**
-	 * Internal method call when a change apply from a sub-model (or the master model).<br>
-	 * This method must be public because it's a part from the {@link ChangeListener} interface,<br>
-	 * But not should be called directly.
+	 * Apply a change of the sub-model to the sum of weighted ratios.
 	 */
-	public synchronized void stateChanged(ChangeEvent event) {
-		if (changing)
+	private void update(WeightBusyModel subModel) {
+		if (++updates >= RECALCULATE_INTERVAL)
+			recalculate();
+		else
+			weightedRatio += subModel.update();
+	}
+
+	/**
+	 * Update the ratio of this hub, forward it to the parent hub and update the master model.
+	 * 
+	 * @param force <code>true</code> for update the master model without respecting the update rate
+	 */
+	private void onWeightedRatioChanged(boolean force) {
+		ratio = totalWeight > 0 ? Math.max(0, Math.min(1, weightedRatio / totalWeight)) : 0;
+
+		BusyModelHub parent = this.parent;
+		WeightBusyModel node = this.node;
+
+		if (parent != null && node != null)
+			parent.onNestedHubChanged(node);
+
+		updateMasterModel(force);
+	}
+
+	/**
+	 * Internal method call by a nested hub when its ratio was changed.
+	 */
+	private synchronized void onNestedHubChanged(WeightBusyModel node) {
+		if (models.get(node.getModel()) != node)
 			return;
 
-		changing = true;
+		update(node);
+		onWeightedRatioChanged(false);
+	}
 
-		try {
-			if (masterModel == null)
-				return;
+	/**
+	 * Set the master model's value from the current sum of weighted ratios, respecting the
+	 * {@link #getMaximumUpdateRate()}.
+	 * 
+	 * @param force <code>true</code> for update the master model without respecting the update rate
+	 */
+	private void updateMasterModel(boolean force) {
+		if (masterModel == null)
+			return;
 
-			int extent = 0;
+		int value = getMasterValue();
 
-			for (WeightBusyModel model : models.values())
-				extent += model.getExtentPartFor(totalWeight, masterModel);
+		if (value == masterModel.getValue())
+			return;
+
+		if (!force && maxUpdateRate > 0 && value < masterModel.getMaximum() - masterModel.getExtent()) {
+			long delay = lastUpdateTime + TimeUnit.SECONDS.toNanos(1) / maxUpdateRate - System.nanoTime();
+
+			if (delay > 0) {
+				if (!updateTimer.isRunning()) {
+					updateTimer.setInitialDelay((int)Math.max(1, TimeUnit.NANOSECONDS.toMillis(delay)));
+					updateTimer.start();
+				}
+				return;
+			}
+		}
+
+		updateTimer.stop();
+		lastUpdateTime = System.nanoTime();
+		changing = true;
 
-			masterModel.setValue(extent);
+		try {
+			masterModel.setValue(value);
 		} finally {
 			changing = false;
 		}
 	}
 
+	private int getMasterValue() {
+		if (totalWeight <= 0)
+			return 0;
+
+		int length = masterModel.getMaximum() - masterModel.getMinimum() - masterModel.getExtent();
+		return (int)(length * ratio);
+	}
+
+	// ========== ActionListener ==========
+
+	/**
+	 * Internal method call when the delayed master model's update is due.<br>
+	 * This method must be public because it's a part from the {@link ActionListener} interface,<br>
+	 * But not should be called directly.
+	 */
+	public synchronized void actionPerformed(ActionEvent event) {
+		if (event.getSource() == updateTimer)
+			updateMasterModel(true);
+	}
+
+	// ========== ChangeListener ==========
+
+	/**
+	 * Internal method call when a change apply from a sub-model (or the master model).<br>
+	 * This method must be public because it's a part from the {@link ChangeListener} interface,<br>
+	 * But not should be called directly.
+	 */
+	public synchronized void stateChanged(ChangeEvent event) {
+		if (changing)
+			return;
+
+		WeightBusyModel subModel = (event != null) ? models.get(event.getSource()) : null;
+
+		if (subModel != null) {
+			update(subModel);
+			onWeightedRatioChanged(false);
+		} else
+			updateMasterModel(event == null);
+	}
+
 	// ========== static ==========
 
+	private static Timer createUpdateTimer(ActionListener listener) {
+		Timer timer = new Timer(0, listener);
+		timer.setRepeats(false);
+		return timer;
+	}
+
 	/**
 	 * Split the specified {@link BusyModel} on sub-models which all will have the same weight ( <code>1</code>).<br>
 	 * The specified model will become the master model of the resulted {@link BusyModelHub}.<br>
@@ -0,0 +1,195 @@
+package cop.swing.busymarker.models;
+
+/**
+ * Immutable state of a {@link BusyModel} at a given time.
+ * <p>
+ * Reading several properties one by one from a model updated by other threads can mix values of different states (e.g.
+ * a <code>value</code> of the new range with a <code>maximum</code> of the old one). A snapshot holds all range
+ * properties and <code>busy</code>/<code>determinate</code> flags of one consistent state.
+ * <p>
+ * The range properties are normalized the same way {@link javax.swing.DefaultBoundedRangeModel} does:
+ *
+ * <pre>
+ * minimum &lt;= value &lt;= value + extent &lt;= maximum
+ * </pre>
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class BusyModelSnapshot {
+	static final BusyModelSnapshot DEFAULT = new BusyModelSnapshot(0, 0, 0, 100, false, false, false);
+
+	private final int value;
+	private final int extent;
+	private final int minimum;
+	private final int maximum;
+	private final boolean adjusting;
+	private final boolean busy;
+	private final boolean determinate;
+
+	BusyModelSnapshot(int value, int extent, int minimum, int maximum, boolean adjusting, boolean busy,
+			boolean determinate) {
+		if (minimum > maximum)
+			minimum = maximum;
+		if (value > maximum)
+			maximum = value;
+		if (value < minimum)
+			minimum = value;
+		if ((long)extent + (long)value > maximum)
+			extent = maximum - value;
+		if (extent < 0)
+			extent = 0;
+
+		this.value = value;
+		this.extent = extent;
+		this.minimum = minimum;
+		this.maximum = maximum;
+		this.adjusting = adjusting;
+		this.busy = busy;
+		this.determinate = determinate;
+	}
+
+	public int getValue() {
+		return value;
+	}
+
+	public int getExtent() {
+		return extent;
+	}
+
+	public int getMinimum() {
+		return minimum;
+	}
+
+	public int getMaximum() {
+		return maximum;
+	}
+
+	public boolean getValueIsAdjusting() {
+		return adjusting;
+	}
+
+	public boolean isBusy() {
+		return busy;
+	}
+
+	public boolean isDeterminate() {
+		return determinate;
+	}
+
+	public BusyState getState() {
+		return BusyState.parseBusyState(busy, determinate);
+	}
+
+	public int getRange() {
+		return maximum - minimum;
+	}
+
+	public int getExtValue() {
+		return value + extent;
+	}
+
+	public double getRatio() {
+		return (double)getExtValue() / getRange();
+	}
+
+	// [0;100]. -1 - undefined
+	public double getPercentValue() {
+		return !busy || !determinate ? -1 : (100. / getRange()) * (value - minimum);
+	}
+
+	BusyModelSnapshot withValue(int value) {
+		value = Math.min(value, Integer.MAX_VALUE - extent);
+		value = Math.max(value, minimum);
+
+		if (value + extent > maximum)
+			value = maximum - extent;
+
+		return new BusyModelSnapshot(value, extent, minimum, maximum, adjusting, busy, determinate);
+	}
+
+	BusyModelSnapshot withExtent(int extent) {
+		extent = Math.max(0, extent);
+
+		if (value + extent > maximum)
+			extent = maximum - value;
+
+		return new BusyModelSnapshot(value, extent, minimum, maximum, adjusting, busy, determinate);
+	}
+
+	BusyModelSnapshot withMinimum(int minimum) {
+		int max = Math.max(minimum, maximum);
+		int val = Math.max(minimum, value);
+		int ext = Math.min(max - val, extent);
+		return new BusyModelSnapshot(val, ext, minimum, max, adjusting, busy, determinate);
+	}
+
+	BusyModelSnapshot withMaximum(int maximum) {
+		int min = Math.min(maximum, minimum);
+		int ext = Math.min(maximum - min, extent);
+		int val = Math.min(maximum - ext, value);
+		return new BusyModelSnapshot(val, ext, min, maximum, adjusting, busy, determinate);
+	}
+
+	BusyModelSnapshot withRange(int value, int extent, int minimum, int maximum, boolean adjusting) {
+		return new BusyModelSnapshot(value, extent, minimum, maximum, adjusting, busy, determinate);
+	}
+
+	BusyModelSnapshot withBusy(boolean busy) {
+		return new BusyModelSnapshot(value, extent, minimum, maximum, adjusting, busy, determinate);
+	}
+
+	BusyModelSnapshot withDeterminate(boolean determinate) {
+		return new BusyModelSnapshot(value, extent, minimum, maximum, adjusting, busy, determinate);
+	}
+
+	// ========== static ==========
+
+	/**
+	 * Create a snapshot of the given model.<br>
+	 * If the model is a {@link ConcurrentBusyModel}, its own consistent snapshot is returned. Otherwise properties are
+	 * read one by one and the result is consistent only if the model is not updated concurrently.
+	 *
+	 * @param model model to take a snapshot from
+	 * @return snapshot of the given model
+	 */
+	public static BusyModelSnapshot create(BusyModel model) {
+		if (model instanceof ConcurrentBusyModel)
+			return ((ConcurrentBusyModel)model).getSnapshot();
+
+		return new BusyModelSnapshot(model.getValue(), model.getExtent(), model.getMinimum(), model.getMaximum(),
+				model.getValueIsAdjusting(), model.isBusy(), model.isDeterminate());
+	}
+
+	// ========== Object ==========
+
+	@Override
+	public int hashCode() {
+		int result = value;
+		result = 31 * result + extent;
+		result = 31 * result + minimum;
+		result = 31 * result + maximum;
+		result = 31 * result + (adjusting ? 1 : 0);
+		result = 31 * result + (busy ? 1 : 0);
+		return 31 * result + (determinate ? 1 : 0);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof BusyModelSnapshot))
+			return false;
+
+		BusyModelSnapshot other = (BusyModelSnapshot)obj;
+
+		return value == other.value && extent == other.extent && minimum == other.minimum && maximum == other.maximum
+				&& adjusting == other.adjusting && busy == other.busy && determinate == other.determinate;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[value=" + value + ",extent=" + extent + ",min=" + minimum + ",max="
+				+ maximum + ",adj=" + adjusting + ",state=" + getState() + "]";
+	}
+}
@@ -0,0 +1,338 @@
+package cop.swing.busymarker.models;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.DefaultBoundedRangeModel;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.EventListenerList;
+
+/**
+ * Lock-free implementation of interface {@link BusyModel} for models updated by many worker threads.
+ * <p>
+ * {@link DefaultBusyModel} is based on {@link DefaultBoundedRangeModel} which is not thread-safe. This model keeps the
+ * range properties and the <code>busy</code>/<code>determinate</code> flags in one immutable {@link BusyModelSnapshot}
+ * replaced with a compare-and-set. Any number of threads can call {@link #setValue(int)} or {@link #setBusy(boolean)}
+ * without blocking each other, and the <code>AutoCompletion</code> feature (see {@link DefaultBusyModel}) is applied in
+ * the same atomic step.
+ * <p>
+ * Listeners are always notified on the EDT. State changes made outside the EDT are coalesced: only one delivery task
+ * is queued at a time. Listeners should read the state with {@link #getSnapshot()} to get a consistent view of the
+ * model, because each other getter reads the latest state on its own.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class ConcurrentBusyModel implements BusyModel {
+	private final AtomicReference<BusyModelSnapshot> state = new AtomicReference<BusyModelSnapshot>(
+			BusyModelSnapshot.DEFAULT);
+	private final AtomicBoolean stateChangePending = new AtomicBoolean(false);
+	private final AtomicLong coalescedEvents = new AtomicLong();
+
+	private volatile boolean autoCompletionState;
+	private volatile boolean cancellableState;
+	private volatile String description;
+
+	protected final EventListenerList listenerList = new EventListenerList();
+
+	public ConcurrentBusyModel() {}
+
+	public ConcurrentBusyModel(ChangeListener listener) {
+		if (listener != null)
+			addChangeListener(listener);
+	}
+
+	/**
+	 * Returns the current state of this model. All values of the returned snapshot belong to the same state.
+	 *
+	 * @return current state of this model
+	 */
+	public final BusyModelSnapshot getSnapshot() {
+		return state.get();
+	}
+
+	/**
+	 * Define if the range value must manage the completion automatically. This property is significant only when this
+	 * model is <code>determinate</code>. When the <code>busy</code> property is set to true the range
+	 * <code>value</code> is set to the <code>minimum</code>. When the range <code>value</code> reach the
+	 * <code>maximum</code>, the <code>busy</code> property is set to <code>false</code>.
+	 */
+	public void setAutoCompletionEnabled(boolean value) {
+		if (this.autoCompletionState == value)
+			return;
+
+		this.autoCompletionState = value;
+		fireStateChanged();
+	}
+
+	/**
+	 * Returns <code>true</code> if the range value must manage the completion automatically.
+	 *
+	 * @see #setAutoCompletionEnabled(boolean)
+	 */
+	public final boolean isAutoCompletionEnabled() {
+		return autoCompletionState;
+	}
+
+	/**
+	 * Returns the number of off-EDT state changes that were merged into an already pending delivery since this model
+	 * was created.
+	 *
+	 * @return number of coalesced state changes
+	 */
+	public final long getCoalescedEventCount() {
+		return coalescedEvents.get();
+	}
+
+	/**
+	 * Replace the current state <code>prev</code> by <code>next</code> and notify listeners if the state was really
+	 * changed.
+	 *
+	 * @return <code>false</code> if the current state is not <code>prev</code> anymore, i.e. the caller must retry
+	 */
+	private boolean compareAndSet(BusyModelSnapshot prev, BusyModelSnapshot next) {
+		if (autoCompletionState && next.isDeterminate()) {
+			if (next.isBusy() && !prev.isBusy())
+				next = next.withValue(next.getMinimum());
+			else if (next.isBusy() && next.getValue() >= next.getMaximum())
+				next = next.withBusy(false);
+		}
+
+		if (prev.equals(next))
+			return true;
+		if (!state.compareAndSet(prev, next))
+			return false;
+
+		if (prev.isBusy() != next.isBusy())
+			fireActionPerformed((next.isBusy() ? BusyAction.START : BusyAction.STOP).createEvent(this));
+
+		fireStateChanged();
+		return true;
+	}
+
+	/**
+	 * Notifies all <code>ActionListener</code>s on the EDT. Action events are never coalesced.
+	 *
+	 * @param event the <code>ActionEvent</code> object
+	 */
+	protected final void fireActionPerformed(final ActionEvent event) {
+		if (SwingUtilities.isEventDispatchThread())
+			for (ActionListener listener : listenerList.getListeners(ActionListener.class))
+				listener.actionPerformed(event);
+		else
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					fireActionPerformed(event);
+				}
+			});
+	}
+
+	/**
+	 * Notifies all <code>ChangeListener</code>s on the EDT. When invoked outside the EDT, only one notification is
+	 * queued until it is delivered.
+	 */
+	protected void fireStateChanged() {
+		if (SwingUtilities.isEventDispatchThread())
+			fireStateChangedImpl();
+		else if (stateChangePending.compareAndSet(false, true))
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					stateChangePending.set(false);
+					fireStateChangedImpl();
+				}
+			});
+		else
+			coalescedEvents.incrementAndGet();
+	}
+
+	private void fireStateChangedImpl() {
+		ChangeEvent event = new ChangeEvent(this);
+
+		for (ChangeListener listener : listenerList.getListeners(ChangeListener.class))
+			listener.stateChanged(event);
+	}
+
+	// ========== BusyModel ==========
+
+	public void setBusy(boolean busy) {
+		BusyModelSnapshot prev;
+
+		do {
+			prev = state.get();
+		} while (!compareAndSet(prev, prev.withBusy(busy)));
+	}
+
+	public final boolean isBusy() {
+		return state.get().isBusy();
+	}
+
+	public final void setDeterminate(boolean value) {
+		BusyModelSnapshot prev;
+
+		do {
+			prev = state.get();
+		} while (!compareAndSet(prev, prev.withDeterminate(value)));
+	}
+
+	public final boolean isDeterminate() {
+		return state.get().isDeterminate();
+	}
+
+	public boolean isCancellable() {
+		return cancellableState;
+	}
+
+	public void setCancellable(boolean value) {
+		if (this.cancellableState == value)
+			return;
+
+		this.cancellableState = value;
+		fireStateChanged();
+	}
+
+	/**
+	 * Default implementation that simply notifies a {@link BusyAction#CANCEL} event
+	 */
+	public void cancel() {
+		if (cancellableState)
+			fireActionPerformed(BusyAction.CANCEL.createEvent(this));
+	}
+
+	public final String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		if (description != null && description.trim().isEmpty())
+			description = null;
+		if (this.description == description || this.description != null && this.description.equals(description))
+			return;
+
+		this.description = description;
+		fireStateChanged();
+	}
+
+	public int getRange() {
+		return state.get().getRange();
+	}
+
+	public int getExtValue() {
+		return state.get().getExtValue();
+	}
+
+	public double getRatio() {
+		return state.get().getRatio();
+	}
+
+	public void addActionListener(ActionListener listener) {
+		if (listener != null) {
+			listenerList.remove(ActionListener.class, listener);
+			listenerList.add(ActionListener.class, listener);
+		}
+	}
+
+	public void removeActionListener(ActionListener listener) {
+		if (listener != null)
+			listenerList.remove(ActionListener.class, listener);
+	}
+
+	// [0;100]. -1 - undefined
+	public double getPercentValue() {
+		return state.get().getPercentValue();
+	}
+
+	// ========== BoundedRangeModel ==========
+
+	public int getMinimum() {
+		return state.get().getMinimum();
+	}
+
+	public void setMinimum(int min) {
+		BusyModelSnapshot prev;
+
+		do {
+			prev = state.get();
+		} while (!compareAndSet(prev, prev.withMinimum(min)));
+	}
+
+	public int getMaximum() {
+		return state.get().getMaximum();
+	}
+
+	public void setMaximum(int max) {
+		BusyModelSnapshot prev;
+
+		do {
+			prev = state.get();
+		} while (!compareAndSet(prev, prev.withMaximum(max)));
+	}
+
+	public int getValue() {
+		return state.get().getValue();
+	}
+
+	public void setValue(int value) {
+		BusyModelSnapshot prev;
+
+		do {
+			prev = state.get();
+		} while (!compareAndSet(prev, prev.withValue(value)));
+	}
+
+	public void setValueIsAdjusting(boolean adjusting) {
+		BusyModelSnapshot prev;
+
+		do {
+			prev = state.get();
+		} while (!compareAndSet(prev, prev.withRange(prev.getValue(), prev.getExtent(), prev.getMinimum(),
+				prev.getMaximum(), adjusting)));
+	}
+
+	public boolean getValueIsAdjusting() {
+		return state.get().getValueIsAdjusting();
+	}
+
+	public int getExtent() {
+		return state.get().getExtent();
+	}
+
+	public void setExtent(int extent) {
+		BusyModelSnapshot prev;
+
+		do {
+			prev = state.get();
+		} while (!compareAndSet(prev, prev.withExtent(extent)));
+	}
+
+	public void setRangeProperties(int value, int extent, int min, int max, boolean adjusting) {
+		BusyModelSnapshot prev;
+
+		do {
+			prev = state.get();
+		} while (!compareAndSet(prev, prev.withRange(value, extent, min, max, adjusting)));
+	}
+
+	public void addChangeListener(ChangeListener listener) {
+		if (listener != null) {
+			listenerList.remove(ChangeListener.class, listener);
+			listenerList.add(ChangeListener.class, listener);
+		}
+	}
+
+	public void removeChangeListener(ChangeListener listener) {
+		if (listener != null)
+			listenerList.remove(ChangeListener.class, listener);
+	}
+
+	// ========== Object ==========
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName();
+	}
+}
@@ -2,12 +2,17 @@ package cop.swing.busymarker.models;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.swing.DefaultBoundedRangeModel;
 import javax.swing.SwingUtilities;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
+import cop.swing.busymarker.metrics.BusyMetrics;
+import cop.swing.busymarker.metrics.LatencyHistogram;
+
 /**
  * Default Implementation of interface {@link BusyModel}.
  * <p>
@@ -15,6 +20,14 @@ import javax.swing.event.ChangeListener;
  * minimum range when the busy property is set to <code>true</code>.<br>
  * At the other side, when the current value reach the maximum bounded range, it set automatically the busy property to
  * <code>false</code>.
+ * <p>
+ * Changes made outside the EDT are delivered to listeners with a {@link SwingUtilities#invokeLater(Runnable)} hop. When
+ * <code>coalescing</code> is enabled ({@link #setCoalescingEnabled(boolean)}), all state changes made while a delivery
+ * is still pending on the EDT queue are merged into this single delivery, and listeners read the latest state of the
+ * model when it runs.
+ * <p>
+ * The delay of these deliveries can be tracked ({@link #setLatencyTrackingEnabled(boolean)}): each off-EDT change is
+ * timestamped and its delay is recorded into the histogram of the model and into {@link BusyMetrics#EDT_LATENCY}.
  * 
  * @author Oleg Chrednik
  * @since 27.03.2012
@@ -28,6 +41,12 @@ public class DefaultBusyModel extends DefaultBoundedRangeModel implements BusyMo
 	private boolean cancellableState;
 	private String description;
 
+	private volatile boolean coalescing;
+	private final AtomicBoolean stateChangePending = new AtomicBoolean(false);
+	private final AtomicLong coalescedEvents = new AtomicLong();
+	private final AtomicLong stateChangedEvents = new AtomicLong();
+	private volatile LatencyHistogram latency;
+
 	public DefaultBusyModel() {}
 
 	public DefaultBusyModel(ChangeListener listener) {
@@ -163,6 +182,85 @@ public class DefaultBusyModel extends DefaultBoundedRangeModel implements BusyMo
 		fireStateChanged();
 	}
 
+	/**
+	 * Define if the state changes made outside the EDT must be coalesced. When enabled, only one delivery task is
+	 * queued on the EDT at a time; any change made while this task is pending is merged into it. Listeners always see
+	 * the latest state of the model, but not each intermediate value.
+	 * <p>
+	 * {@link ActionEvent}s ({@link BusyAction}) are never coalesced.
+	 * 
+	 * @param value <code>true</code> for coalesce off-EDT state changes
+	 */
+	public void setCoalescingEnabled(boolean value) {
+		coalescing = value;
+	}
+
+	/**
+	 * Returns <code>true</code> if the state changes made outside the EDT are coalesced.
+	 * 
+	 * @return <code>true</code> if the state changes made outside the EDT are coalesced
+	 */
+	public final boolean isCoalescingEnabled() {
+		return coalescing;
+	}
+
+	/**
+	 * Returns the number of off-EDT state changes that were merged into an already pending delivery since this model
+	 * was created.
+	 * 
+	 * @return number of coalesced state changes
+	 */
+	public final long getCoalescedEventCount() {
+		return coalescedEvents.get();
+	}
+
+	/**
+	 * Returns the number of state change events delivered to listeners of this model since it was created. Unlike
+	 * {@link BusyMetrics#MODEL_EVENTS}, that sums events of all models while metrics are enabled, events are always
+	 * counted.
+	 * 
+	 * @return number of state change events
+	 */
+	public final long getStateChangedEventCount() {
+		return stateChangedEvents.get();
+	}
+
+	/**
+	 * Define if the delay between an off-EDT state change and its delivery to listeners on the EDT is tracked. For
+	 * coalesced changes, the delay of the first change of the delivery is tracked, i.e. the maximum staleness of the
+	 * listeners. Delays are recorded into {@link #getLatencyHistogram()} and into {@link BusyMetrics#EDT_LATENCY}.
+	 * <p>
+	 * {@link BusyMetrics#EDT_LATENCY} is updated for a model with latency tracking even while {@link BusyMetrics} is
+	 * disabled; while it's enabled, delays of all models are recorded into it.
+	 * 
+	 * @param value <code>true</code> for track delivery delays
+	 */
+	public void setLatencyTrackingEnabled(boolean value) {
+		if (!value)
+			latency = null;
+		else if (latency == null)
+			latency = new LatencyHistogram();
+	}
+
+	/**
+	 * Returns <code>true</code> if delivery delays of off-EDT state changes of this model are tracked.
+	 * 
+	 * @return <code>true</code> if latency tracking is enabled
+	 * @see #setLatencyTrackingEnabled(boolean)
+	 */
+	public final boolean isLatencyTrackingEnabled() {
+		return latency != null;
+	}
+
+	/**
+	 * Returns the histogram of delivery delays of off-EDT state changes of this model.
+	 * 
+	 * @return histogram or <code>null</code> if latency tracking is disabled
+	 */
+	public final LatencyHistogram getLatencyHistogram() {
+		return latency;
+	}
+
 	/**
 	 * Notifies all listeners that have registered interest for notification on this event type. The event instance is
 	 * lazily created using the <code>event</code> parameter.
@@ -173,12 +271,54 @@ public class DefaultBusyModel extends DefaultBoundedRangeModel implements BusyMo
 		if (SwingUtilities.isEventDispatchThread())
 			for (ActionListener listener : listenerList.getListeners(ActionListener.class))
 				listener.actionPerformed(event);
-		else
+		else {
+			BusyMetrics.MODEL_INVOKE_LATER.increment();
 			SwingUtilities.invokeLater(new Runnable() {
 				public void run() {
 					fireActionPerformed(event);
 				}
 			});
+		}
+	}
+
+	/**
+	 * Returns the timestamp of an off-EDT change or <code>0</code> if the latency is not tracked.
+	 */
+	private long getLatencyTime() {
+		return latency != null || BusyMetrics.isEnabled() ? System.nanoTime() : 0;
+	}
+
+	private void recordLatency(long time) {
+		if (time == 0)
+			return;
+
+		long delay = System.nanoTime() - time;
+		LatencyHistogram latency = this.latency;
+
+		if (latency != null)
+			latency.record(delay);
+
+		BusyMetrics.EDT_LATENCY.record(delay);
+	}
+
+	/**
+	 * Notifies change listeners on the EDT; time spent in listeners is added to {@link BusyMetrics} when metrics are
+	 * enabled.
+	 */
+	private void dispatchStateChanged() {
+		stateChangedEvents.incrementAndGet();
+
+		if (!BusyMetrics.isEnabled()) {
+			super.fireStateChanged();
+			return;
+		}
+
+		long start = System.nanoTime();
+
+		super.fireStateChanged();
+
+		BusyMetrics.MODEL_EVENTS.increment();
+		BusyMetrics.MODEL_DISPATCH_TIME.add(System.nanoTime() - start);
 	}
 
 	// ========== BoundedRangeModel ==========
@@ -227,13 +367,34 @@ public class DefaultBusyModel extends DefaultBoundedRangeModel implements BusyMo
 	@Override
 	protected void fireStateChanged() {
 		if (SwingUtilities.isEventDispatchThread())
-			super.fireStateChanged();
-		else
+			dispatchStateChanged();
+		else if (coalescing) {
+			if (stateChangePending.compareAndSet(false, true)) {
+				final long time = getLatencyTime();
+
+				BusyMetrics.MODEL_INVOKE_LATER.increment();
+				SwingUtilities.invokeLater(new Runnable() {
+					public void run() {
+						stateChangePending.set(false);
+						recordLatency(time);
+						dispatchStateChanged();
+					}
+				});
+			} else {
+				coalescedEvents.incrementAndGet();
+				BusyMetrics.MODEL_COALESCED.increment();
+			}
+		} else {
+			final long time = getLatencyTime();
+
+			BusyMetrics.MODEL_INVOKE_LATER.increment();
 			SwingUtilities.invokeLater(new Runnable() {
 				public void run() {
+					recordLatency(time);
 					fireStateChanged();
 				}
 			});
+		}
 	}
 
 	// ========== Object ==========
@@ -2,8 +2,6 @@ package cop.swing.busymarker.models;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import javax.swing.SwingWorker;
 
@@ -16,8 +14,10 @@ import javax.swing.SwingWorker;
  * When you bound a {@link SwingWorker} to this model, this model will be determinate and use the
  * {@link SwingWorker#getProgress()}
  * <p>
- * When you don't need anymore to use this model, you must invoke {@link #dispose()} in order to free all threading
- * resources.<br>
+ * The tracked future doesn't hold any thread of its own: the completion is detected with a callback when the future
+ * supports it, a virtual thread when the runtime supports them, or one poller thread shared by all models otherwise.
+ * <p>
+ * When you don't need anymore to use this model, you must invoke {@link #dispose()} in order to stop tracking.<br>
  * 
  * @author Oleg Cherednik
  * @since 09.04.2012
@@ -27,10 +27,9 @@ public class FutureBusyModel extends DefaultBusyModel implements PropertyChangeL
 	/**
 	 * Members
 	 */
-	private ExecutorService service = null;
 	private int ticket = 0;
 	private Future<?> trackedFuture = null;
-	private Future<?> trackerFuture = null;
+	private transient FutureTracker.Tracking tracking = null;
 
 	/**
 	 * Default constructor
@@ -117,38 +116,14 @@ public class FutureBusyModel extends DefaultBusyModel implements PropertyChangeL
 			setDeterminate(false);
 		}
 
-		if (this.trackedFuture != null) {
-			/**
-			 * Tracker job to execute on our dedicated thread
-			 */
-			final Runnable tracker = new Runnable() {
+		if (this.trackedFuture != null && !this.trackedFuture.isDone()) {
+			final int myTicket = setBusyImpl(true);
+
+			this.tracking = FutureTracker.track(this.trackedFuture, new Runnable() {
 				public void run() {
-					int myTicket = 0;
-					try {
-						final Future<?> myFuture = FutureBusyModel.this.trackedFuture;
-						while (!myFuture.isDone()) {
-							myTicket = setBusyImpl(true);
-							try {
-								myFuture.get();
-							} catch (final Exception e) {
-								if (myFuture != FutureBusyModel.this.trackedFuture) {
-									/**
-									 * probably the model must reflet now a different Future We must stop to reflet this
-									 * one
-									 */
-									break;
-								}
-							}
-						}
-					} finally {
-						compareAndSetBusy(false, myTicket);
-					}
+					compareAndSetBusy(false, myTicket);
 				}
-			};
-
-			if (this.service == null)
-				this.service = Executors.newSingleThreadExecutor();
-			this.trackerFuture = this.service.submit(tracker);
+			});
 		} else {
 			setBusyImpl(false);
 		}
@@ -167,9 +142,9 @@ public class FutureBusyModel extends DefaultBusyModel implements PropertyChangeL
 		this.setDeterminate(false);
 		this.trackedFuture = null;
 
-		if (this.trackerFuture != null) {
-			this.trackerFuture.cancel(true);
-			this.trackerFuture = null;
+		if (this.tracking != null) {
+			this.tracking.cancel();
+			this.tracking = null;
 		}
 	}
 
@@ -185,16 +160,12 @@ public class FutureBusyModel extends DefaultBusyModel implements PropertyChangeL
 	}
 
 	/**
-	 * Dispose the model by freeing threading resources.
+	 * Dispose the model by stopping tracking of the current future.
 	 * 
 	 * @since 1.2.2
 	 */
 	public synchronized void dispose() {
 		setFuture(null, false);
-		if (this.service != null) {
-			this.service.shutdownNow();
-			this.service = null;
-		}
 	}
 
 	/**
@@ -0,0 +1,290 @@
+package cop.swing.busymarker.models;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingWorker;
+
+/**
+ * Notifies about completion of {@link Future}s without blocking a thread per future.
+ * <p>
+ * Depending on the future and on the runtime, the completion is detected with:
+ * <ul>
+ * <li>a <code>state</code> property listener for {@link SwingWorker}s</li>
+ * <li>a <code>whenComplete()</code> callback for <code>java.util.concurrent.CompletionStage</code>s (Java 8+)</li>
+ * <li>a virtual thread blocked on {@link Future#get()} when virtual threads are supported (Java 21+)</li>
+ * <li>one shared daemon thread polling {@link Future#isDone()} of all other futures every {@link #POLL_DELAY} ms</li>
+ * </ul>
+ * Java 8+ API is used through reflection, so this class still runs on older runtimes.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+final class FutureTracker {
+	/** delay in milliseconds between two checks of polled futures */
+	static final long POLL_DELAY = 50;
+
+	private static final Class<?> COMPLETION_STAGE = getClass("java.util.concurrent.CompletionStage");
+	private static final Class<?> BI_CONSUMER = getClass("java.util.function.BiConsumer");
+	private static final Method WHEN_COMPLETE = getMethod(COMPLETION_STAGE, "whenComplete", BI_CONSUMER);
+	private static final Method OF_VIRTUAL = getVirtualBuilderMethod();
+	private static final Method START = getMethod(getClass("java.lang.Thread$Builder"), "start", Runnable.class);
+
+	private static final Queue<Tracking> POLLED = new ConcurrentLinkedQueue<Tracking>();
+	private static final Runnable POLL = new Runnable() {
+		public void run() {
+			poll();
+		}
+	};
+
+	private static ScheduledThreadPoolExecutor poller;
+	private static ScheduledFuture<?> pollTask;
+
+	private FutureTracker() {}
+
+	/**
+	 * Start tracking of the given future. Given task is invoked once when the future is done, immediately if the future
+	 * is already done. The task can be invoked on any thread.
+	 *
+	 * @param future future to track
+	 * @param onDone task to invoke when the future is done
+	 * @return tracking, that can be used to stop tracking before the future is done
+	 */
+	static Tracking track(Future<?> future, Runnable onDone) {
+		Tracking tracking = new Tracking(future, onDone);
+
+		if (future.isDone())
+			tracking.complete();
+		else if (future instanceof SwingWorker)
+			tracking.listenSwingWorker();
+		else if (WHEN_COMPLETE != null && COMPLETION_STAGE.isInstance(future))
+			tracking.listenCompletionStage();
+		else if (isVirtualThreadSupported())
+			tracking.startVirtualThread();
+		else
+			schedulePoll(tracking);
+
+		return tracking;
+	}
+
+	static boolean isVirtualThreadSupported() {
+		return OF_VIRTUAL != null && START != null;
+	}
+
+	/**
+	 * Returns number of futures currently tracked by the shared poller.
+	 */
+	static int getPolledCount() {
+		return POLLED.size();
+	}
+
+	private static synchronized void schedulePoll(Tracking tracking) {
+		POLLED.add(tracking);
+
+		if (poller == null) {
+			poller = new ScheduledThreadPoolExecutor(1, new PollerThreadFactory());
+			poller.setKeepAliveTime(1, TimeUnit.SECONDS);
+			poller.allowCoreThreadTimeOut(true);
+		}
+
+		if (pollTask == null)
+			pollTask = poller.scheduleWithFixedDelay(POLL, POLL_DELAY, POLL_DELAY, TimeUnit.MILLISECONDS);
+	}
+
+	private static void poll() {
+		Iterator<Tracking> it = POLLED.iterator();
+
+		while (it.hasNext()) {
+			Tracking tracking = it.next();
+
+			if (tracking.isFinished())
+				it.remove();
+			else if (tracking.future.isDone()) {
+				it.remove();
+				tracking.complete();
+			}
+		}
+
+		stopPollIfIdle();
+	}
+
+	private static synchronized void stopPollIfIdle() {
+		if (POLLED.isEmpty() && pollTask != null) {
+			pollTask.cancel(false);
+			pollTask = null;
+		}
+	}
+
+	// ========== static ==========
+
+	private static Class<?> getClass(String name) {
+		try {
+			return Class.forName(name);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static Method getMethod(Class<?> cls, String name, Class<?>... parameterTypes) {
+		if (cls == null)
+			return null;
+
+		for (Class<?> type : parameterTypes)
+			if (type == null)
+				return null;
+
+		try {
+			return cls.getMethod(name, parameterTypes);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns <code>Thread.ofVirtual()</code> method if it exists and can be used (i.e. it's not a disabled preview
+	 * feature).
+	 */
+	private static Method getVirtualBuilderMethod() {
+		Method method = getMethod(Thread.class, "ofVirtual");
+
+		try {
+			if (method != null)
+				method.invoke(null);
+			return method;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	// ========== Tracking ==========
+
+	/**
+	 * Tracking of one future.
+	 */
+	static final class Tracking implements PropertyChangeListener, Runnable {
+		private final Future<?> future;
+		private final Runnable onDone;
+		private final AtomicBoolean finished = new AtomicBoolean();
+
+		private volatile Thread thread;
+
+		private Tracking(Future<?> future, Runnable onDone) {
+			this.future = future;
+			this.onDone = onDone;
+		}
+
+		/**
+		 * Stop tracking. The task given to {@link FutureTracker#track(Future, Runnable)} will not be invoked anymore.
+		 */
+		void cancel() {
+			if (!finished.compareAndSet(false, true))
+				return;
+
+			if (future instanceof SwingWorker)
+				((SwingWorker<?, ?>)future).removePropertyChangeListener(this);
+
+			Thread thread = this.thread;
+
+			if (thread != null)
+				thread.interrupt();
+
+			POLLED.remove(this);
+		}
+
+		boolean isFinished() {
+			return finished.get();
+		}
+
+		private void complete() {
+			if (!finished.compareAndSet(false, true))
+				return;
+
+			if (future instanceof SwingWorker)
+				((SwingWorker<?, ?>)future).removePropertyChangeListener(this);
+
+			onDone.run();
+		}
+
+		private void listenSwingWorker() {
+			((SwingWorker<?, ?>)future).addPropertyChangeListener(this);
+
+			if (future.isDone())
+				complete();
+		}
+
+		private void listenCompletionStage() {
+			Object consumer = Proxy.newProxyInstance(FutureTracker.class.getClassLoader(), new Class<?>[] { BI_CONSUMER },
+					new InvocationHandler() {
+						public Object invoke(Object proxy, Method method, Object[] args) {
+							if ("equals".equals(method.getName()))
+								return proxy == args[0];
+							if ("hashCode".equals(method.getName()))
+								return System.identityHashCode(proxy);
+							if ("toString".equals(method.getName()))
+								return Tracking.this.toString();
+
+							complete();
+							return null;
+						}
+					});
+
+			try {
+				WHEN_COMPLETE.invoke(future, consumer);
+			} catch (Exception e) {
+				schedulePoll(this);
+			}
+		}
+
+		private void startVirtualThread() {
+			try {
+				thread = (Thread)START.invoke(OF_VIRTUAL.invoke(null), this);
+			} catch (Exception e) {
+				schedulePoll(this);
+			}
+		}
+
+		// ========== Runnable ==========
+
+		/**
+		 * Body of the virtual thread: waits for the future
+		 */
+		public void run() {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				return;
+			} catch (Exception ignored) {}
+
+			complete();
+		}
+
+		// ========== PropertyChangeListener ==========
+
+		public void propertyChange(PropertyChangeEvent event) {
+			if ("state".equals(event.getPropertyName()) && event.getNewValue() == SwingWorker.StateValue.DONE)
+				complete();
+		}
+	}
+
+	// ========== PollerThreadFactory ==========
+
+	private static final class PollerThreadFactory implements ThreadFactory {
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "FutureTracker-poller");
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
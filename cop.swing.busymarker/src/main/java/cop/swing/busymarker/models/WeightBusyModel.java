@@ -6,22 +6,49 @@ package cop.swing.busymarker.models;
  */
 final class WeightBusyModel {
 	private final BusyModel model;
+	/** not <code>null</code> when this sub-model is a master model of the nested hub */
+	private final BusyModelHub hub;
 	private int weight;
+	/** ratio of the model multiplied by the weight, as it was accounted by the hub last time */
+	private double weightedRatio;
 
 	public WeightBusyModel(BusyModel model, int weight) {
+		this(model, null, weight);
+	}
+
+	public WeightBusyModel(BusyModelHub hub, int weight) {
+		this(hub.getMasterModel(), hub, weight);
+	}
+
+	private WeightBusyModel(BusyModel model, BusyModelHub hub, int weight) {
 		this.model = model;
+		this.hub = hub;
 		this.weight = weight;
 	}
 
-	public int getExtentPartFor(int totalWeight, BusyModel other) {
+	/**
+	 * Re-read the current ratio of the model and store its weighted value.
+	 * 
+	 * @return difference between new and previous weighted ratio
+	 */
+	public double update() {
+		double prv = weightedRatio;
+		weightedRatio = getRatio() * weight;
+		return weightedRatio - prv;
+	}
+
+	public double getWeightedRatio() {
+		return weightedRatio;
+	}
+
+	private double getRatio() {
+		if (hub != null)
+			return hub.getRatio();
+
 		// min <= value <= value+extent <= max
 		int length = model.getMaximum() - model.getMinimum();
 		int position = model.getExtValue() - model.getMinimum();
-		float ratio = (float)position / (float)length;
-
-		int otherLength = other.getMaximum() - other.getMinimum() - other.getExtent();
-		double otherRatio = ratio * ((double)this.weight / totalWeight);
-		return (int)(otherLength * otherRatio);
+		return length > 0 ? (double)position / (double)length : 0;
 	}
 
 	public int getWeight() {
@@ -36,6 +63,10 @@ final class WeightBusyModel {
 		return model;
 	}
 
+	public BusyModelHub getHub() {
+		return hub;
+	}
+
 	// ========== Object ==========
 
 	@Override
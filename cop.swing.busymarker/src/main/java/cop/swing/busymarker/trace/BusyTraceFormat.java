@@ -0,0 +1,40 @@
+package cop.swing.busymarker.trace;
+
+/**
+ * Binary format of busy traces written by {@link BusyTraceRecorder} and read by {@link BusyTraceReader}.
+ * <p>
+ * All numbers are big-endian. The file starts with a header:
+ * <ul>
+ * <li><code>int</code> - magic number {@link #MAGIC}</li>
+ * <li><code>short</code> - format version {@link #VERSION}</li>
+ * <li><code>short</code> - record size {@link #RECORD_SIZE}</li>
+ * <li><code>long</code> - wall clock time of the start of the recording, milliseconds</li>
+ * <li><code>long</code> - reserved</li>
+ * </ul>
+ * followed by fixed-size records, one per change notification of the model:
+ * <ul>
+ * <li><code>long</code> - time since the start of the recording, nanoseconds</li>
+ * <li><code>int</code> x 4 - value, extent, minimum, maximum</li>
+ * <li><code>byte</code> - flags: {@link #BUSY}, {@link #DETERMINATE}, {@link #ADJUSTING} and {@link #PRESENT}</li>
+ * </ul>
+ * Records are appended through mapped chunks of {@link #CHUNK_SIZE} bytes; a chunk holds a whole number of records.
+ * The file of an interrupted recording can be longer than its records: the first record without the
+ * {@link #PRESENT} flag ends the trace.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+final class BusyTraceFormat {
+	static final int MAGIC = 0x42545243; // BTRC
+	static final short VERSION = 1;
+	static final int HEADER_SIZE = 24;
+	static final short RECORD_SIZE = 25;
+	static final int CHUNK_SIZE = RECORD_SIZE * 40000;
+
+	static final byte BUSY = 0x1;
+	static final byte DETERMINATE = 0x2;
+	static final byte ADJUSTING = 0x4;
+	static final byte PRESENT = (byte)0x80;
+
+	private BusyTraceFormat() {}
+}
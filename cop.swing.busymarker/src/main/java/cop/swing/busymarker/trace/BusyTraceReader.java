@@ -0,0 +1,166 @@
+package cop.swing.busymarker.trace;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Sequential reader of a trace written by {@link BusyTraceRecorder}. The file is read through memory-mapped chunks, and
+ * the current record is available with primitive getters, so reading doesn't allocate anything per record.
+ *
+ * <pre>
+ * BusyTraceReader reader = new BusyTraceReader(new File(&quot;import.trace&quot;));
+ * 
+ * try {
+ * 	while (reader.next())
+ * 		System.out.println(reader.getTime() + &quot;: &quot; + reader.getValue());
+ * } finally {
+ * 	reader.close();
+ * }
+ * </pre>
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ * @see BusyTraceFormat
+ */
+public final class BusyTraceReader implements Closeable {
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final long startTime;
+
+	private MappedByteBuffer chunk;
+	private long chunkPosition = BusyTraceFormat.HEADER_SIZE;
+	private boolean finished;
+
+	private long time;
+	private int value;
+	private int extent;
+	private int minimum;
+	private int maximum;
+	private byte flags;
+
+	public BusyTraceReader(File file) throws IOException {
+		this.file = new RandomAccessFile(file, "r");
+		channel = this.file.getChannel();
+
+		try {
+			startTime = readHeader(file);
+			chunk = mapChunk();
+		} catch(IOException e) {
+			this.file.close();
+			throw e;
+		}
+	}
+
+	private long readHeader(File file) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(BusyTraceFormat.HEADER_SIZE);
+
+		while (buf.hasRemaining())
+			if (channel.read(buf, buf.position()) < 0)
+				throw new IOException(file + ": not a busy trace");
+
+		buf.flip();
+
+		if (buf.getInt() != BusyTraceFormat.MAGIC)
+			throw new IOException(file + ": not a busy trace");
+		if (buf.getShort() != BusyTraceFormat.VERSION || buf.getShort() != BusyTraceFormat.RECORD_SIZE)
+			throw new IOException(file + ": unsupported version of a busy trace");
+
+		return buf.getLong();
+	}
+
+	private MappedByteBuffer mapChunk() throws IOException {
+		long size = Math.min(BusyTraceFormat.CHUNK_SIZE, channel.size() - chunkPosition);
+		return channel.map(FileChannel.MapMode.READ_ONLY, chunkPosition, Math.max(0, size));
+	}
+
+	/**
+	 * Moves to the next record.
+	 *
+	 * @return <code>false</code> if there are no more records
+	 */
+	public boolean next() throws IOException {
+		if (finished)
+			return false;
+
+		if (chunk.remaining() < BusyTraceFormat.RECORD_SIZE && chunk.limit() == BusyTraceFormat.CHUNK_SIZE) {
+			chunkPosition += BusyTraceFormat.CHUNK_SIZE;
+			chunk = mapChunk();
+		}
+
+		if (chunk.remaining() < BusyTraceFormat.RECORD_SIZE
+				|| (chunk.get(chunk.position() + BusyTraceFormat.RECORD_SIZE - 1) & BusyTraceFormat.PRESENT) == 0) {
+			finished = true;
+			return false;
+		}
+
+		time = chunk.getLong();
+		value = chunk.getInt();
+		extent = chunk.getInt();
+		minimum = chunk.getInt();
+		maximum = chunk.getInt();
+		flags = chunk.get();
+
+		return true;
+	}
+
+	/**
+	 * Returns the wall clock time of the start of the recording, milliseconds.
+	 */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Returns the time of the current record since the start of the recording, nanoseconds.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	public int getValue() {
+		return value;
+	}
+
+	public int getExtent() {
+		return extent;
+	}
+
+	public int getMinimum() {
+		return minimum;
+	}
+
+	public int getMaximum() {
+		return maximum;
+	}
+
+	public boolean getValueIsAdjusting() {
+		return (flags & BusyTraceFormat.ADJUSTING) != 0;
+	}
+
+	public boolean isBusy() {
+		return (flags & BusyTraceFormat.BUSY) != 0;
+	}
+
+	public boolean isDeterminate() {
+		return (flags & BusyTraceFormat.DETERMINATE) != 0;
+	}
+
+	/**
+	 * Returns the advance of the current record, computed like {@link cop.swing.busymarker.models.BusyModel#getRatio()}.
+	 */
+	public double getRatio() {
+		return (double)(value + extent) / (maximum - minimum);
+	}
+
+	// ========== Closeable ==========
+
+	public void close() throws IOException {
+		chunk = null;
+		file.close();
+	}
+}
@@ -0,0 +1,184 @@
+package cop.swing.busymarker.trace;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import cop.swing.busymarker.models.BusyModel;
+import cop.swing.busymarker.models.BusyModelSnapshot;
+import cop.swing.busymarker.models.ConcurrentBusyModel;
+
+/**
+ * Records the state of a {@link BusyModel} (time, range properties and <code>busy</code>/<code>determinate</code>
+ * flags) each time the model notifies its listeners into a compact append-only binary file, that can be replayed later
+ * with {@link BusyTraceReplayer}.
+ * <p>
+ * The recorder is a {@link ChangeListener}, so it sees what the UI sees, not every call of the setters: changes made
+ * outside the EDT are recorded after the {@link javax.swing.SwingUtilities#invokeLater(Runnable)} hop of the model, with
+ * the time and the state at the moment of the notification, and changes coalesced by a {@link ConcurrentBusyModel}
+ * produce one record with the last state only.
+ * <p>
+ * Records are written into a memory-mapped region of the file, so recording a change is a few memory writes without a
+ * system call and without allocation (except a new mapped chunk every 40000 records); the operating system flushes the
+ * data to the disk. Recording starts in the constructor with the current state of the model and ends with
+ * {@link #close()}.
+ * <p>
+ * Exemple:
+ *
+ * <pre>
+ * BusyTraceRecorder recorder = new BusyTraceRecorder(model, new File(&quot;import.trace&quot;));
+ * // ... run the task
+ * recorder.close();
+ * </pre>
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ * @see BusyTraceFormat
+ */
+public final class BusyTraceRecorder implements ChangeListener, Closeable {
+	private final BusyModel model;
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final long startTime = System.nanoTime();
+
+	private MappedByteBuffer chunk;
+	private long chunkPosition = BusyTraceFormat.HEADER_SIZE;
+	private long count;
+	private boolean closed;
+
+	public BusyTraceRecorder(BusyModel model, File file) throws IOException {
+		if (model == null)
+			throw new NullPointerException("model");
+
+		this.model = model;
+		this.file = new RandomAccessFile(file, "rw");
+		channel = this.file.getChannel();
+
+		try {
+			channel.truncate(0);
+			writeHeader();
+			chunk = channel.map(FileChannel.MapMode.READ_WRITE, chunkPosition, BusyTraceFormat.CHUNK_SIZE);
+		} catch(IOException e) {
+			this.file.close();
+			throw e;
+		}
+
+		record();
+		model.addChangeListener(this);
+	}
+
+	/**
+	 * Returns the number of recorded changes.
+	 */
+	public synchronized long getCount() {
+		return count;
+	}
+
+	private void writeHeader() throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(BusyTraceFormat.HEADER_SIZE);
+
+		buf.putInt(BusyTraceFormat.MAGIC);
+		buf.putShort(BusyTraceFormat.VERSION);
+		buf.putShort(BusyTraceFormat.RECORD_SIZE);
+		buf.putLong(System.currentTimeMillis());
+		buf.putLong(0);
+		buf.flip();
+
+		while (buf.hasRemaining())
+			channel.write(buf, buf.position());
+	}
+
+	/**
+	 * Record the current state of the model.
+	 */
+	private synchronized void record() {
+		if (closed)
+			return;
+
+		try {
+			if (!chunk.hasRemaining()) {
+				chunkPosition += BusyTraceFormat.CHUNK_SIZE;
+				chunk = channel.map(FileChannel.MapMode.READ_WRITE, chunkPosition, BusyTraceFormat.CHUNK_SIZE);
+			}
+		} catch(IOException e) {
+			// stop recording but let the model work
+			closed = true;
+			e.printStackTrace();
+			return;
+		}
+
+		chunk.putLong(System.nanoTime() - startTime);
+
+		if (model instanceof ConcurrentBusyModel) {
+			BusyModelSnapshot snapshot = ((ConcurrentBusyModel)model).getSnapshot();
+
+			chunk.putInt(snapshot.getValue());
+			chunk.putInt(snapshot.getExtent());
+			chunk.putInt(snapshot.getMinimum());
+			chunk.putInt(snapshot.getMaximum());
+			chunk.put(getFlags(snapshot.isBusy(), snapshot.isDeterminate(), snapshot.getValueIsAdjusting()));
+		} else {
+			chunk.putInt(model.getValue());
+			chunk.putInt(model.getExtent());
+			chunk.putInt(model.getMinimum());
+			chunk.putInt(model.getMaximum());
+			chunk.put(getFlags(model.isBusy(), model.isDeterminate(), model.getValueIsAdjusting()));
+		}
+
+		count++;
+	}
+
+	// ========== ChangeListener ==========
+
+	public void stateChanged(ChangeEvent event) {
+		if (event.getSource() == model)
+			record();
+	}
+
+	// ========== Closeable ==========
+
+	/**
+	 * Stop recording and cut the file after the last record.
+	 */
+	public void close() throws IOException {
+		model.removeChangeListener(this);
+
+		synchronized (this) {
+			if (file.getChannel().isOpen()) {
+				closed = true;
+				chunk.force();
+				chunk = null;
+
+				try {
+					channel.truncate(BusyTraceFormat.HEADER_SIZE + count * BusyTraceFormat.RECORD_SIZE);
+				} catch(IOException ignored) {
+					// some platforms can't truncate a mapped file; the reader stops at the first absent record
+				} finally {
+					file.close();
+				}
+			}
+		}
+	}
+
+	// ========== static ==========
+
+	private static byte getFlags(boolean busy, boolean determinate, boolean adjusting) {
+		int flags = BusyTraceFormat.PRESENT;
+
+		if (busy)
+			flags |= BusyTraceFormat.BUSY;
+		if (determinate)
+			flags |= BusyTraceFormat.DETERMINATE;
+		if (adjusting)
+			flags |= BusyTraceFormat.ADJUSTING;
+
+		return (byte)flags;
+	}
+}
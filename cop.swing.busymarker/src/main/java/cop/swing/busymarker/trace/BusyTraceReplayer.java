@@ -0,0 +1,94 @@
+package cop.swing.busymarker.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+import cop.swing.busymarker.models.BusyModel;
+
+/**
+ * Replays a trace written by {@link BusyTraceRecorder} into a {@link BusyModel} (e.g. a
+ * {@link cop.swing.busymarker.models.DefaultBusyModel} bound to a busy pane), so estimators, hubs and icon rendering
+ * can be profiled against a real workload offline.
+ * <p>
+ * The trace is replayed on the calling thread at the original speed, accelerated (e.g. <code>10</code> times faster)
+ * or at the {@link #MAX_SPEED maximum speed}, i.e. without waiting between records.
+ *
+ * <pre>
+ * DefaultBusyModel model = new DefaultBusyModel();
+ * new BusyTraceReplayer(new File(&quot;import.trace&quot;), model).replay(10);
+ * </pre>
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class BusyTraceReplayer {
+	public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+	private final File file;
+	private final BusyModel model;
+
+	public BusyTraceReplayer(File file, BusyModel model) {
+		if (file == null)
+			throw new NullPointerException("file");
+		if (model == null)
+			throw new NullPointerException("model");
+
+		this.file = file;
+		this.model = model;
+	}
+
+	/**
+	 * Replays the whole trace and returns when the last record is applied.
+	 *
+	 * @param speed replay speed: <code>1</code> is the original speed, {@link #MAX_SPEED} replays without waiting
+	 * @return number of replayed records
+	 * @throws InterruptedException if the current thread is interrupted while waiting for the next record
+	 */
+	public long replay(double speed) throws IOException, InterruptedException {
+		if (!(speed > 0))
+			throw new IllegalArgumentException("speed should be positive");
+
+		BusyTraceReader reader = new BusyTraceReader(file);
+		long start = System.nanoTime();
+		long count = 0;
+
+		try {
+			while (reader.next()) {
+				if (speed != MAX_SPEED)
+					waitUntil(start + (long)(reader.getTime() / speed));
+
+				apply(reader);
+				count++;
+			}
+		} finally {
+			reader.close();
+		}
+
+		return count;
+	}
+
+	private void apply(BusyTraceReader reader) {
+		if (model.isDeterminate() != reader.isDeterminate())
+			model.setDeterminate(reader.isDeterminate());
+
+		model.setRangeProperties(reader.getValue(), reader.getExtent(), reader.getMinimum(), reader.getMaximum(),
+				reader.getValueIsAdjusting());
+
+		if (model.isBusy() != reader.isBusy())
+			model.setBusy(reader.isBusy());
+	}
+
+	// ========== static ==========
+
+	private static void waitUntil(long time) throws InterruptedException {
+		long delay;
+
+		while ((delay = time - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(delay);
+
+			if (Thread.interrupted())
+				throw new InterruptedException();
+		}
+	}
+}
@@ -1,5 +1,10 @@
 package cop.swing.busymarker.ui;
 
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JComponent;
@@ -10,12 +15,19 @@ import org.jdesktop.jxlayer.JXLayer;
 import org.jdesktop.jxlayer.plaf.ext.LockableUI;
 
 import cop.swing.busymarker.icons.BusyIcon;
+import cop.swing.busymarker.metrics.BusyMetrics;
+import cop.swing.busymarker.metrics.Gauge;
 import cop.swing.busymarker.models.BusyModel;
 import cop.swing.busymarker.models.DefaultBusyModel;
+import cop.swing.utils.GraphicsUtils;
 
 /**
  * Abstract implementation of {@link LockableUI} for busy indicator. This implementation subclass {@link LockableUI} for
  * protecting the view across any access during the <code>busy</code> state.
+ * <p>
+ * While locked, the view cannot change from user input. With {@link #setSnapshotEnabled(boolean)} the view is captured
+ * into an image once when the layer is locked and this image is painted instead of the live view until unlock. Views
+ * updated programmatically during the lock should call {@link #invalidateSnapshot()}.
  * 
  * @author Oleg Cherednik
  * @since 27.03.2012
@@ -23,9 +35,25 @@ import cop.swing.busymarker.models.DefaultBusyModel;
 public abstract class BusyLockableUI extends LockableUI implements ChangeListener {
 	private static final long serialVersionUID = -8168015295084189438L;
 
+	/** currently locked UIs; a UI collected while locked is removed as well */
+	private static final Map<BusyLockableUI, Boolean> LOCKED = Collections
+			.synchronizedMap(new WeakHashMap<BusyLockableUI, Boolean>());
+
+	static {
+		BusyMetrics.register("ui.locked", "Currently locked busy UIs", new Gauge() {
+			public long getValue() {
+				return LOCKED.size();
+			}
+		});
+	}
+
 	private AtomicBoolean lastBusyState = new AtomicBoolean(false);
 	protected BusyModel model = new DefaultBusyModel(this);
 
+	private boolean snapshotEnabled;
+	private long lockTime;
+	private transient BufferedImage snapshot;
+
 	public void setModel(BusyModel model) {
 		if (model == null || this.model == model)
 			return;
@@ -43,12 +71,53 @@ public abstract class BusyLockableUI extends LockableUI implements ChangeListene
 		return model;
 	}
 
+	/**
+	 * Define if the locked view is painted from a snapshot taken when the layer is locked instead of painting the live
+	 * view each time.
+	 * 
+	 * @param enabled <code>true</code> to paint the locked view from a snapshot
+	 * @see #invalidateSnapshot()
+	 */
+	public void setSnapshotEnabled(boolean enabled) {
+		if (snapshotEnabled == enabled)
+			return;
+
+		snapshotEnabled = enabled;
+		invalidateSnapshot();
+	}
+
+	public final boolean isSnapshotEnabled() {
+		return snapshotEnabled;
+	}
+
+	/**
+	 * Discard the snapshot of the locked view; a new one will be taken on the next paint. Should be called when the view
+	 * is changed programmatically while the layer is locked.
+	 */
+	public void invalidateSnapshot() {
+		snapshot = null;
+
+		if (isLocked())
+			setDirty(true);
+	}
+
 	/**
 	 * Internal "update" of this UI. This method should update this layer ui from the BusyModel properties.
 	 */
 	protected void update() {
 		setLocked(shouldLock());
-		setDirty(true);
+
+		if (isFullRepaintRequired())
+			setDirty(true);
+	}
+
+	/**
+	 * Indicate if {@link #update()} should mark the whole layer as dirty, i.e. repaint the view and all decorations.
+	 * This default implementation always returns <code>true</code>. Subclasses that repaint only changed regions of the
+	 * layer by themselves can return <code>false</code>; lock state changes still repaint the whole layer.
+	 */
+	protected boolean isFullRepaintRequired() {
+		return true;
 	}
 
 	/**
@@ -69,6 +138,85 @@ public abstract class BusyLockableUI extends LockableUI implements ChangeListene
 		update();
 	}
 
+	// ========== LockableUI ==========
+
+	@Override
+	public void setLocked(boolean locked) {
+		if (!locked)
+			snapshot = null;
+
+		boolean wasLocked = isLocked();
+
+		super.setLocked(locked);
+
+		if (!wasLocked && isLocked()) {
+			lockTime = System.nanoTime();
+			LOCKED.put(this, Boolean.TRUE);
+		} else if (wasLocked && !isLocked()) {
+			LOCKED.remove(this);
+			BusyMetrics.UI_LOCKS.increment();
+			BusyMetrics.UI_LOCK_TIME.add(System.nanoTime() - lockTime);
+		}
+	}
+
+	/**
+	 * While locked, only the view is painted into the buffer of the layer: the glass pane is painted live over the buffer
+	 * by {@link LockableUI#paint(java.awt.Graphics, JComponent)}, so components on it repaint only their own bounds.
+	 */
+	@Override
+	protected void paintLayer(Graphics2D g2d, JXLayer<? extends JComponent> layer) {
+		if (!isLocked()) {
+			snapshot = null;
+			super.paintLayer(g2d, layer);
+			return;
+		}
+
+		if (!snapshotEnabled) {
+			snapshot = null;
+			paintView(g2d, layer);
+			return;
+		}
+
+		int width = layer.getWidth();
+		int height = layer.getHeight();
+
+		if (width < 1 || height < 1)
+			return;
+
+		if (snapshot == null || snapshot.getWidth() != width || snapshot.getHeight() != height) {
+			snapshot = GraphicsUtils.createCompatibleTranslucentImage(width, height);
+			Graphics2D g = snapshot.createGraphics();
+
+			try {
+				paintView(g, layer);
+			} finally {
+				g.dispose();
+			}
+		}
+
+		g2d.drawImage(snapshot, 0, 0, null);
+	}
+
+	/**
+	 * Paint the view of the locked layer; like {@link LockableUI}, the view is made visible for painting only.
+	 */
+	private static void paintView(Graphics2D g2d, JXLayer<? extends JComponent> layer) {
+		JComponent view = layer.getView();
+
+		if (view == null)
+			return;
+
+		Graphics2D g = (Graphics2D)g2d.create(view.getX(), view.getY(), view.getWidth(), view.getHeight());
+
+		try {
+			view.setVisible(true);
+			view.paint(g);
+		} finally {
+			view.setVisible(false);
+			g.dispose();
+		}
+	}
+
 	// ========== LayerUI ==========
 
 	@Override
@@ -15,16 +15,18 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JProgressBar;
 import javax.swing.SwingConstants;
-import javax.swing.Timer;
 import javax.swing.UIManager;
 
 import org.jdesktop.jxlayer.JXLayer;
 
 import cop.swing.Hyperlink;
+import cop.swing.busymarker.AnimationTimer;
 import cop.swing.busymarker.RemainingTimeMonitor;
 import cop.swing.busymarker.icons.BusyIcon;
 import cop.swing.busymarker.icons.EmptyBusyIcon;
 import cop.swing.busymarker.icons.InfiniteBusyIcon;
+import cop.swing.busymarker.metrics.BusyMetrics;
+import cop.swing.busymarker.metrics.FrameProfiler;
 import cop.swing.busymarker.models.BusyModel;
 import cop.swing.busymarker.models.EmptyBusyModel;
 import cop.swing.busymarker.plaf.BusyPaneUI;
@@ -59,6 +61,10 @@ import cop.swing.utils.ColorUtils;
  * // triggered by the same model
  * ui.getBusyModel().setBusy(true); // an animation over our component is shown
  * </pre>
+ * <p>
+ * Animation ticks don't invalidate the whole layer: the locked view and the veil are buffered and repainted only when
+ * the lock state or the veil alpha changes, the icon, the label, the progress bar and the cancel button repaint only
+ * their own bounds.
  * 
  * @author Oleg Cherednik
  * @since 24.03.2012
@@ -91,8 +97,9 @@ public class DefaultBusyLockableUI extends BusyLockableUI implements ActionListe
 
 	private int alpha; // [0;0xFF]
 	private LayoutPainter<JPanel> painter = EmptyPainter.getInstance();
-	private final Timer timer = new Timer(REFRESH_DELAY, this);
+	private final AnimationTimer timer = new AnimationTimer(REFRESH_DELAY, this);
 	private final AtomicBoolean repainted = new AtomicBoolean(false);
+	private volatile FrameProfiler profiler = FrameProfiler.isEnabledByDefault() ? createProfiler() : null;
 
 	public DefaultBusyLockableUI() {
 		this(UIManager.getInt(BusyPaneUI.SHADE_DELAY), UIManager.getInt(BusyPaneUI.VEIL_ALPHA), UIManager
@@ -146,6 +153,34 @@ public class DefaultBusyLockableUI extends BusyLockableUI implements ActionListe
 		return icon;
 	}
 
+	/**
+	 * Define if paints of this ui are profiled with a {@link FrameProfiler}: time of the layer, time of the veil (as
+	 * overlay time) and frames skipped relative to the refresh rate of the animation.
+	 * Profiling is enabled by default if the system property {@value FrameProfiler#PROPERTY} is set.
+	 * 
+	 * @param enabled <code>true</code> to profile paints
+	 */
+	public void setProfilingEnabled(boolean enabled) {
+		if (!enabled)
+			profiler = null;
+		else if (profiler == null)
+			profiler = createProfiler();
+	}
+
+	private FrameProfiler createProfiler() {
+		return new FrameProfiler(getClass().getSimpleName() + '@' + Integer.toHexString(System.identityHashCode(this)),
+				TimeUnit.MILLISECONDS.toNanos(REFRESH_DELAY));
+	}
+
+	/**
+	 * Returns the profiler of this ui.
+	 * 
+	 * @return profiler or <code>null</code> if profiling is disabled
+	 */
+	public final FrameProfiler getProfiler() {
+		return profiler;
+	}
+
 	/**
 	 * Specifies the amount of time to wait before deciding whether or not to make busy the component when it's
 	 * underlying model is.
@@ -388,6 +423,9 @@ public class DefaultBusyLockableUI extends BusyLockableUI implements ActionListe
 		else if (!busy && (alpha > 0))
 			painter = updatePainter(painter, getShadeAlpha(busy));
 
+		if (old != painter)
+			setDirty(true);
+
 		return old != this.painter;
 	}
 
@@ -396,7 +434,7 @@ public class DefaultBusyLockableUI extends BusyLockableUI implements ActionListe
 			shadeTime = System.currentTimeMillis();
 
 		long delta = System.currentTimeMillis() - shadeTime;
-		int ratio = (int)(delta * 1000) / msShadeDelay;
+		int ratio = msShadeDelay > 0 ? (int)(delta * 1000) / msShadeDelay : Integer.MAX_VALUE;
 
 		if (ratio > 1000) {
 			alpha = busy ? 0xFF : 0;
@@ -412,6 +450,8 @@ public class DefaultBusyLockableUI extends BusyLockableUI implements ActionListe
 	private synchronized void onTimer() {
 		boolean busy = isBusy();
 
+		BusyMetrics.UI_TIMER_TICKS.increment();
+
 		if (updatePainter(busy))
 			update();
 		else if (!repainted.get()) {
@@ -479,12 +519,38 @@ public class DefaultBusyLockableUI extends BusyLockableUI implements ActionListe
 		super.update();
 	}
 
+	/**
+	 * The view with the veil is repainted only when the veil changes (see {@link #updatePainter(LayoutPainter, int)});
+	 * other components of this ui are on the glass pane, which is not buffered with the locked view, and repaint their
+	 * own bounds.
+	 */
+	@Override
+	protected boolean isFullRepaintRequired() {
+		return false;
+	}
+
 	// ========== AbstractLayerUI ==========
 
 	@Override
 	protected void paintLayer(Graphics2D g2d, JXLayer<? extends JComponent> layer) {
+		FrameProfiler profiler = this.profiler;
+
+		if (profiler == null) {
+			super.paintLayer(g2d, layer);
+			painter.paint(g2d, null, layer.getWidth(), layer.getHeight());
+			return;
+		}
+
+		long start = System.nanoTime();
+
 		super.paintLayer(g2d, layer);
+
+		long veilStart = System.nanoTime();
+
 		painter.paint(g2d, null, layer.getWidth(), layer.getHeight());
+		profiler.overlayFinished(veilStart);
+
+		profiler.paintFinished(start, timer.isRunning());
 	}
 
 	// ========== ComponentUI ==========
@@ -5,21 +5,33 @@ import java.awt.Component;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.Shape;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.PathIterator;
 import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImageOp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import javax.swing.UIManager;
 
 import cop.swing.busymarker.plaf.BusyPaneUI;
+import cop.swing.painters.SpriteSheet.FrameRenderer;
 import cop.swing.painters.enums.Direction;
-import cop.swing.utils.ColorUtils;
+import cop.swing.utils.GradientLUT;
 
 /**
  * A specific painter that paints an "infinite progress" like animation
+ * <p>
+ * The animation is periodic, that's why by default all {@link #getPoints()} frames are rendered once into a
+ * {@link SpriteSheet} shared by all painters with the same parameters; painting a frame is only an image copy. Use
+ * {@link #setSpriteCacheEnabled(boolean)} to paint every frame directly.
+ * <p>
+ * The geometry of points doesn't depend on the frame, so each point shape is transformed to its place once, when the
+ * points are updated; a color of a point in a frame is taken from the trail by index, so painting a frame is linear in
+ * the number of points.
  * 
  * @author Oleg Cherednik
  * @since 29.09.2012
@@ -37,9 +49,18 @@ public class InfiniteBusyPainter<T extends Component> extends AbstractBusyPainte
 
 	private Direction direction = Direction.CLOCKWISE;
 	private boolean centered = true;
-
-	private final Color[] trailColors = new Color[trailLength];
-	private final List<Point> points = new ArrayList<Point>(totalPoints);
+	private boolean spriteCacheEnabled = true;
+	private SpriteSheet spriteSheet;
+	/** configuration key for the size of the last paint; cleared when any parameter changes */
+	private Object configurationKey;
+	private int keyWidth = -1;
+	private int keyHeight = -1;
+
+	private Color[] trailColors = new Color[0];
+	/** point shapes transformed to their places relative to the trajectory bounds */
+	private Shape[] pointShapes = new Shape[0];
+	private int pointsWidth = -1;
+	private int pointsHeight = -1;
 	/** describes one point */
 	private final Segment[] segments;
 
@@ -81,10 +102,10 @@ public class InfiniteBusyPainter<T extends Component> extends AbstractBusyPainte
 	}
 
 	private void updatePoints(int width, int height) {
-		if (!updatePoints)
+		if (!updatePoints && pointsWidth == width && pointsHeight == height)
 			return;
 
-		points.clear();
+		List<Point> points = new ArrayList<Point>(totalPoints);
 
 		Point startPoint = segments[0].getPoint();
 		float delta = getDistance(segments) / totalPoints;
@@ -113,6 +134,9 @@ public class InfiniteBusyPainter<T extends Component> extends AbstractBusyPainte
 		if (direction == Direction.COUNTER_CLOCKWISE)
 			Collections.reverse(points);
 
+		pointShapes = getPointShapes(points, trajectory.center, pointShape);
+		pointsWidth = width;
+		pointsHeight = height;
 		updatePoints = false;
 	}
 
@@ -120,19 +144,85 @@ public class InfiniteBusyPainter<T extends Component> extends AbstractBusyPainte
 		if (!updateTrailColors)
 			return;
 
+		GradientLUT gradient = GradientLUT.get(trailLength + 1, foregroundColor, background);
+
+		if (trailColors.length != trailLength)
+			trailColors = new Color[trailLength];
+
 		for (int i = 0; i < trailLength; i++)
-			trailColors[i] = ColorUtils.interpolate(foregroundColor, background, (i * 100) / trailLength);
+			trailColors[i] = gradient.getColorAt(i);
 
 		updateTrailColors = false;
 	}
 
+	/**
+	 * Returns the color of the point in the frame: the head of the trail is at the point <code>frame</code>, the point
+	 * <code>j</code> positions behind it has the color <code>j</code> of the trail.
+	 */
 	private Color getFrameColor(int frame, int i) {
-		if (frame >= 0)
-			for (int j = 0; j < trailLength; j++)
-				if (i == (frame - j + totalPoints) % totalPoints)
-					return trailColors[j];
+		if (frame < 0)
+			return background;
 
-		return background;
+		int j = (frame - i) % totalPoints;
+		j = j < 0 ? j + totalPoints : j;
+
+		return j < trailColors.length ? trailColors[j] : background;
+	}
+
+	/**
+	 * Returns a key with all parameters of this painter that have an influence on the painted pixels. Two painters
+	 * with equal keys paint the same frames. The key is built once and returned as is until a parameter or the size
+	 * changes.
+	 * 
+	 * @param width painting area width
+	 * @param height painting area height
+	 * @return configuration key of this painter
+	 */
+	public Object getConfigurationKey(int width, int height) {
+		if (configurationKey == null || keyWidth != width || keyHeight != height) {
+			configurationKey = Arrays.asList(getClass(), width, height, pointShape, trajectory.shape, centered,
+					direction, totalPoints, trailLength, foregroundColor, background, isAntialiasing(),
+					getInterpolation(), isVisible(), new ArrayList<BufferedImageOp>(getFilters()));
+			keyWidth = width;
+			keyHeight = height;
+		}
+
+		return configurationKey;
+	}
+
+	/**
+	 * Returns the sprite sheet with all frames for the current parameters of this painter.
+	 * 
+	 * @return sprite sheet or <code>null</code> if it cannot be used
+	 */
+	private SpriteSheet getSpriteSheet(final int width, final int height) {
+		Object key = getConfigurationKey(width, height);
+
+		if (spriteSheet == null || spriteSheet.getKey() != key && !spriteSheet.getKey().equals(key))
+			spriteSheet = SpriteSheet.get(key, width, height, totalPoints, new FrameRenderer() {
+				public void paintFrame(Graphics2D g2d, int frame) {
+					configureGraphics(g2d);
+					InfiniteBusyPainter.this.paintFrame(g2d, frame, width, height);
+				}
+			});
+
+		return spriteSheet;
+	}
+
+	/**
+	 * Define if all frames of the animation are rendered once and then only copied on each paint.
+	 * 
+	 * @param enabled <code>true</code> to use a shared sprite sheet
+	 */
+	public void setSpriteCacheEnabled(boolean enabled) {
+		this.spriteCacheEnabled = enabled;
+
+		if (!enabled)
+			spriteSheet = null;
+	}
+
+	public final boolean isSpriteCacheEnabled() {
+		return spriteCacheEnabled;
 	}
 
 	/**
@@ -163,6 +253,7 @@ public class InfiniteBusyPainter<T extends Component> extends AbstractBusyPainte
 
 		this.background = color;
 		this.updateTrailColors = true;
+		this.configurationKey = null;
 	}
 
 	public final Color getForeground() {
@@ -175,6 +266,7 @@ public class InfiniteBusyPainter<T extends Component> extends AbstractBusyPainte
 
 		this.foregroundColor = foreground;
 		this.updateTrailColors = true;
+		this.configurationKey = null;
 	}
 
 	/**
@@ -199,6 +291,8 @@ public class InfiniteBusyPainter<T extends Component> extends AbstractBusyPainte
 
 		this.totalPoints = points;
 		this.updateTrailColors = true;
+		this.updatePoints = true;
+		this.configurationKey = null;
 	}
 
 	/**
@@ -223,6 +317,7 @@ public class InfiniteBusyPainter<T extends Component> extends AbstractBusyPainte
 
 		this.trailLength = length;
 		this.updateTrailColors = true;
+		this.configurationKey = null;
 	}
 
 	/**
@@ -254,6 +349,7 @@ public class InfiniteBusyPainter<T extends Component> extends AbstractBusyPainte
 
 		this.direction = direction;
 		this.updatePoints = true;
+		this.configurationKey = null;
 	}
 
 	/**
@@ -272,54 +368,83 @@ public class InfiniteBusyPainter<T extends Component> extends AbstractBusyPainte
 	 */
 	public void setCentered(boolean centered) {
 		this.centered = centered;
+		this.configurationKey = null;
 	}
 
 	// ========== AbstractPainter ==========
 
+	/**
+	 * Any change of the parameters of the base painter marks it dirty, so the configuration key is rebuilt
+	 */
+	@Override
+	protected void setDirty(boolean dirty) {
+		super.setDirty(dirty);
+
+		if (dirty)
+			configurationKey = null;
+	}
+
 	@Override
 	protected void doPaint(Graphics2D g2d, T obj, int width, int height) {
 		updateTrailColors();
 		updatePoints(width, height);
 
+		SpriteSheet sheet = null;
+
+		if (spriteCacheEnabled && frame >= 0 && SpriteSheet.isSupported(g2d))
+			sheet = getSpriteSheet(width, height);
+
+		if (sheet != null)
+			sheet.paintFrame(g2d, frame % totalPoints);
+		else
+			paintFrame(g2d, frame, width, height);
+	}
+
+	private void paintFrame(Graphics2D g2d, int frame, int width, int height) {
 		if (centered) {
 			Rectangle size = trajectory.shape.getBounds();
 			int x = (width - size.width - 2 * size.x) / 2;
 			int y = (height - size.height - 2 * size.y) / 2;
 
 			g2d.translate(x, y);
-			paintPoints(g2d, trajectory.center);
+			paintPoints(g2d, frame);
 			g2d.translate(-x, -y);
 		} else
-			paintPoints(g2d, trajectory.center);
+			paintPoints(g2d, frame);
 	}
 
-	private void paintPoints(Graphics2D g2d, Point center) {
-		int i = 0;
+	private void paintPoints(Graphics2D g2d, int frame) {
+		for (int i = 0; i < pointShapes.length; i++) {
+			g2d.setColor(getFrameColor(frame, i));
+			g2d.fill(pointShapes[i]);
+		}
+	}
 
-		g2d.translate(center.x, center.y);
+	// ========== static ==========
 
-		for (Point point : points) {
-			double angle = getPointAngle(point, center);
+	/**
+	 * Returns the point shape placed at each point: moved to the point and rotated along the ray from the center.
+	 */
+	private static Shape[] getPointShapes(List<Point> points, Point center, Shape pointShape) {
+		Rectangle bounds = pointShape.getBounds();
+		Shape[] shapes = new Shape[points.size()];
+		AffineTransform transform = new AffineTransform();
+		int i = 0;
 
+		for (Point point : points) {
 			double a = Math.abs(center.y - point.y);
 			double b = Math.abs(point.x - center.x);
-			double x = Math.sqrt(a * a + b * b) - pointShape.getBounds().getWidth() / 2;
-			double y = -pointShape.getBounds().getHeight() / 2;
 
-			g2d.setColor(getFrameColor(frame, i++));
+			transform.setToTranslation(center.x, center.y);
+			transform.rotate(getPointAngle(point, center));
+			transform.translate(Math.sqrt(a * a + b * b) - bounds.getWidth() / 2, -bounds.getHeight() / 2);
 
-			g2d.rotate(angle);
-			g2d.translate(x, y);
-			g2d.fill(pointShape);
-			g2d.translate(-x, -y);
-			g2d.rotate(-angle);
+			shapes[i++] = transform.createTransformedShape(pointShape);
 		}
 
-		g2d.translate(-center.x, -center.y);
+		return shapes;
 	}
 
-	// ========== static ==========
-
 	private static double getPointAngle(Point point, Point center) {
 		double a = Math.abs(center.y - point.y);
 		double b = Math.abs(point.x - center.x);
@@ -0,0 +1,149 @@
+package cop.swing.painters;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import cop.swing.utils.GraphicsUtils;
+
+/**
+ * All frames of a periodic animation rendered once into one compatible image, one frame after another horizontally.
+ * Painting a frame is just a copy of a sub-rectangle of this image.
+ * <p>
+ * Sprite sheets are shared: {@link #get(Object, int, int, int, FrameRenderer)} returns the same sheet for equal keys as
+ * long as at least one painter or icon keeps a reference to it.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class SpriteSheet {
+	/** maximum size of one sheet in pixels; animations with bigger sheets are not cached */
+	public static final int MAX_PIXELS = 1 << 22;
+
+	private static final Map<Object, WeakReference<SpriteSheet>> SHEETS = new HashMap<Object, WeakReference<SpriteSheet>>();
+
+	private final Object key;
+	private final BufferedImage image;
+	private final int width;
+	private final int height;
+	private final int frames;
+
+	private SpriteSheet(Object key, int width, int height, int frames, FrameRenderer renderer) {
+		this.key = key;
+		this.width = width;
+		this.height = height;
+		this.frames = frames;
+		image = GraphicsUtils.createCompatibleTranslucentImage(width * frames, height);
+
+		for (int frame = 0; frame < frames; frame++) {
+			Graphics2D g2d = image.createGraphics();
+
+			try {
+				g2d.clipRect(frame * width, 0, width, height);
+				g2d.translate(frame * width, 0);
+				renderer.paintFrame(g2d, frame);
+			} finally {
+				g2d.dispose();
+			}
+		}
+	}
+
+	public Object getKey() {
+		return key;
+	}
+
+	public int getFrames() {
+		return frames;
+	}
+
+	/**
+	 * Paint given frame at the <code>(0,0)</code> of the given graphics.
+	 *
+	 * @param g2d graphics to paint on
+	 * @param frame frame number in range [0 ~ frames - 1]
+	 */
+	public void paintFrame(Graphics2D g2d, int frame) {
+		paintFrame(g2d, frame, 0, 0);
+	}
+
+	/**
+	 * Paint given frame at the <code>(x,y)</code> of the given graphics.
+	 *
+	 * @param g2d graphics to paint on
+	 * @param frame frame number in range [0 ~ frames - 1]
+	 * @param x horizontal location of the upper left corner
+	 * @param y vertical location of the upper left corner
+	 */
+	public void paintFrame(Graphics2D g2d, int frame, int x, int y) {
+		int sx = frame * width;
+		g2d.drawImage(image, x, y, x + width, y + height, sx, 0, sx + width, height, null);
+	}
+
+	// ========== static ==========
+
+	/**
+	 * Returns the shared sprite sheet for the given key or renders a new one. The caller must keep a reference to the
+	 * returned sheet as long as it uses it.
+	 *
+	 * @param key key with all parameters that have influence on the rendered frames
+	 * @param width width of one frame
+	 * @param height height of one frame
+	 * @param frames total number of frames
+	 * @param renderer renderer used to paint frames of a new sheet
+	 * @return sprite sheet or <code>null</code> if the animation is too big to be cached
+	 */
+	public static SpriteSheet get(Object key, int width, int height, int frames, FrameRenderer renderer) {
+		if (width < 1 || height < 1 || frames < 1 || (long)width * height * frames > MAX_PIXELS)
+			return null;
+
+		synchronized (SHEETS) {
+			WeakReference<SpriteSheet> ref = SHEETS.get(key);
+			SpriteSheet sheet = ref != null ? ref.get() : null;
+
+			if (sheet == null) {
+				removeClearedSheets();
+				sheet = new SpriteSheet(key, width, height, frames, renderer);
+				SHEETS.put(key, new WeakReference<SpriteSheet>(sheet));
+			}
+
+			return sheet;
+		}
+	}
+
+	/**
+	 * Sprite sheet can be used only for the graphics without scaling or rotation, otherwise painted frames will look
+	 * different from the frames painted directly.
+	 * <p>
+	 * The transform is checked with the font render context of the graphics, that ignores the translation and is cached
+	 * by the graphics, unlike {@link Graphics2D#getTransform()} that returns a new copy each time.
+	 *
+	 * @param g2d graphics to paint on
+	 * @return <code>true</code> if the sprite sheet can be used for the given graphics
+	 */
+	public static boolean isSupported(Graphics2D g2d) {
+		return !g2d.getFontRenderContext().isTransformed();
+	}
+
+	private static void removeClearedSheets() {
+		Iterator<WeakReference<SpriteSheet>> it = SHEETS.values().iterator();
+
+		while (it.hasNext())
+			if (it.next().get() == null)
+				it.remove();
+	}
+
+	// ========== FrameRenderer ==========
+
+	public interface FrameRenderer {
+		/**
+		 * Paint one frame of the animation at the <code>(0,0)</code> of the given graphics.
+		 *
+		 * @param g2d graphics to paint on
+		 * @param frame frame number
+		 */
+		void paintFrame(Graphics2D g2d, int frame);
+	}
+}
@@ -0,0 +1,176 @@
+package cop.swing.utils;
+
+import java.awt.Color;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity cache of {@link Color} instances by ARGB value, used by {@link ColorUtils}.
+ * <p>
+ * Colors are stored in an open-addressing table without boxed keys: the key of a slot is the ARGB value of its color.
+ * A color can be placed only in one of {@value #PROBES} slots after its hash position; when all of them are taken, one
+ * of them is evicted with the CLOCK algorithm, i.e. a color that was not requested since the last eviction pass.
+ * Slots never get empty again (except {@link #clear()}), so a lookup stops at the first empty slot.
+ * <p>
+ * The cache is thread safe and doesn't lock: colors are published with volatile semantics, reference bits are updated
+ * racy as they're just hints. Two threads can put the same color at the same time, so it's stored twice; that only
+ * wastes a slot.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class ColorCache {
+	private static final int PROBES = 8;
+
+	private final int mask;
+	private final AtomicReferenceArray<Color> colors;
+	/** CLOCK reference bits: <code>1</code> if a color in the slot is requested since the last eviction pass */
+	private final byte[] used;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @param capacity maximum number of cached colors, rounded up to a power of 2 (at least {@value #PROBES})
+	 */
+	public ColorCache(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("capacity can't be less than 1");
+		if (capacity > 1 << 30)
+			throw new IllegalArgumentException("capacity can't be greater than " + (1 << 30));
+
+		int length = Math.max(PROBES, Integer.highestOneBit(capacity - 1) << 1);
+
+		mask = length - 1;
+		colors = new AtomicReferenceArray<Color>(length);
+		used = new byte[length];
+	}
+
+	/**
+	 * Returns a cached color with given ARGB value or <code>null</code> if there is no such color in the cache.
+	 *
+	 * @param rgb ARGB value of the color
+	 * @return cached color or <code>null</code>
+	 */
+	public Color get(int rgb) {
+		int pos = getHash(rgb);
+
+		for (int i = 0; i < PROBES; i++) {
+			int index = (pos + i) & mask;
+			Color color = colors.get(index);
+
+			if (color == null)
+				break;
+			if (color.getRGB() == rgb) {
+				used[index] = 1;
+				hits.incrementAndGet();
+				return color;
+			}
+		}
+
+		misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Puts the color into the cache, evicting another one if all places for this color are taken.
+	 *
+	 * @param color color to cache
+	 * @return given color
+	 */
+	public Color put(Color color) {
+		int pos = getHash(color.getRGB());
+
+		for (int i = 0; i < PROBES; i++) {
+			int index = (pos + i) & mask;
+
+			if (colors.get(index) == null && colors.compareAndSet(index, null, color))
+				return color;
+		}
+
+		int victim = pos & mask;
+
+		for (int i = 0; i < PROBES; i++) {
+			int index = (pos + i) & mask;
+
+			if (used[index] == 0) {
+				victim = index;
+				break;
+			}
+
+			used[index] = 0;
+		}
+
+		used[victim] = 0;
+		colors.set(victim, color);
+		evictions.incrementAndGet();
+
+		return color;
+	}
+
+	/**
+	 * Removes all colors and resets statistics.
+	 */
+	public void clear() {
+		for (int i = 0; i <= mask; i++) {
+			colors.set(i, null);
+			used[i] = 0;
+		}
+
+		hits.set(0);
+		misses.set(0);
+		evictions.set(0);
+	}
+
+	/**
+	 * Returns the number of cached colors. This method scans the whole table.
+	 */
+	public int size() {
+		int size = 0;
+
+		for (int i = 0; i <= mask; i++)
+			if (colors.get(i) != null)
+				size++;
+
+		return size;
+	}
+
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	/**
+	 * Returns the ratio of successful lookups, <code>[0;1]</code>, or <code>-1</code> if there is no lookups.
+	 */
+	public double getHitRate() {
+		long hits = this.hits.get();
+		long total = hits + misses.get();
+		return total == 0 ? -1 : (double)hits / total;
+	}
+
+	private int getHash(int rgb) {
+		int hash = rgb * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	// ========== Object ==========
+
+	@Override
+	public String toString() {
+		return String.format("size=%d/%d, hits=%d, misses=%d, evictions=%d", size(), getCapacity(), hits.get(),
+				misses.get(), evictions.get());
+	}
+}
@@ -1,15 +1,15 @@
 package cop.swing.utils;
 
 import java.awt.Color;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Oleg Cherednik
  * @since 09.04.2012
  */
 public final class ColorUtils {
-	private static final Map<Integer, Color> COLORS = new ConcurrentHashMap<Integer, Color>();
+	/** maximum number of cached colors; fading and interpolation create a lot of alpha and color combinations */
+	private static final int CACHE_CAPACITY = 1024;
+	private static final ColorCache COLORS = new ColorCache(CACHE_CAPACITY);
 
 	static {
 		storeColor(Color.white);
@@ -43,16 +43,18 @@ public final class ColorUtils {
 
 	public static Color getColor(int rgb) {
 		Color color = COLORS.get(rgb);
+		return color != null ? color : COLORS.put(new Color(rgb, true));
+	}
 
-		if (color == null)
-			color = storeColor(new Color(rgb, true));
-
-		return color;
+	/**
+	 * Returns the cache of colors returned by <code>getColor()</code> methods, e.g. to check its size and hit rate.
+	 */
+	public static ColorCache getCache() {
+		return COLORS;
 	}
 
-	private static Color storeColor(Color color) {
-		COLORS.put(color.getRGB(), color);
-		return color;
+	private static void storeColor(Color color) {
+		COLORS.put(color);
 	}
 
 	private static int getRGB(int red, int green, int blue, int alpha) {
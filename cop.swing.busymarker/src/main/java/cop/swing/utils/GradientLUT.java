@@ -0,0 +1,171 @@
+package cop.swing.utils;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed ramp of ARGB colors between two or more colors, i.e. a lookup table for
+ * {@link ColorUtils#interpolate(Color, Color, double)}.
+ * <p>
+ * Given colors are evenly spaced along the ramp and each channel is linearly interpolated between them. The ramp has a
+ * fixed number of entries (<code>resolution</code>), so a color by fraction is an <code>O(1)</code> array lookup
+ * without any floating point rounding of channels.
+ * <p>
+ * A table is immutable and can be shared between painters and icons; {@link #get(int, Color...)} returns a shared
+ * table for the same colors and resolution.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public final class GradientLUT {
+	private static final int CACHE_SIZE = 64;
+	private static final Map<List<Object>, GradientLUT> CACHE = new LinkedHashMap<List<Object>, GradientLUT>(16,
+			0.75f, true) {
+		private static final long serialVersionUID = -5286213154317380417L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, GradientLUT> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	private final int[] rgb;
+
+	/**
+	 * @param resolution number of entries of the table, at least <code>2</code>
+	 * @param colors colors of the ramp, at least one; the first one is at fraction <code>0</code>, the last one is at
+	 *            fraction <code>1</code>
+	 */
+	public GradientLUT(int resolution, Color... colors) {
+		if (resolution < 2)
+			throw new IllegalArgumentException("resolution can't be less than 2");
+		if (colors.length == 0)
+			throw new IllegalArgumentException("at least one color is required");
+
+		rgb = new int[resolution];
+
+		if (colors.length == 1) {
+			Arrays.fill(rgb, colors[0].getRGB());
+			return;
+		}
+
+		int stops = colors.length - 1;
+
+		for (int i = 0; i < resolution; i++) {
+			double pos = (double)i * stops / (resolution - 1);
+			int stop = Math.min((int)pos, stops - 1);
+			rgb[i] = interpolate(colors[stop].getRGB(), colors[stop + 1].getRGB(), pos - stop);
+		}
+	}
+
+	/**
+	 * Returns the number of entries of this table.
+	 */
+	public int getResolution() {
+		return rgb.length;
+	}
+
+	/**
+	 * Returns the ARGB value of the entry of this table.
+	 *
+	 * @param index index of the entry, <code>[0;resolution)</code>
+	 */
+	public int getRGBAt(int index) {
+		return rgb[index];
+	}
+
+	/**
+	 * Returns the ARGB value of the nearest entry to the given fraction of the ramp.
+	 *
+	 * @param fraction position on the ramp, clamped to <code>[0;1]</code>
+	 */
+	public int getRGB(float fraction) {
+		return rgb[getIndex(fraction)];
+	}
+
+	/**
+	 * Returns the color of the entry of this table from {@link ColorUtils} cache.
+	 *
+	 * @param index index of the entry, <code>[0;resolution)</code>
+	 */
+	public Color getColorAt(int index) {
+		return ColorUtils.getColor(rgb[index]);
+	}
+
+	/**
+	 * Returns the color of the nearest entry to the given fraction of the ramp from {@link ColorUtils} cache.
+	 *
+	 * @param fraction position on the ramp, clamped to <code>[0;1]</code>
+	 */
+	public Color getColor(float fraction) {
+		return ColorUtils.getColor(getRGB(fraction));
+	}
+
+	/**
+	 * Returns the index of the nearest entry to the given fraction of the ramp.
+	 *
+	 * @param fraction position on the ramp, clamped to <code>[0;1]</code>
+	 */
+	public int getIndex(float fraction) {
+		if (!(fraction > 0))
+			return 0;
+		if (fraction >= 1)
+			return rgb.length - 1;
+		return (int)(fraction * (rgb.length - 1) + 0.5f);
+	}
+
+	/**
+	 * Returns a copy of all ARGB values of this table.
+	 */
+	public int[] toArray() {
+		return rgb.clone();
+	}
+
+	// ========== static ==========
+
+	/**
+	 * Returns a shared table for given colors and resolution. Recently used tables are kept in a small cache, so
+	 * painters with the same colors reuse the same table.
+	 *
+	 * @param resolution number of entries of the table, at least <code>2</code>
+	 * @param colors colors of the ramp, at least one
+	 * @return shared table
+	 */
+	public static GradientLUT get(int resolution, Color... colors) {
+		List<Object> key = new ArrayList<Object>(colors.length + 1);
+
+		key.add(resolution);
+
+		for (Color color : colors)
+			key.add(color.getRGB());
+
+		synchronized (CACHE) {
+			GradientLUT lut = CACHE.get(key);
+
+			if (lut == null)
+				CACHE.put(key, lut = new GradientLUT(resolution, colors));
+
+			return lut;
+		}
+	}
+
+	/**
+	 * Interpolates each channel of two ARGB colors with the same rounding as
+	 * {@link ColorUtils#interpolate(Color, Color, double)}.
+	 */
+	private static int interpolate(int rgb1, int rgb2, double ratio) {
+		int res = 0;
+
+		for (int shift = 0; shift < 32; shift += 8) {
+			int a = (rgb1 >>> shift) & 0xFF;
+			int b = (rgb2 >>> shift) & 0xFF;
+			res |= ((int)Math.round(a + (b - a) * ratio) & 0xFF) << shift;
+		}
+
+		return res;
+	}
+}
@@ -1,12 +1,18 @@
 package cop.swing.utils;
 
+import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsEnvironment;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.Paint;
+import java.awt.RadialGradientPaint;
 import java.awt.Shape;
 import java.awt.Transparency;
 import java.awt.geom.Area;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 /**
  * @author Oleg Cherednik
@@ -66,4 +72,31 @@ public final class GraphicsUtils {
 		g.setClip(area);
 		return oldClip;
 	}
+
+	/**
+	 * Returns a key that is equal for paints painting the same pixels. {@link Color}s are compared by value already;
+	 * {@link LinearGradientPaint} and {@link RadialGradientPaint} are described by all theirs parameters; any other
+	 * paint is its own key.
+	 * 
+	 * @param paint paint (can be <code>null</code>)
+	 * @return key of the paint, that can be a part of a cache key
+	 */
+	public static Object getPaintKey(Paint paint) {
+		if (paint instanceof LinearGradientPaint) {
+			LinearGradientPaint gradient = (LinearGradientPaint)paint;
+			return Arrays.asList(LinearGradientPaint.class, gradient.getStartPoint(), gradient.getEndPoint(),
+					getGradientKey(gradient));
+		}
+		if (paint instanceof RadialGradientPaint) {
+			RadialGradientPaint gradient = (RadialGradientPaint)paint;
+			return Arrays.asList(RadialGradientPaint.class, gradient.getCenterPoint(), gradient.getRadius(),
+					gradient.getFocusPoint(), getGradientKey(gradient));
+		}
+		return paint;
+	}
+
+	private static Object getGradientKey(MultipleGradientPaint gradient) {
+		return Arrays.asList(Arrays.toString(gradient.getFractions()), Arrays.asList(gradient.getColors()),
+				gradient.getCycleMethod(), gradient.getColorSpace(), gradient.getTransform());
+	}
 }
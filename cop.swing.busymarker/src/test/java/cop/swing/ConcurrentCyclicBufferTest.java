@@ -0,0 +1,103 @@
+package cop.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class ConcurrentCyclicBufferTest {
+	private static final int PRODUCERS = 4;
+	private static final int TOTAL = 100000;
+
+	@Test
+	public void testOverrideOldest() {
+		ConcurrentCyclicBuffer<Integer> buf = new ConcurrentCyclicBuffer<Integer>(3);
+
+		for (int i = 1; i <= 5; i++)
+			buf.offer(i);
+
+		assertEquals(3, buf.size());
+		assertEquals(Arrays.asList(3, 4, 5), buf.snapshot());
+		assertEquals(2, buf.getOverwrittenCount());
+
+		assertEquals(Integer.valueOf(3), buf.poll());
+		assertEquals(Arrays.asList(4, 5), buf.snapshot());
+
+		List<Integer> res = new ArrayList<Integer>();
+		assertEquals(2, buf.drainTo(res));
+		assertEquals(Arrays.asList(4, 5), res);
+		assertNull(buf.poll());
+		assertTrue(buf.isEmpty());
+	}
+
+	@Test
+	public void testManyProducersOneConsumer() throws InterruptedException {
+		final ConcurrentCyclicBuffer<long[]> buf = new ConcurrentCyclicBuffer<long[]>(1000);
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<Thread>(PRODUCERS);
+
+		for (int i = 0; i < PRODUCERS; i++) {
+			final int producer = i;
+			Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch(InterruptedException e) {
+						return;
+					}
+
+					for (int j = 0; j < TOTAL; j++)
+						buf.offer(new long[] { producer, j });
+				}
+			};
+
+			thread.start();
+			threads.add(thread);
+		}
+
+		long[] last = new long[PRODUCERS];
+		Arrays.fill(last, -1);
+		List<long[]> res = new ArrayList<long[]>();
+		long received = 0;
+
+		start.countDown();
+
+		while (true) {
+			boolean alive = isAlive(threads);
+
+			res.clear();
+			buf.drainTo(res);
+
+			for (long[] obj : res) {
+				// objects of one producer come in order, without duplicates
+				assertTrue(obj[1] > last[(int)obj[0]]);
+				last[(int)obj[0]] = obj[1];
+			}
+
+			received += res.size();
+
+			if (!alive && buf.isEmpty())
+				break;
+		}
+
+		assertEquals(PRODUCERS * TOTAL, received + buf.getOverwrittenCount());
+	}
+
+	private static boolean isAlive(List<Thread> threads) {
+		for (Thread thread : threads)
+			if (thread.isAlive())
+				return true;
+		return false;
+	}
+}
@@ -0,0 +1,126 @@
+package cop.swing;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class RingBufferTest {
+	@Test
+	public void testAddOverridesOldest() {
+		LongRingBuffer buf = new LongRingBuffer(3);
+
+		for (long i = 1; i <= 5; i++)
+			buf.add(i);
+
+		assertEquals(3, buf.size());
+		assertTrue(buf.isFull());
+		assertEquals(3, buf.getFirst());
+		assertEquals(5, buf.getLast());
+		assertEquals(4, buf.get(1));
+		assertEquals(12, buf.getSum());
+		assertArrayEquals(new long[] { 3, 4, 5 }, buf.toArray());
+	}
+
+	@Test
+	public void testAddAllAndDrainTo() {
+		LongRingBuffer buf = new LongRingBuffer(5);
+
+		buf.add(1);
+		buf.add(2);
+		buf.add(3);
+		buf.addAll(new long[] { 0, 4, 5, 6, 0 }, 1, 3);
+
+		assertEquals(5, buf.size());
+		assertEquals(20, buf.getSum());
+
+		long[] dest = new long[6];
+		assertEquals(5, buf.drainTo(dest, 1));
+		assertArrayEquals(new long[] { 0, 2, 3, 4, 5, 6 }, dest);
+		assertTrue(buf.isEmpty());
+		assertEquals(0, buf.getSum());
+
+		buf.addAll(new long[] { 1, 2, 3, 4, 5, 6, 7 }, 0, 7);
+		assertArrayEquals(new long[] { 3, 4, 5, 6, 7 }, buf.toArray());
+		assertEquals(25, buf.getSum());
+	}
+
+	@Test
+	public void testDoubleRunningSum() {
+		DoubleRingBuffer buf = new DoubleRingBuffer(4);
+
+		for (int i = 0; i < 1000; i++)
+			buf.add(0.1 * i);
+
+		assertEquals(0.1 * (996 + 997 + 998 + 999), buf.getSum(), 1e-9);
+
+		while (!buf.isEmpty())
+			buf.removeFirst();
+
+		assertEquals(0, buf.getSum(), 0);
+	}
+
+	/**
+	 * A full buffer never gets empty, the error of subtracting a huge value must not stay in the sum.
+	 */
+	@Test
+	public void testRunningSumDoesNotDrift() {
+		DoubleRingBuffer buf = new DoubleRingBuffer(10);
+		SampleRingBuffer samples = new SampleRingBuffer(10);
+
+		buf.add(1e20);
+		samples.add(0, 1e20);
+
+		for (int i = 0; i < 30; i++) {
+			buf.add(1);
+			samples.add(1, 1);
+		}
+
+		assertEquals(10, buf.getSum(), 0);
+		assertEquals(10, samples.getValueSum(), 0);
+		assertEquals(10, samples.getTimeSum());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testIndexOutOfBounds() {
+		DoubleRingBuffer buf = new DoubleRingBuffer(4);
+
+		buf.add(1);
+		buf.get(1);
+	}
+
+	@Test
+	public void testSamples() {
+		SampleRingBuffer buf = new SampleRingBuffer(2);
+
+		buf.add(100, 0.1);
+		buf.add(200, 0.2);
+		buf.add(300, 0.3);
+
+		assertEquals(200, buf.getTime(0));
+		assertEquals(0.3, buf.getValue(1), 0);
+		assertEquals(500, buf.getTimeSum());
+		assertEquals(0.5, buf.getValueSum(), 1e-9);
+
+		long[] times = new long[2];
+		double[] values = new double[2];
+		buf.drainTo(times, values, 0);
+		assertArrayEquals(new long[] { 200, 300 }, times);
+		assertEquals(0.2, values[0], 0);
+
+		buf.addAll(times, values, 0, 2);
+		assertEquals(500, buf.getTimeSum());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testEmpty() {
+		new DoubleRingBuffer(1).getLast();
+	}
+}
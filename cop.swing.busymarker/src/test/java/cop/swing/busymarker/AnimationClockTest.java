@@ -0,0 +1,155 @@
+package cop.swing.busymarker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import org.junit.Test;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class AnimationClockTest {
+	private static final int FRAME = AnimationClock.FRAME_DELAY;
+
+	@Test
+	public void testDelayInFrames() {
+		AnimationClock clock = new AnimationClock(false);
+		Counter everyFrame = new Counter(clock, 0);
+		Counter rounded = new Counter(clock, FRAME + FRAME / 2 + 1); // 2 frames
+		Counter everyThird = new Counter(clock, 3 * FRAME);
+
+		advance(clock, 12);
+
+		assertEquals(12, everyFrame.count);
+		assertEquals(6, rounded.count);
+		assertEquals(4, everyThird.count);
+	}
+
+	@Test
+	public void testRounds() {
+		AnimationClock clock = new AnimationClock(false);
+		Counter counter = new Counter(clock, 130 * FRAME); // more than two turns of the wheel
+
+		advance(clock, 129);
+		assertEquals(0, counter.count);
+
+		advance(clock, 1);
+		assertEquals(1, counter.count);
+
+		advance(clock, 129);
+		assertEquals(1, counter.count);
+
+		advance(clock, 1);
+		assertEquals(2, counter.count);
+	}
+
+	@Test
+	public void testFrameBudget() {
+		AnimationClock clock = new AnimationClock(false);
+		Counter[] counters = new Counter[5];
+
+		clock.setFrameBudget(2);
+
+		for (int i = 0; i < counters.length; i++)
+			counters[i] = new Counter(clock, FRAME);
+
+		for (int frame = 1; frame <= 5; frame++) {
+			int before = getTotal(counters);
+
+			clock.advance();
+			assertEquals(2, getTotal(counters) - before);
+		}
+
+		// due timers over the budget are fired first on the next frames, so no timer starves
+		for (Counter counter : counters)
+			assertTrue(counter.count >= 1 && counter.count <= 3);
+	}
+
+	@Test
+	public void testStopAndRestart() {
+		AnimationClock clock = new AnimationClock(false);
+		Counter one = new Counter(clock, FRAME);
+		Counter two = new Counter(clock, FRAME);
+
+		clock.setFrameBudget(1);
+		clock.advance();
+		assertEquals(1, one.count);
+		assertEquals(2, clock.getTimerCount());
+
+		// two is pending now, stopping it removes it from the due timers
+		two.timer.stop();
+		assertFalse(two.timer.isRunning());
+		assertEquals(1, clock.getTimerCount());
+
+		advance(clock, 3);
+		assertEquals(4, one.count);
+		assertEquals(0, two.count);
+
+		one.timer.stop();
+		advance(clock, 3);
+		assertEquals(4, one.count);
+		assertEquals(0, clock.getTimerCount());
+
+		one.timer.setDelay(2 * FRAME);
+		one.timer.start();
+		one.timer.start();
+		assertEquals(1, clock.getTimerCount());
+
+		clock.advance();
+		assertEquals(4, one.count);
+
+		clock.advance();
+		assertEquals(5, one.count);
+	}
+
+	@Test
+	public void testEventIsReused() {
+		AnimationClock clock = new AnimationClock(false);
+		Counter counter = new Counter(clock, FRAME);
+
+		clock.advance();
+		ActionEvent event = counter.event;
+		clock.advance();
+
+		assertSame(counter.timer, event.getSource());
+		assertSame(event, counter.event);
+		assertTrue(counter.timer.isRunning());
+	}
+
+	private static void advance(AnimationClock clock, int frames) {
+		for (int i = 0; i < frames; i++)
+			clock.advance();
+	}
+
+	private static int getTotal(Counter... counters) {
+		int total = 0;
+
+		for (Counter counter : counters)
+			total += counter.count;
+
+		return total;
+	}
+
+	private static final class Counter implements ActionListener {
+		private final AnimationTimer timer;
+		private int count;
+		private ActionEvent event;
+
+		Counter(AnimationClock clock, int delay) {
+			timer = new AnimationTimer(delay, this, clock);
+			timer.start();
+		}
+
+		public void actionPerformed(ActionEvent event) {
+			this.event = event;
+			count++;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package cop.swing.busymarker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import cop.swing.busymarker.estimators.EwmaEstimator;
+import cop.swing.busymarker.estimators.RemainingTimeEstimator;
+import cop.swing.busymarker.models.BusyModel;
+import cop.swing.busymarker.models.DefaultBusyModel;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class RemainingTimeMonitorTest {
+	@Test
+	public void testMode() {
+		BusyModel model = createModel();
+
+		assertSame(RemainingTimeMonitor.Mode.SAMPLES, new RemainingTimeMonitor(model).getMode());
+		assertSame(RemainingTimeMonitor.Mode.HOLT, new RemainingTimeMonitor(model, RemainingTimeMonitor.Mode.HOLT)
+				.getMode());
+		assertNull(new RemainingTimeMonitor(model, new EwmaEstimator()).getMode());
+	}
+
+	@Test
+	public void testEstimator() throws Exception {
+		final DefaultBusyModel model = createModel();
+		final FixedEstimator estimator = new FixedEstimator();
+		final RemainingTimeMonitor monitor = new RemainingTimeMonitor(model, estimator);
+
+		assertEquals(-1, monitor.getRemainingTime());
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				model.setValue(10);
+				model.setValue(20);
+			}
+		});
+
+		assertEquals(2, estimator.updates);
+		assertEquals(0.2, estimator.ratio, 1e-9);
+		assertTrue(monitor.hasNewerEstimation());
+
+		estimator.remaining = TimeUnit.SECONDS.toNanos(3);
+		assertEquals(3000, monitor.getRemainingTime());
+		assertEquals(3, monitor.getRemainingTime(TimeUnit.SECONDS));
+		assertFalse(monitor.hasNewerEstimation());
+
+		estimator.remaining = Long.MAX_VALUE;
+		assertEquals(Long.MAX_VALUE, monitor.getRemainingTime());
+
+		// the monitor is disposed when the task is completed
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				model.setValue(100);
+			}
+		});
+
+		assertEquals(0, monitor.getRemainingTime());
+		assertEquals(0, model.getChangeListeners().length);
+	}
+
+	@Test
+	public void testEwmaMode() throws Exception {
+		final DefaultBusyModel model = createModel();
+		final RemainingTimeMonitor monitor = new RemainingTimeMonitor(model, RemainingTimeMonitor.Mode.EWMA);
+
+		model.setMaximum(1000);
+
+		assertSame(RemainingTimeMonitor.Mode.EWMA, monitor.getMode());
+		assertTrue(monitor.getEstimator() instanceof EwmaEstimator);
+		assertEquals(-1, monitor.getRemainingTime());
+
+		// 10 per 20ms: 0.5 of the task per second
+		for (int i = 1; i <= 30; i++) {
+			final int value = i * 10;
+
+			SwingUtilities.invokeAndWait(new Runnable() {
+				public void run() {
+					model.setValue(value);
+				}
+			});
+			Thread.sleep(20);
+		}
+
+		// 1.4s are left; sleeps are not precise, so only the order of magnitude is checked
+		long remaining = monitor.getRemainingTime();
+
+		assertTrue(String.valueOf(remaining), remaining >= 500 && remaining <= 3000);
+	}
+
+	private static DefaultBusyModel createModel() {
+		DefaultBusyModel model = new DefaultBusyModel();
+		model.setMinimum(0);
+		model.setMaximum(100);
+		return model;
+	}
+
+	// ========== static ==========
+
+	private static final class FixedEstimator implements RemainingTimeEstimator {
+		private int updates;
+		private double ratio;
+		private long remaining = -1;
+
+		public boolean update(long time, double ratio) {
+			updates++;
+			this.ratio = ratio;
+			return true;
+		}
+
+		public long getRemainingTime(long time) {
+			return remaining;
+		}
+
+		public void reset() {
+			updates = 0;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package cop.swing.busymarker.estimators;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import cop.swing.busymarker.RemainingTimeMonitor;
+
+/**
+ * Drives all built-in estimators with synthetic observations.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class RemainingTimeEstimatorTest {
+	/** duration of the synthetic task */
+	private static final long DURATION = TimeUnit.SECONDS.toNanos(100);
+	/** delay between observations, greater than minimum delays of all estimators */
+	private static final long STEP = TimeUnit.SECONDS.toNanos(1);
+	/** rounding error of the extrapolation */
+	private static final long DELTA = TimeUnit.MICROSECONDS.toNanos(1);
+
+	@Test
+	public void testConstantSpeed() {
+		for (RemainingTimeMonitor.Mode mode : RemainingTimeMonitor.Mode.values()) {
+			RemainingTimeEstimator estimator = mode.createEstimator();
+			long time = 0;
+
+			for (int i = 0; i <= 30; i++, time += STEP)
+				estimator.update(time, (double)time / DURATION);
+
+			time -= STEP;
+
+			assertEquals(mode.name(), DURATION - time, estimator.getRemainingTime(time), DELTA);
+			// the time elapsed since the last observation is taken into account
+			assertEquals(mode.name(), DURATION - time - STEP / 2, estimator.getRemainingTime(time + STEP / 2), DELTA);
+		}
+	}
+
+	@Test
+	public void testEwmaWeight() {
+		EwmaEstimator estimator = new EwmaEstimator(10000, 100);
+		long time = TimeUnit.SECONDS.toNanos(10);
+
+		// 1% per second, then 3% per second for the time constant
+		estimator.update(0, 0);
+		estimator.update(time, 0.1);
+		estimator.update(2 * time, 0.4);
+
+		double speed = (0.01 + (1 - Math.exp(-1)) * 0.02) / TimeUnit.SECONDS.toNanos(1);
+
+		assertEquals(0.6 / speed, estimator.getRemainingTime(2 * time), DELTA);
+	}
+
+	@Test
+	public void testStall() {
+		for (RemainingTimeMonitor.Mode mode : RemainingTimeMonitor.Mode.values()) {
+			RemainingTimeEstimator estimator = mode.createEstimator();
+			long time = 0;
+
+			for (int i = 0; i <= 30; i++, time += STEP)
+				estimator.update(time, 0.3);
+
+			assertEquals(mode.name(), Long.MAX_VALUE, estimator.getRemainingTime(time));
+		}
+	}
+
+	@Test
+	public void testNotEnoughObservations() {
+		for (RemainingTimeMonitor.Mode mode : RemainingTimeMonitor.Mode.values()) {
+			RemainingTimeEstimator estimator = mode.createEstimator();
+
+			assertEquals(mode.name(), -1, estimator.getRemainingTime(0));
+			assertFalse(mode.name(), estimator.update(0, 0));
+			assertEquals(mode.name(), -1, estimator.getRemainingTime(0));
+			// too early for any estimator
+			assertFalse(mode.name(), estimator.update(1, 0.1));
+			assertEquals(mode.name(), -1, estimator.getRemainingTime(1));
+			assertTrue(mode.name(), estimator.update(STEP, 0.2));
+			assertTrue(mode.name(), estimator.getRemainingTime(STEP) >= 0);
+		}
+	}
+
+	@Test
+	public void testReset() {
+		for (RemainingTimeMonitor.Mode mode : RemainingTimeMonitor.Mode.values()) {
+			RemainingTimeEstimator estimator = mode.createEstimator();
+			long time = 0;
+
+			for (int i = 0; i <= 10; i++, time += STEP)
+				estimator.update(time, 0.5);
+
+			estimator.reset();
+			assertEquals(mode.name(), -1, estimator.getRemainingTime(time));
+
+			// the stall before the reset is forgotten
+			long start = time;
+
+			for (int i = 0; i <= 30; i++, time += STEP)
+				estimator.update(time, (double)(time - start) / DURATION);
+
+			time -= STEP;
+			assertEquals(mode.name(), DURATION - (time - start), estimator.getRemainingTime(time), DELTA);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package cop.swing.busymarker.icons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.awt.BasicStroke;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import cop.swing.busymarker.models.DefaultBusyModel;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class AbstractBusyIconTest {
+	@Test
+	public void testGraphicsStateIsRestored() {
+		StateIcon icon = new StateIcon();
+		DefaultBusyModel model = new DefaultBusyModel();
+		BufferedImage img = new BufferedImage(icon.getIconWidth(), icon.getIconHeight(), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = img.createGraphics();
+
+		model.setDeterminate(false);
+		model.setBusy(true);
+		icon.setModel(model);
+
+		try {
+			icon.paintIcon(null, g2d, 0, 0);
+			Stroke stroke = icon.stroke;
+			Object antialiasing = icon.antialiasing;
+
+			icon.repaint(true);
+			icon.paintIcon(null, g2d, 0, 0);
+
+			assertEquals(stroke, icon.stroke);
+			assertEquals(antialiasing, icon.antialiasing);
+			assertNull(icon.clip);
+		} finally {
+			g2d.dispose();
+			model.setBusy(false);
+		}
+	}
+
+	// ========== static ==========
+
+	/**
+	 * Records the graphics state a frame is painted with and then changes it.
+	 */
+	private static final class StateIcon extends AbstractBusyIcon {
+		private Stroke stroke;
+		private Object antialiasing;
+		private Object clip;
+
+		@Override
+		protected void paintUndeterminate(Component c, Graphics g, int x, int y, int frame) {
+			Graphics2D g2d = (Graphics2D)g;
+
+			stroke = g2d.getStroke();
+			antialiasing = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+			clip = g2d.getClip();
+
+			g2d.setStroke(new BasicStroke(5));
+			g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g2d.clipRect(1, 1, 2, 2);
+			g2d.translate(3, 3);
+		}
+
+		@Override
+		protected void paintDeterminate(Component c, Graphics g, int x, int y, double ratio) {}
+
+		@Override
+		protected void paintIdle(Component c, Graphics g, int x, int y) {}
+
+		@Override
+		protected float getSignificantRatioOffset() {
+			return 0.01f;
+		}
+
+		public int getIconWidth() {
+			return 8;
+		}
+
+		public int getIconHeight() {
+			return 8;
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package cop.swing.busymarker.icons;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+import javax.swing.Icon;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import cop.swing.busymarker.models.DefaultBusyModel;
+import cop.swing.utils.GraphicsUtils;
+
+/**
+ * Checks that painting the frames of an undeterminate animation doesn't allocate anything once the icon is warmed up.
+ * <p>
+ * Allocated bytes are measured with <code>com.sun.management.ThreadMXBean</code>; the test is skipped when the JVM
+ * doesn't support it.
+ *
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class BusyIconAllocationTest {
+	private static final int WARMUP = 20000;
+	private static final int FRAMES = 2000;
+	private static final int ROUNDS = 10;
+
+	@Test
+	public void testDefaultBusyIcon() throws Exception {
+		assertNoAllocation(new DefaultBusyIcon(new SquareIcon(32)));
+	}
+
+	@Test
+	public void testRadialBusyIcon() throws Exception {
+		assertNoAllocation(new RadialBusyIcon(new SquareIcon(32)));
+	}
+
+	private static void assertNoAllocation(AbstractBusyIcon icon) throws Exception {
+		com.sun.management.ThreadMXBean bean = getThreadMXBean();
+		Assume.assumeTrue(bean != null);
+
+		DefaultBusyModel model = new DefaultBusyModel();
+		model.setDeterminate(false);
+		model.setBusy(true);
+		icon.setModel(model);
+		icon.addChangeListener(new ChangeListener() {
+			public void stateChanged(ChangeEvent e) {}
+		});
+
+		BufferedImage img = GraphicsUtils.createCompatibleTranslucentImage(icon.getIconWidth(), icon.getIconHeight());
+		Graphics2D g2d = img.createGraphics();
+		long thread = Thread.currentThread().getId();
+		long[] allocated = new long[ROUNDS];
+
+		try {
+			paint(icon, g2d, WARMUP);
+
+			for (int i = 0; i < ROUNDS; i++) {
+				long before = bean.getThreadAllocatedBytes(thread);
+				paint(icon, g2d, FRAMES);
+				allocated[i] = bean.getThreadAllocatedBytes(thread) - before;
+			}
+		} finally {
+			g2d.dispose();
+			model.setBusy(false);
+		}
+
+		// every round after the warmup is allocation free
+		assertArrayEquals(new long[ROUNDS], allocated);
+	}
+
+	/**
+	 * Frames are advanced by the animation timer of the icon; each paint is forced to render the current frame instead
+	 * of using the buffer image.
+	 */
+	private static void paint(AbstractBusyIcon icon, Graphics2D g2d, int frames) {
+		for (int i = 0; i < frames; i++) {
+			icon.repaint(true);
+			icon.paintIcon(null, g2d, 0, 0);
+		}
+	}
+
+	private static com.sun.management.ThreadMXBean getThreadMXBean() {
+		try {
+			Object bean = ManagementFactory.getThreadMXBean();
+
+			if (!(bean instanceof com.sun.management.ThreadMXBean))
+				return null;
+
+			com.sun.management.ThreadMXBean res = (com.sun.management.ThreadMXBean)bean;
+			return res.isThreadAllocatedMemorySupported() && res.isThreadAllocatedMemoryEnabled() ? res : null;
+		} catch(LinkageError e) {
+			return null;
+		}
+	}
+
+	// ========== static ==========
+
+	private static final class SquareIcon implements Icon {
+		private final int size;
+
+		SquareIcon(int size) {
+			this.size = size;
+		}
+
+		public void paintIcon(Component c, Graphics g, int x, int y) {
+			g.fillRect(x, y, size, size);
+		}
+
+		public int getIconWidth() {
+			return size;
+		}
+
+		public int getIconHeight() {
+			return size;
+		}
+	}
+}
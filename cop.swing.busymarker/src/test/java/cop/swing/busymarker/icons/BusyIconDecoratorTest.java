@@ -0,0 +1,158 @@
+package cop.swing.busymarker.icons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.Icon;
+import javax.swing.JLabel;
+
+import org.junit.Test;
+
+import cop.swing.busymarker.models.DefaultBusyModel;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class BusyIconDecoratorTest {
+	private static final int FRAMES = 26;
+
+	@Test
+	public void testOverriddenProgressBarIsPaintedWithComponent() {
+		final Component comp = new JLabel();
+		final int[] calls = new int[2];
+
+		DefaultBusyIcon defaultIcon = new DefaultBusyIcon(new SquareIcon(32)) {
+			@Override
+			protected void paintProgressBar(Component c, Graphics g, Rectangle bounds, boolean determinate) {
+				assertSame(comp, c);
+				calls[0]++;
+			}
+		};
+		RadialBusyIcon radialIcon = new RadialBusyIcon(new SquareIcon(32)) {
+			@Override
+			protected void paintProgressBarAdvance(Component c, Graphics g, boolean determinate, double start,
+					double end) {
+				assertSame(comp, c);
+				calls[1]++;
+			}
+		};
+
+		paintFrames(defaultIcon, comp);
+		paintFrames(radialIcon, comp);
+
+		assertEquals(FRAMES, calls[0]);
+		assertEquals(FRAMES, calls[1]);
+	}
+
+	@Test
+	public void testBackgroundDoesNotLeakIntoDecoratedIcon() {
+		final List<List<Object>> states = new ArrayList<List<Object>>();
+
+		DefaultBusyIcon overridden = new DefaultBusyIcon(new SquareIcon(32)) {
+			@Override
+			protected void paintBackground(Component obj, Graphics g) {
+				Graphics2D g2d = (Graphics2D)g;
+
+				states.add(getState(g2d));
+				g2d.setClip(0, 0, 1, 1);
+				g2d.scale(2, 2);
+				g2d.setComposite(AlphaComposite.Clear);
+				g2d.setPaint(Color.red);
+			}
+
+			@Override
+			protected void paintDecoratedIcon(Graphics g, int x, int y) {
+				states.add(getState((Graphics2D)g));
+			}
+		};
+
+		paintFrames(overridden, null);
+		assertEquals(2 * FRAMES, states.size());
+
+		for (int i = 0; i < states.size(); i += 2)
+			assertEquals(states.get(i), states.get(i + 1));
+
+		// the default background leaves the same state as no background at all
+		DefaultBusyIcon icon = new DefaultBusyIcon(new SquareIcon(32)) {
+			@Override
+			protected void paintDecoratedIcon(Graphics g, int x, int y) {
+				states.add(getState((Graphics2D)g));
+			}
+		};
+
+		states.clear();
+		icon.setBackgroundPainted(false);
+		paintFrames(icon, null);
+		icon.setBackgroundPainted(true);
+		paintFrames(icon, null);
+
+		assertEquals(2 * FRAMES, states.size());
+		assertEquals(states.get(0), states.get(FRAMES));
+	}
+
+	private static List<Object> getState(Graphics2D g2d) {
+		return Arrays.asList(g2d.getClip(), g2d.getTransform(), g2d.getComposite(), g2d.getPaint(), g2d.getStroke(),
+				g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING), getInterpolation(g2d));
+	}
+
+	private static Object getInterpolation(Graphics2D g2d) {
+		Object interpolation = g2d.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+		return interpolation != null ? interpolation : DefaultBusyIcon.getDefaultInterpolation(g2d);
+	}
+
+	private static void paintFrames(AbstractBusyIcon icon, Component comp) {
+		DefaultBusyModel model = new DefaultBusyModel();
+		BufferedImage img = new BufferedImage(icon.getIconWidth(), icon.getIconHeight(), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = img.createGraphics();
+
+		model.setDeterminate(false);
+		model.setBusy(true);
+		icon.setModel(model);
+
+		try {
+			for (int i = 0; i < FRAMES; i++) {
+				icon.repaint(true);
+				icon.paintIcon(comp, g2d, 0, 0);
+			}
+		} finally {
+			g2d.dispose();
+			model.setBusy(false);
+		}
+	}
+
+	// ========== static ==========
+
+	private static final class SquareIcon implements Icon {
+		private final int size;
+
+		SquareIcon(int size) {
+			this.size = size;
+		}
+
+		public void paintIcon(Component c, Graphics g, int x, int y) {
+			g.fillRect(x, y, size, size);
+		}
+
+		public int getIconWidth() {
+			return size;
+		}
+
+		public int getIconHeight() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package cop.swing.busymarker.icons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import cop.swing.busymarker.models.BusyState;
+import cop.swing.busymarker.models.DefaultBusyModel;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class IconFrameCacheTest {
+	private static final int SIZE = 10;
+	private static final int PIXELS = SIZE * SIZE;
+
+	private final IconFrameCache cache = IconFrameCache.getInstance();
+
+	@Before
+	public void setUp() {
+		cache.clear();
+		cache.resetStatistics();
+	}
+
+	@After
+	public void tearDown() {
+		cache.setMaximumSize(IconFrameCache.DEF_MAXIMUM_SIZE);
+		cache.clear();
+		cache.resetStatistics();
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		cache.setMaximumSize(3 * PIXELS);
+
+		BufferedImage img1 = createImage(SIZE);
+
+		cache.put(createKey(1), img1);
+		cache.put(createKey(2), createImage(SIZE));
+		cache.put(createKey(3), createImage(SIZE));
+		assertEquals(3 * PIXELS, cache.getSize());
+
+		assertSame(img1, cache.get(createKey(1))); // the 2nd frame is the least recently used now
+		cache.put(createKey(4), createImage(SIZE));
+
+		assertEquals(3, cache.getFrameCount());
+		assertEquals(3 * PIXELS, cache.getSize());
+		assertEquals(1, cache.getEvictionCount());
+		assertNull(cache.get(createKey(2)));
+		assertNotNull(cache.get(createKey(1)));
+		assertNotNull(cache.get(createKey(3)));
+		assertNotNull(cache.get(createKey(4)));
+	}
+
+	@Test
+	public void testMaximumSize() {
+		for (int i = 0; i < 4; i++)
+			cache.put(createKey(i), createImage(SIZE));
+
+		cache.setMaximumSize(PIXELS);
+
+		assertEquals(1, cache.getFrameCount());
+		assertEquals(PIXELS, cache.getSize());
+		assertEquals(3, cache.getEvictionCount());
+		assertNotNull(cache.get(createKey(3)));
+
+		// a frame bigger than the cache is not cached at all
+		cache.put(createKey(5), createImage(SIZE + 1));
+		assertNull(cache.get(createKey(5)));
+		assertEquals(1, cache.getFrameCount());
+
+		cache.setMaximumSize(0);
+		assertEquals(0, cache.getFrameCount());
+		assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	public void testStatistics() {
+		assertNull(cache.get(createKey(1)));
+		cache.put(createKey(1), createImage(SIZE));
+		assertNotNull(cache.get(createKey(1)));
+		assertNotNull(cache.get(createKey(1)));
+
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		cache.resetStatistics();
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+	}
+
+	@Test
+	public void testReclaimedFrameIsEvicted() throws Exception {
+		cache.put(createKey(1), createImage(SIZE));
+		cache.put(createKey(2), createImage(SIZE));
+
+		// simulate the GC clearing the soft reference of the 1st frame
+		((Reference<?>)getFrames().get(createKey(1))).clear();
+
+		assertNull(cache.get(createKey(1)));
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getFrameCount());
+		assertEquals(PIXELS, cache.getSize());
+	}
+
+	@Test
+	public void testEqualIconsShareFrames() {
+		DefaultBusyModel model = new DefaultBusyModel();
+		InfiniteBusyIcon icon1 = new InfiniteBusyIcon(model);
+		InfiniteBusyIcon icon2 = new InfiniteBusyIcon(model);
+
+		paint(icon1);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(0, cache.getHitCount());
+
+		paint(icon2);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getFrameCount());
+
+		// an icon of another size doesn't share frames
+		paint(new InfiniteBusyIcon(32, 32, model));
+		assertEquals(2, cache.getMissCount());
+		assertEquals(2, cache.getFrameCount());
+	}
+
+	private Map<?, ?> getFrames() throws Exception {
+		Field field = IconFrameCache.class.getDeclaredField("frames");
+		field.setAccessible(true);
+		return (Map<?, ?>)field.get(cache);
+	}
+
+	private static IconFrameCache.FrameKey createKey(int index) {
+		return new IconFrameCache.FrameKey(IconFrameCacheTest.class, "config", BusyState.UNDETERMINATE, index, SIZE,
+				SIZE);
+	}
+
+	private static BufferedImage createImage(int size) {
+		return new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	private static void paint(AbstractBusyIcon icon) {
+		BufferedImage img = createImage(Math.max(icon.getIconWidth(), icon.getIconHeight()));
+		Graphics2D g2d = img.createGraphics();
+
+		try {
+			icon.paintIcon(null, g2d, 0, 0);
+		} finally {
+			g2d.dispose();
+		}
+	}
+}
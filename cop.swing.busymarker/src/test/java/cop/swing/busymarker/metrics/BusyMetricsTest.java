@@ -0,0 +1,99 @@
+package cop.swing.busymarker.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.SwingUtilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import cop.swing.busymarker.models.DefaultBusyModel;
+import cop.swing.busymarker.ui.DefaultBusyLockableUI;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class BusyMetricsTest {
+	@Before
+	public void setUp() {
+		BusyMetrics.reset();
+		BusyMetrics.setEnabled(true);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		BusyMetrics.setEnabled(false);
+		BusyMetrics.reset();
+		BusyMetrics.unregisterMBean();
+	}
+
+	@Test
+	public void testModelEvents() throws Exception {
+		final DefaultBusyModel model = new DefaultBusyModel();
+
+		model.setMaximum(10);
+		model.setValue(5); // off the EDT
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				model.setValue(6);
+			}
+		});
+
+		assertEquals(Long.valueOf(2), BusyMetrics.getValue("model.invokeLater"));
+		assertEquals(3, BusyMetrics.MODEL_EVENTS.getValue());
+		assertEquals(3, model.getStateChangedEventCount());
+		assertTrue(BusyMetrics.getValues().containsKey("model.dispatchTime"));
+	}
+
+	@Test
+	public void testLockedUiCollected() throws Exception {
+		final long[] locked = new long[1];
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				DefaultBusyLockableUI ui = new DefaultBusyLockableUI();
+
+				locked[0] = BusyMetrics.getValue("ui.locked");
+				ui.setLocked(true);
+			}
+		});
+
+		assertEquals(locked[0] + 1, BusyMetrics.getValue("ui.locked").longValue());
+
+		// the UI is dropped while locked
+		for (int i = 0; i < 50 && BusyMetrics.getValue("ui.locked") > locked[0]; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertEquals(locked[0], BusyMetrics.getValue("ui.locked").longValue());
+	}
+
+	@Test
+	public void testDisabled() {
+		BusyMetrics.setEnabled(false);
+		BusyMetrics.MODEL_EVENTS.increment();
+		assertEquals(0, BusyMetrics.MODEL_EVENTS.getValue());
+	}
+
+	@Test
+	public void testMBean() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(BusyMetrics.OBJECT_NAME);
+
+		BusyMetrics.registerMBean();
+		BusyMetrics.UI_LOCKS.add(3);
+
+		assertEquals(Long.valueOf(3), server.getAttribute(name, "ui.locks"));
+		server.invoke(name, "reset", new Object[0], new String[0]);
+		assertEquals(0, BusyMetrics.UI_LOCKS.getValue());
+	}
+}
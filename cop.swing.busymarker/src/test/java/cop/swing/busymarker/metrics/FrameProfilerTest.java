@@ -0,0 +1,107 @@
+package cop.swing.busymarker.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class FrameProfilerTest {
+	private static final long PERIOD = TimeUnit.MILLISECONDS.toNanos(10);
+
+	@Test
+	public void testSkippedFrames() {
+		FrameProfiler profiler = new FrameProfiler("test", PERIOD);
+		long time = System.nanoTime();
+
+		profiler.paintFinished(time, true);
+		profiler.paintFinished(time + PERIOD, true);
+		profiler.paintFinished(time + 4 * PERIOD, true); // 2 frames skipped
+		profiler.paintFinished(time + 10 * PERIOD, false);
+		profiler.paintFinished(time + 20 * PERIOD, true); // animation restarted
+
+		assertEquals(5, profiler.getPaintCount());
+		assertEquals(2, profiler.getSkippedFrames());
+	}
+
+	@Test
+	public void testCacheAndDump() {
+		FrameProfiler profiler = new FrameProfiler("testCacheAndDump", 0);
+
+		assertEquals(-1, profiler.getCacheHitRatio(), 0);
+
+		profiler.cacheHit();
+		profiler.cacheHit();
+		profiler.cacheHit();
+		profiler.cacheMiss();
+		profiler.renderFinished(System.nanoTime(), false);
+
+		assertEquals(0.75, profiler.getCacheHitRatio(), 0);
+		assertEquals(1, profiler.getUndeterminateCount());
+		assertTrue(FrameProfiler.getProfilers().contains(profiler));
+		assertTrue(FrameProfiler.dump().contains("testCacheAndDump: paints=0"));
+
+		profiler.reset();
+		assertEquals(0, profiler.getCacheHits());
+	}
+
+	@Test
+	public void testOverlay() {
+		FrameProfiler profiler = new FrameProfiler("testOverlay", 0);
+
+		profiler.overlayFinished(System.nanoTime());
+
+		assertEquals(1, profiler.getOverlayCount());
+		assertEquals(0, profiler.getDeterminateCount());
+		assertEquals(0, profiler.getUndeterminateCount());
+		assertTrue(profiler.toString().contains("overlay=1/"));
+
+		profiler.reset();
+		assertEquals(0, profiler.getOverlayCount());
+		assertEquals(0, profiler.getOverlayTime());
+	}
+
+	@Test
+	public void testCollectedProfilersArePruned() throws Exception {
+		WeakReference<FrameProfiler> ref = new WeakReference<FrameProfiler>(new FrameProfiler("collected", 0));
+
+		for (int i = 0; i < 50 && ref.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		Assume.assumeTrue(ref.get() == null);
+
+		// wait for the reference to be enqueued, then creating of a profiler removes it
+		Thread.sleep(100);
+		FrameProfiler profiler = new FrameProfiler("pruning", 0);
+
+		assertEquals(0, getCollectedCount());
+		assertTrue(FrameProfiler.getProfilers().contains(profiler));
+	}
+
+	private static int getCollectedCount() throws Exception {
+		Field field = FrameProfiler.class.getDeclaredField("PROFILERS");
+		field.setAccessible(true);
+		List<?> profilers = (List<?>)field.get(null);
+		int res = 0;
+
+		synchronized (profilers) {
+			for (Object ref : profilers)
+				if (((WeakReference<?>)ref).get() == null)
+					res++;
+		}
+
+		return res;
+	}
+}
@@ -0,0 +1,63 @@
+package cop.swing.busymarker.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import cop.swing.busymarker.models.DefaultBusyModel;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class LatencyHistogramTest {
+	@Test
+	public void testBuckets() {
+		for (long nanos = 0; nanos < 1L << 42; nanos = nanos * 3 / 2 + 1) {
+			int index = LatencyHistogram.getIndex(nanos);
+
+			assertTrue(nanos <= LatencyHistogram.getUpperBound(index));
+			assertTrue(index == 0 || nanos > LatencyHistogram.getUpperBound(index - 1));
+		}
+	}
+
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		for (long i = 1; i <= 1000; i++)
+			histogram.record(i * 1000);
+
+		assertEquals(1000, histogram.getCount());
+		assertEquals(500500, histogram.getMean());
+		assertEquals(1000000, histogram.getMax());
+		assertEquals(500000, histogram.getPercentile(50), 500000 / 16);
+		assertEquals(990000, histogram.getPercentile(99), 990000 / 16);
+		assertEquals(1000000, histogram.getPercentile(100));
+
+		histogram.reset();
+		assertEquals(0, histogram.getPercentile(50));
+	}
+
+	@Test
+	public void testModelLatency() throws Exception {
+		DefaultBusyModel model = new DefaultBusyModel();
+
+		model.setLatencyTrackingEnabled(true);
+		model.setMaximum(10);
+		model.setValue(5);
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {}
+		});
+
+		LatencyHistogram histogram = model.getLatencyHistogram();
+		assertNotNull(histogram);
+		assertEquals(2, histogram.getCount());
+		assertTrue(BusyMetrics.EDT_LATENCY.getCount() >= 2);
+	}
+}
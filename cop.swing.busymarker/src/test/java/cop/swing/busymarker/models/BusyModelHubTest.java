@@ -0,0 +1,164 @@
+package cop.swing.busymarker.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import org.junit.Test;
+
+@SuppressWarnings("static-method")
+public class BusyModelHubTest {
+	private static final double DELTA = 1e-9;
+	private static final int UPDATE_RATE = 10;
+	private static final long UPDATE_INTERVAL = TimeUnit.SECONDS.toNanos(1) / UPDATE_RATE;
+
+	@Test
+	public void testFlatHub() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				BusyModel master = createModel(1000);
+				BusyModelHub hub = BusyModelHub.split(master, 1, 3);
+				BusyModel[] models = hub.getModels();
+
+				models[0].setValue(100);
+				assertEquals(250, master.getValue());
+
+				models[1].setValue(50);
+				assertEquals(625, master.getValue());
+
+				hub.setWeight(models[0], 3);
+				assertEquals(750, master.getValue());
+
+				hub.removeModel(models[1]);
+				assertEquals(1000, master.getValue());
+			}
+		});
+	}
+
+	@Test
+	public void testNestedHub() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				BusyModel master = createModel(1000);
+				BusyModelHub job = new BusyModelHub(master);
+				BusyModelHub stage1 = job.createHub(1);
+				BusyModelHub stage2 = job.createHub(1);
+				BusyModelHub partition = stage2.createHub(1);
+				BusyModel file1 = partition.createModel(1);
+				BusyModel file2 = partition.createModel(1);
+
+				assertSame(job, stage2.getParent());
+				assertSame(stage2, partition.getParent());
+
+				file1.setValue(100);
+				assertEquals(0.5, partition.getRatio(), DELTA);
+				assertEquals(0.5, stage2.getRatio(), DELTA);
+				assertEquals(0.25, job.getRatio(), DELTA);
+				assertEquals(250, master.getValue());
+
+				file2.setValue(100);
+				stage1.createModel(1).setValue(100);
+				assertEquals(1, job.getRatio(), DELTA);
+				assertEquals(1000, master.getValue());
+
+				stage2.removeModel(partition.getMasterModel());
+				assertNull(partition.getParent());
+				assertEquals(0.5, job.getRatio(), DELTA);
+			}
+		});
+	}
+
+	@Test
+	public void testMaximumUpdateRate() throws Exception {
+		final BusyModel master = createModel(1000);
+		final BusyModelHub hub = new BusyModelHub();
+		final BusyModel model = hub.createModel(1);
+		final List<Long> updates = new ArrayList<Long>();
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				model.setMaximum(1000);
+				hub.setMasterModel(master);
+				hub.setMaximumUpdateRate(UPDATE_RATE);
+				master.addChangeListener(new ChangeListener() {
+					public void stateChanged(ChangeEvent e) {
+						updates.add(System.nanoTime());
+					}
+				});
+			}
+		});
+
+		for (int i = 1; i < 100; i++) {
+			final int value = i;
+
+			SwingUtilities.invokeAndWait(new Runnable() {
+				public void run() {
+					model.setValue(value);
+				}
+			});
+			Thread.sleep(5);
+		}
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				int total = updates.size();
+
+				// the final update is applied at once
+				model.setValue(1000);
+				assertEquals(1000, master.getValue());
+				assertEquals(total + 1, updates.size());
+			}
+		});
+
+		assertTrue(updates.size() > 2);
+
+		// the timer has a millisecond resolution, so it can fire up to 1 ms earlier
+		for (int i = 1; i < updates.size() - 1; i++)
+			assertTrue(updates.get(i) - updates.get(i - 1) >= UPDATE_INTERVAL - TimeUnit.MILLISECONDS.toNanos(2));
+	}
+
+	@Test
+	public void testRecalculate() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				BusyModel master = createModel(1000);
+				BusyModelHub hub = BusyModelHub.split(master, 1, 1, 1);
+				BusyModel[] models = hub.getModels();
+
+				for (BusyModel model : models)
+					model.setMaximum(3);
+
+				for (int i = 0; i < 10000; i++)
+					models[i % 3].setValue(i % 4);
+
+				for (BusyModel model : models)
+					model.setValue(0);
+
+				assertEquals(0, hub.getRatio(), DELTA);
+				assertEquals(0, master.getValue());
+
+				for (BusyModel model : models)
+					model.setValue(3);
+
+				assertEquals(1, hub.getRatio(), DELTA);
+				assertEquals(1000, master.getValue());
+			}
+		});
+	}
+
+	private static BusyModel createModel(int maximum) {
+		BusyModel model = new DefaultBusyModel();
+		model.setMinimum(0);
+		model.setMaximum(maximum);
+		return model;
+	}
+}
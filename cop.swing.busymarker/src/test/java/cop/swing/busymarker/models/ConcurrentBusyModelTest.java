@@ -0,0 +1,91 @@
+package cop.swing.busymarker.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+@SuppressWarnings("static-method")
+public class ConcurrentBusyModelTest {
+	private static final int THREADS = 8;
+	private static final int UPDATES = 10000;
+
+	@Test
+	public void testRangeNormalization() {
+		ConcurrentBusyModel model = new ConcurrentBusyModel();
+
+		model.setRangeProperties(50, 10, 0, 100, false);
+		model.setValue(200);
+		assertEquals(90, model.getValue());
+
+		model.setMaximum(40);
+		BusyModelSnapshot snapshot = model.getSnapshot();
+		assertEquals(40, snapshot.getMaximum());
+		assertTrue(snapshot.getValue() + snapshot.getExtent() <= snapshot.getMaximum());
+
+		model.setMinimum(60);
+		snapshot = model.getSnapshot();
+		assertEquals(60, snapshot.getMinimum());
+		assertEquals(60, snapshot.getMaximum());
+		assertEquals(60, snapshot.getValue());
+		assertEquals(0, snapshot.getExtent());
+	}
+
+	@Test
+	public void testAutoCompletion() {
+		ConcurrentBusyModel model = new ConcurrentBusyModel();
+
+		model.setAutoCompletionEnabled(true);
+		model.setDeterminate(true);
+		model.setValue(50);
+		model.setBusy(true);
+		assertEquals(0, model.getValue());
+
+		model.setValue(100);
+		assertFalse(model.isBusy());
+	}
+
+	@Test
+	public void testConcurrentUpdates() throws InterruptedException {
+		final ConcurrentBusyModel model = new ConcurrentBusyModel();
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[THREADS];
+
+		model.setMaximum(UPDATES);
+		model.setBusy(true);
+
+		for (int i = 0; i < THREADS; i++) {
+			final int id = i;
+
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+
+					for (int j = 0; j <= UPDATES; j++) {
+						model.setValue(j);
+						model.setDeterminate(id % 2 == 0);
+					}
+				}
+			};
+			threads[i].start();
+		}
+
+		start.countDown();
+
+		for (Thread thread : threads)
+			thread.join();
+
+		BusyModelSnapshot snapshot = model.getSnapshot();
+		assertTrue(snapshot.isBusy());
+		assertTrue(snapshot.getValue() <= UPDATES);
+		assertEquals(UPDATES, snapshot.getMaximum());
+	}
+}
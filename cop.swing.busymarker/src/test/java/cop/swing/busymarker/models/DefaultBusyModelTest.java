@@ -0,0 +1,106 @@
+package cop.swing.busymarker.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import org.junit.Test;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class DefaultBusyModelTest {
+	private static final int UPDATES = 100;
+
+	@Test
+	public void testCoalescing() throws Exception {
+		final DefaultBusyModel model = new DefaultBusyModel();
+		final List<Integer> values = new ArrayList<Integer>();
+		final List<Boolean> busy = new ArrayList<Boolean>();
+		final List<String> actions = new ArrayList<String>();
+
+		model.setDeterminate(false);
+		model.setMaximum(1000);
+		flushEdt();
+
+		model.setCoalescingEnabled(true);
+		model.addChangeListener(new ChangeListener() {
+			public void stateChanged(ChangeEvent e) {
+				values.add(model.getValue());
+				busy.add(model.isBusy());
+			}
+		});
+		model.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				actions.add(e.getActionCommand());
+			}
+		});
+
+		CountDownLatch edt = blockEdt();
+
+		for (int i = 1; i <= UPDATES; i++)
+			model.setValue(i);
+
+		edt.countDown();
+		flushEdt();
+
+		// one delivery with the last state
+		assertEquals(1, values.size());
+		assertEquals(UPDATES, values.get(0).intValue());
+		assertEquals(UPDATES - 1, model.getCoalescedEventCount());
+
+		// the next change is delivered again, action events are not coalesced
+		edt = blockEdt();
+		model.setBusy(true);
+		model.setBusy(false);
+		edt.countDown();
+		flushEdt();
+
+		assertEquals(2, values.size());
+		assertFalse(busy.get(1));
+		assertEquals(UPDATES, model.getCoalescedEventCount());
+		assertEquals(2, actions.size());
+		assertEquals(BusyAction.START.createEvent(model).getActionCommand(), actions.get(0));
+		assertEquals(BusyAction.STOP.createEvent(model).getActionCommand(), actions.get(1));
+	}
+
+	/**
+	 * Blocks the EDT until the returned latch is released.
+	 */
+	private static CountDownLatch blockEdt() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				started.countDown();
+
+				try {
+					release.await();
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		started.await();
+		return release;
+	}
+
+	private static void flushEdt() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {}
+		});
+	}
+}
@@ -0,0 +1,84 @@
+package cop.swing.busymarker.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+import org.junit.Test;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class FutureBusyModelTest {
+	private static final int TOTAL = 100;
+
+	@Test
+	public void testTrackManyFuturesWithoutThreadPerFuture() throws Exception {
+		List<FutureTask<Object>> futures = new ArrayList<FutureTask<Object>>(TOTAL);
+		List<FutureBusyModel> models = new ArrayList<FutureBusyModel>(TOTAL);
+		int threads = Thread.activeCount();
+
+		for (int i = 0; i < TOTAL; i++) {
+			FutureTask<Object> future = createFuture();
+			FutureBusyModel model = new FutureBusyModel();
+
+			model.setFuture(future);
+			futures.add(future);
+			models.add(model);
+		}
+
+		for (FutureBusyModel model : models)
+			assertTrue(model.isBusy());
+
+		assertTrue(Thread.activeCount() - threads <= 1);
+
+		for (FutureTask<Object> future : futures)
+			future.run();
+
+		for (FutureBusyModel model : models)
+			waitNotBusy(model);
+	}
+
+	@Test
+	public void testDoneFuture() {
+		FutureTask<Object> future = createFuture();
+		FutureBusyModel model = new FutureBusyModel();
+
+		future.run();
+		model.setFuture(future);
+		assertFalse(model.isBusy());
+	}
+
+	@Test
+	public void testDispose() {
+		FutureBusyModel model = new FutureBusyModel();
+
+		model.setFuture(createFuture());
+		assertTrue(model.isBusy());
+
+		model.dispose();
+		assertFalse(model.isBusy());
+		assertEquals(0, FutureTracker.getPolledCount());
+	}
+
+	private static void waitNotBusy(FutureBusyModel model) throws InterruptedException {
+		for (int i = 0; i < 100 && model.isBusy(); i++)
+			Thread.sleep(FutureTracker.POLL_DELAY);
+
+		assertFalse(model.isBusy());
+	}
+
+	private static FutureTask<Object> createFuture() {
+		return new FutureTask<Object>(new Callable<Object>() {
+			public Object call() {
+				return null;
+			}
+		});
+	}
+}
@@ -0,0 +1,103 @@
+package cop.swing.busymarker.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import cop.swing.busymarker.models.DefaultBusyModel;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+public class BusyTraceTest {
+	private static final int TOTAL = 100000;
+
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("busy", ".trace");
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void testRecordReadReplay() throws Exception {
+		final DefaultBusyModel model = new DefaultBusyModel();
+		final BusyTraceRecorder[] recorder = new BusyTraceRecorder[1];
+
+		// the model fires changes synchronously on the EDT only
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				try {
+					recorder[0] = new BusyTraceRecorder(model, file);
+				} catch(IOException e) {
+					throw new RuntimeException(e);
+				}
+
+				model.setMaximum(TOTAL);
+				model.setDeterminate(true);
+				model.setBusy(true);
+
+				for (int i = 1; i <= TOTAL; i++)
+					model.setValue(i);
+
+				model.setBusy(false);
+			}
+		});
+
+		recorder[0].close();
+
+		BusyTraceReader reader = new BusyTraceReader(file);
+		long count = 0;
+		long time = -1;
+
+		try {
+			while (reader.next()) {
+				assertTrue(reader.getTime() >= time);
+				time = reader.getTime();
+				count++;
+			}
+
+			assertEquals(recorder[0].getCount(), count);
+			assertEquals(TOTAL, reader.getValue());
+			assertEquals(TOTAL, reader.getMaximum());
+			assertTrue(reader.isDeterminate());
+			assertFalse(reader.isBusy());
+			assertEquals(1, reader.getRatio(), 0);
+		} finally {
+			reader.close();
+		}
+
+		final DefaultBusyModel replayed = new DefaultBusyModel();
+		final long[] replayedCount = new long[1];
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				try {
+					replayedCount[0] = new BusyTraceReplayer(file, replayed).replay(BusyTraceReplayer.MAX_SPEED);
+				} catch(Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+
+		assertEquals(count, replayedCount[0]);
+		assertEquals(TOTAL, replayed.getValue());
+		assertTrue(replayed.isDeterminate());
+		assertFalse(replayed.isBusy());
+	}
+}
@@ -0,0 +1,145 @@
+package cop.swing.busymarker.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+import org.jdesktop.jxlayer.JXLayer;
+import org.junit.Test;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class BusyLockableUITest {
+	private static final int WIDTH = 100;
+	private static final int HEIGHT = 60;
+
+	@Test
+	public void testSnapshot() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				BusyLockableUI ui = new BusyLockableUI() {};
+				ColorView view = new ColorView(Color.blue);
+				JXLayer<JComponent> layer = createLayer(view, ui);
+
+				ui.setSnapshotEnabled(true);
+				ui.getModel().setBusy(true);
+				assertTrue(ui.isLocked());
+
+				paint(layer);
+				assertEquals(1, view.paints);
+
+				// the live view is not painted while locked
+				ui.update();
+				paint(layer);
+				assertEquals(1, view.paints);
+
+				view.color = Color.green;
+				ui.invalidateSnapshot();
+				assertEquals(Color.green.getRGB(), paint(layer).getRGB(0, 0));
+				assertEquals(2, view.paints);
+
+				layer.setSize(WIDTH + 10, HEIGHT);
+				paint(layer);
+				assertEquals(3, view.paints);
+
+				// the snapshot is dropped on unlock: the view is painted live and captured again on the next lock
+				ui.getModel().setBusy(false);
+				assertFalse(ui.isLocked());
+				paint(layer);
+				assertEquals(4, view.paints);
+
+				ui.getModel().setBusy(true);
+				paint(layer);
+				assertEquals(5, view.paints);
+			}
+		});
+	}
+
+	@Test
+	public void testGlassPaneIsNotBuffered() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				assertGlassPaneIsNotBuffered(false);
+				assertGlassPaneIsNotBuffered(true);
+			}
+		});
+	}
+
+	/**
+	 * The glass pane is painted live over the buffered locked view, a component moved on the glass pane must not leave
+	 * a copy in the buffer.
+	 */
+	private static void assertGlassPaneIsNotBuffered(boolean snapshot) {
+		BusyLockableUI ui = new BusyLockableUI() {};
+		JXLayer<JComponent> layer = createLayer(new ColorView(Color.blue), ui);
+		ColorView marker = new ColorView(Color.red);
+
+		layer.getGlassPane().setLayout(null);
+		layer.getGlassPane().add(marker);
+		marker.setBounds(0, 0, 10, 10);
+
+		ui.setSnapshotEnabled(snapshot);
+		ui.getModel().setBusy(true);
+		assertEquals(Color.red.getRGB(), paint(layer).getRGB(0, 0));
+
+		marker.setLocation(50, 0);
+
+		BufferedImage img = paint(layer);
+
+		assertEquals(Color.blue.getRGB(), img.getRGB(0, 0));
+		assertEquals(Color.red.getRGB(), img.getRGB(50, 0));
+	}
+
+	static JXLayer<JComponent> createLayer(JComponent view, BusyLockableUI ui) {
+		JXLayer<JComponent> layer = new JXLayer<JComponent>(view, ui);
+
+		layer.setSize(WIDTH, HEIGHT);
+		return layer;
+	}
+
+	static BufferedImage paint(JXLayer<JComponent> layer) {
+		BufferedImage img = new BufferedImage(layer.getWidth(), layer.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = img.createGraphics();
+
+		try {
+			layer.doLayout();
+			layer.getGlassPane().doLayout();
+			layer.paint(g2d);
+		} finally {
+			g2d.dispose();
+		}
+
+		return img;
+	}
+
+	// ========== static ==========
+
+	private static final class ColorView extends JComponent {
+		private static final long serialVersionUID = 1L;
+
+		private Color color;
+		private int paints;
+
+		ColorView(Color color) {
+			this.color = color;
+		}
+
+		@Override
+		protected void paintComponent(Graphics g) {
+			paints++;
+			g.setColor(color);
+			g.fillRect(0, 0, getWidth(), getHeight());
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package cop.swing.busymarker.ui;
+
+import static cop.swing.busymarker.ui.BusyLockableUITest.createLayer;
+import static cop.swing.busymarker.ui.BusyLockableUITest.paint;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import org.jdesktop.jxlayer.JXLayer;
+import org.junit.Test;
+
+import cop.swing.busymarker.icons.EmptyBusyIcon;
+import cop.swing.busymarker.models.BusyModel;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class DefaultBusyLockableUITest {
+	/**
+	 * The label is on the glass pane and repaints its own bounds, the buffered locked view must not keep its old text.
+	 */
+	@Test
+	public void testDescriptionChange() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				DefaultBusyLockableUI ui = new DefaultBusyLockableUI(0, 50, Color.white);
+				JXLayer<JComponent> layer = createLayer(createView(), ui);
+				BusyModel model = ui.getModel();
+
+				ui.setIcon(EmptyBusyIcon.getInstance());
+				model.setDescription("Loading AAAAAAAA");
+				model.setBusy(true);
+				assertTrue(ui.isLocked());
+				paint(layer);
+
+				model.setDescription("Working ZZZZ");
+				ui.update();
+
+				BufferedImage actual = paint(layer);
+
+				ui.invalidateSnapshot(); // forces the whole layer to be painted again
+				assertImageEquals(paint(layer), actual);
+			}
+		});
+	}
+
+	/**
+	 * Shade delay <code>0</code> means no shading: the veil gets its final alpha at once.
+	 */
+	@Test
+	public void testNoShading() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				DefaultBusyLockableUI ui = new DefaultBusyLockableUI(0, 50, Color.red);
+				JPanel view = new JPanel();
+				JXLayer<JComponent> layer = createLayer(view, ui);
+
+				view.setOpaque(false);
+				ui.setIcon(EmptyBusyIcon.getInstance());
+				ui.getModel().setBusy(true);
+
+				int rgb = paint(layer).getRGB(0, 0);
+
+				assertEquals(0xFF * 50 / 100, rgb >>> 24, 1);
+				assertEquals(Color.red.getRGB() & 0xFFFFFF, rgb & 0xFFFFFF);
+			}
+		});
+	}
+
+	private static JComponent createView() {
+		JPanel view = new JPanel();
+
+		view.setBackground(Color.blue);
+		return view;
+	}
+
+	private static void assertImageEquals(BufferedImage expected, BufferedImage actual) {
+		int width = expected.getWidth();
+		int height = expected.getHeight();
+
+		assertArrayEquals(expected.getRGB(0, 0, width, height, null, 0, width),
+				actual.getRGB(0, 0, width, height, null, 0, width));
+	}
+}
@@ -0,0 +1,140 @@
+package cop.swing.painters;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class InfiniteBusyPainterTest {
+	private static final int SIZE = 64;
+
+	/**
+	 * Frames of a painter with default settings are compared to the frames rendered by the original implementation,
+	 * without sprite sheet, gradient table and precomputed point shapes
+	 * (<code>infinite-busy-painter-&lt;size&gt;.png</code>, all frames in a row).
+	 */
+	@Test
+	public void testReferenceFrames() throws Exception {
+		for (int size : new int[] { 26, 64 }) {
+			BufferedImage reference = ImageIO.read(InfiniteBusyPainterTest.class.getResource("infinite-busy-painter-"
+					+ size + ".png"));
+
+			for (boolean sprite : new boolean[] { true, false }) {
+				InfiniteBusyPainter<Component> painter = new InfiniteBusyPainter<Component>(size);
+				painter.setSpriteCacheEnabled(sprite);
+
+				assertEquals(reference.getWidth(), painter.getPoints() * size);
+
+				for (int frame = 0; frame < painter.getPoints(); frame++)
+					assertFrameEquals("size=" + size + ", sprite=" + sprite + ", frame=" + frame,
+							reference.getSubimage(frame * size, 0, size, size), paint(painter, frame, size));
+			}
+		}
+	}
+
+	@Test
+	public void testSpriteMatchesDirectPaint() {
+		InfiniteBusyPainter<Component> sprite = createPainter();
+		InfiniteBusyPainter<Component> direct = createPainter();
+
+		direct.setSpriteCacheEnabled(false);
+
+		for (int frame = 0; frame < 2 * sprite.getPoints(); frame++)
+			assertFrameEquals("frame=" + frame, paint(direct, frame, SIZE), paint(sprite, frame, SIZE));
+	}
+
+	@Test
+	public void testChangePointsAndTrail() {
+		InfiniteBusyPainter<Component> painter = new InfiniteBusyPainter<Component>(SIZE);
+
+		painter.setSpriteCacheEnabled(false);
+		paint(painter, 0);
+
+		painter.setPoints(24);
+		painter.setTrailLength(20);
+		assertEquals(20, painter.getTrailLength());
+
+		for (int frame = 0; frame < 48; frame++)
+			paint(painter, frame);
+
+		painter.setPoints(8);
+		paint(painter, 100);
+	}
+
+	@Test
+	public void testConfigurationKeyIsKept() {
+		InfiniteBusyPainter<Component> painter = new InfiniteBusyPainter<Component>(SIZE);
+		Object key = painter.getConfigurationKey(SIZE, SIZE);
+
+		paint(painter, 3);
+		assertSame(key, painter.getConfigurationKey(SIZE, SIZE));
+
+		painter.setForeground(Color.red);
+		Object foreground = painter.getConfigurationKey(SIZE, SIZE);
+		assertFalse(key.equals(foreground));
+
+		painter.setAntialiasing(!painter.isAntialiasing());
+		Object antialiasing = painter.getConfigurationKey(SIZE, SIZE);
+		assertFalse(foreground.equals(antialiasing));
+
+		// the painter is still dirty, but the key must follow any change
+		painter.setVisible(!painter.isVisible());
+		assertFalse(antialiasing.equals(painter.getConfigurationKey(SIZE, SIZE)));
+
+		assertNotSame(painter.getConfigurationKey(SIZE, SIZE), painter.getConfigurationKey(SIZE, SIZE + 1));
+	}
+
+	private static InfiniteBusyPainter<Component> createPainter() {
+		InfiniteBusyPainter<Component> painter = new InfiniteBusyPainter<Component>(SIZE);
+
+		painter.setPoints(12);
+		painter.setTrailLength(5);
+		painter.setBackground(Color.lightGray);
+		painter.setForeground(Color.blue);
+
+		return painter;
+	}
+
+	private static BufferedImage paint(InfiniteBusyPainter<Component> painter, int frame) {
+		return paint(painter, frame, SIZE);
+	}
+
+	private static BufferedImage paint(InfiniteBusyPainter<Component> painter, int frame, int size) {
+		BufferedImage img = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = img.createGraphics();
+
+		try {
+			painter.setFrame(frame);
+			painter.paint(g2d, null, size, size);
+		} finally {
+			g2d.dispose();
+		}
+
+		return img;
+	}
+
+	private static void assertFrameEquals(String message, BufferedImage expected, BufferedImage actual) {
+		int width = expected.getWidth();
+		int height = expected.getHeight();
+
+		assertEquals(width, actual.getWidth());
+		assertEquals(height, actual.getHeight());
+		assertArrayEquals(message, expected.getRGB(0, 0, width, height, null, 0, width),
+				actual.getRGB(0, 0, width, height, null, 0, width));
+	}
+}
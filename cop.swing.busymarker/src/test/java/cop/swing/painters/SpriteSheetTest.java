@@ -0,0 +1,116 @@
+package cop.swing.painters;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import cop.swing.painters.SpriteSheet.FrameRenderer;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class SpriteSheetTest {
+	private static final int SIZE = 64;
+
+	@Test
+	public void testSheetFrameMatchesDirectPaint() {
+		InfiniteBusyPainter<Component> sprite = new InfiniteBusyPainter<Component>(SIZE);
+		InfiniteBusyPainter<Component> direct = new InfiniteBusyPainter<Component>(SIZE);
+
+		direct.setSpriteCacheEnabled(false);
+
+		for (int frame = 0; frame < 2 * sprite.getPoints(); frame++)
+			assertArrayEquals("frame " + frame, paint(direct, frame), paint(sprite, frame));
+	}
+
+	@Test
+	public void testSharedSheets() {
+		CountingRenderer renderer = new CountingRenderer();
+		Object key = Arrays.asList("testSharedSheets", 1);
+
+		SpriteSheet sheet = SpriteSheet.get(key, 8, 8, 4, renderer);
+		assertNotNull(sheet);
+		assertEquals(4, renderer.count);
+
+		// an equal key returns the same sheet without rendering
+		assertSame(sheet, SpriteSheet.get(Arrays.asList("testSharedSheets", 1), 8, 8, 4, renderer));
+		assertEquals(4, renderer.count);
+
+		SpriteSheet other = SpriteSheet.get(Arrays.asList("testSharedSheets", 2), 8, 8, 4, renderer);
+		assertNotSame(sheet, other);
+		assertEquals(8, renderer.count);
+	}
+
+	@Test
+	public void testPaintersWithEqualConfiguration() {
+		InfiniteBusyPainter<Component> one = new InfiniteBusyPainter<Component>(SIZE);
+		InfiniteBusyPainter<Component> two = new InfiniteBusyPainter<Component>(SIZE);
+		InfiniteBusyPainter<Component> three = new InfiniteBusyPainter<Component>(SIZE);
+
+		three.setForeground(Color.red);
+
+		assertEquals(one.getConfigurationKey(SIZE, SIZE), two.getConfigurationKey(SIZE, SIZE));
+		assertFalse(one.getConfigurationKey(SIZE, SIZE).equals(three.getConfigurationKey(SIZE, SIZE)));
+		assertFalse(one.getConfigurationKey(SIZE, SIZE).equals(one.getConfigurationKey(SIZE, SIZE + 1)));
+	}
+
+	@Test
+	public void testTooBig() {
+		assertNull(SpriteSheet.get("testTooBig", 1024, 1024, 8, new CountingRenderer()));
+	}
+
+	@Test
+	public void testSupported() {
+		BufferedImage img = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = img.createGraphics();
+
+		try {
+			assertTrue(SpriteSheet.isSupported(g2d));
+
+			g2d.translate(10, 20);
+			assertTrue(SpriteSheet.isSupported(g2d));
+
+			g2d.scale(2, 2);
+			assertFalse(SpriteSheet.isSupported(g2d));
+		} finally {
+			g2d.dispose();
+		}
+	}
+
+	static int[] paint(InfiniteBusyPainter<Component> painter, int frame) {
+		BufferedImage img = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = img.createGraphics();
+
+		try {
+			painter.setFrame(frame);
+			painter.paint(g2d, null, SIZE, SIZE);
+		} finally {
+			g2d.dispose();
+		}
+
+		return img.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE);
+	}
+
+	private static final class CountingRenderer implements FrameRenderer {
+		private int count;
+
+		public void paintFrame(Graphics2D g2d, int frame) {
+			count++;
+		}
+	}
+}
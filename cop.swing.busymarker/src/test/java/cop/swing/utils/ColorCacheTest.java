@@ -0,0 +1,48 @@
+package cop.swing.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+
+import org.junit.Test;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class ColorCacheTest {
+	@Test
+	public void testGetPut() {
+		ColorCache cache = new ColorCache(16);
+		Color color = new Color(0x80336699, true);
+
+		assertNull(cache.get(color.getRGB()));
+		assertSame(color, cache.put(color));
+		assertSame(color, cache.get(color.getRGB()));
+		assertEquals(1, cache.size());
+		assertEquals(0.5, cache.getHitRate(), 0);
+	}
+
+	@Test
+	public void testBounded() {
+		ColorCache cache = new ColorCache(64);
+		Color hot = new Color(0xFF102030, true);
+
+		cache.put(hot);
+
+		for (int alpha = 0; alpha < 0x100; alpha++)
+			for (int rgb = 0; rgb < 0x100; rgb++) {
+				cache.put(new Color(alpha << 24 | rgb, true));
+				cache.get(hot.getRGB());
+			}
+
+		assertTrue(cache.size() <= cache.getCapacity());
+		assertTrue(cache.getEvictionCount() > 0);
+		// the color in use survives the eviction
+		assertSame(hot, cache.get(hot.getRGB()));
+	}
+}
@@ -4,8 +4,6 @@ import static cop.swing.utils.ColorUtils.*;
 import static org.junit.Assert.assertEquals;
 
 import java.awt.Color;
-import java.lang.reflect.Field;
-import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -23,11 +21,8 @@ public class ColorUtilsTest {
 	private static final Color COLOR_ALPHA = new Color(RED, GREEN, BLUE, ALPHA);
 
 	@Before
-	public void setUp() throws Exception {
-		Field field = ColorUtils.class.getDeclaredField("COLORS");
-		field.setAccessible(true);
-		((Map<?, ?>)field.get(null)).clear();
-		field.setAccessible(false);
+	public void setUp() {
+		getCache().clear();
 	}
 
 	@Test
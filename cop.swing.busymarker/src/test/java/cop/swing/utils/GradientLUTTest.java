@@ -0,0 +1,56 @@
+package cop.swing.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Color;
+
+import org.junit.Test;
+
+/**
+ * @author Oleg Cherednik
+ * @since 18.10.2026
+ */
+@SuppressWarnings("static-method")
+public class GradientLUTTest {
+	private static final Color FROM = new Color(255, 175, 175, 11);
+	private static final Color TO = new Color(128, 128, 128, 214);
+
+	@Test
+	public void testTwoColors() {
+		GradientLUT lut = new GradientLUT(5, FROM, TO);
+
+		assertEquals(5, lut.getResolution());
+		assertEquals(FROM.getRGB(), lut.getRGBAt(0));
+		assertEquals(TO.getRGB(), lut.getRGBAt(4));
+
+		for (int i = 0; i < 5; i++)
+			assertEquals(ColorUtils.interpolate(FROM, TO, i * 25).getRGB(), lut.getRGBAt(i));
+	}
+
+	@Test
+	public void testFraction() {
+		GradientLUT lut = new GradientLUT(101, FROM, TO);
+
+		assertEquals(lut.getRGBAt(0), lut.getRGB(-1f));
+		assertEquals(lut.getRGBAt(100), lut.getRGB(2f));
+		assertEquals(lut.getRGBAt(50), lut.getRGB(0.5f));
+		assertEquals(lut.getRGBAt(33), lut.getRGB(0.334f));
+		assertEquals(ColorUtils.getColor(lut.getRGBAt(70)), lut.getColor(0.7f));
+	}
+
+	@Test
+	public void testManyColors() {
+		GradientLUT lut = new GradientLUT(5, Color.red, Color.green, Color.blue);
+
+		assertEquals(Color.red.getRGB(), lut.getRGBAt(0));
+		assertEquals(Color.green.getRGB(), lut.getRGBAt(2));
+		assertEquals(Color.blue.getRGB(), lut.getRGBAt(4));
+		assertEquals(new Color(0, 128, 128).getRGB(), lut.getRGBAt(3));
+	}
+
+	@Test
+	public void testShared() {
+		assertSame(GradientLUT.get(16, FROM, TO), GradientLUT.get(16, new Color(FROM.getRGB(), true), TO));
+	}
+}